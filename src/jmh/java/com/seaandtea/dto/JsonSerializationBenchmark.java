@@ -0,0 +1,111 @@
+package com.seaandtea.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.seaandtea.entity.Product.ProductCategory;
+import com.seaandtea.entity.Tour.TourCategory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the pages returned by the tour and product endpoints, with an
+ * ObjectMapper configured the way Spring Boot configures the one used by the message converters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<TourResponse> tourPage;
+    private Page<ProductListResponse> productPage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<TourResponse> tours = new ArrayList<>(pageSize);
+        List<ProductListResponse> products = new ArrayList<>(pageSize);
+        for (long i = 0; i < pageSize; i++) {
+            List<TourResponse.TourImageDto> images = new ArrayList<>();
+            for (long j = 0; j < 3; j++) {
+                images.add(TourResponse.TourImageDto.builder().id(i * 3 + j)
+                        .imageUrl("https://img.example.com/tours/" + i + "/" + j + ".webp")
+                        .isPrimary(j == 0).altText("Tour " + i).createdAt(now).build());
+            }
+            tours.add(TourResponse.builder()
+                    .id(i)
+                    .title("Sunrise tea plantation walk " + i)
+                    .description("A slow morning walk through the estate, plucking and rolling leaves with the pickers. ".repeat(5))
+                    .category(TourCategory.values()[(int) (i % TourCategory.values().length)])
+                    .durationHours(4)
+                    .maxGroupSize(10)
+                    .pricePerPerson(new BigDecimal("45.00"))
+                    .instantBooking(true)
+                    .securePayment(true)
+                    .languages(List.of("English", "Sinhala", "Tamil"))
+                    .highlights(List.of("Tea tasting", "Factory visit", "Pickers' breakfast"))
+                    .includedItems(List.of("Hotel pickup", "Breakfast", "Tea samples"))
+                    .excludedItems(List.of("Tips"))
+                    .meetingPoint("Nuwara Eliya post office")
+                    .latitude(6.9697)
+                    .longitude(80.7672)
+                    .cancellationPolicy("Free cancellation up to 24 hours before the start")
+                    .isActive(true)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .guide(TourResponse.GuideBasicInfo.builder().id(3L).firstName("Nimal").lastName("Silva")
+                            .profilePictureUrl("https://img.example.com/profiles/3.webp")
+                            .averageRating(new BigDecimal("4.80")).totalTours(12).isVerified(true).build())
+                    .images(images)
+                    .totalBookings(0L)
+                    .averageRating(new BigDecimal("4.63"))
+                    .totalReviews(27L)
+                    .build());
+            products.add(ProductListResponse.builder()
+                    .id(i)
+                    .name("Ceylon black tea " + i)
+                    .description("Single estate orange pekoe from the central highlands")
+                    .imageUrls(List.of("https://img.example.com/products/" + i + "/0.webp",
+                            "https://img.example.com/products/" + i + "/1.webp"))
+                    .currentPrice(new BigDecimal("12.50"))
+                    .originalPrice(new BigDecimal("15.00"))
+                    .discountPercentage(17)
+                    .category(ProductCategory.values()[(int) (i % ProductCategory.values().length)])
+                    .rating(new BigDecimal("4.5"))
+                    .reviewCount(84)
+                    .isBestSeller(i % 5 == 0)
+                    .build());
+        }
+        tourPage = new PageImpl<>(tours, PageRequest.of(0, pageSize), 1_000);
+        productPage = new PageImpl<>(products, PageRequest.of(0, pageSize), 1_000);
+    }
+
+    @Benchmark
+    public byte[] tourResponsePage() throws Exception {
+        return objectMapper.writeValueAsBytes(tourPage);
+    }
+
+    @Benchmark
+    public byte[] productListResponsePage() throws Exception {
+        return objectMapper.writeValueAsBytes(productPage);
+    }
+}
@@ -0,0 +1,128 @@
+package com.seaandtea.repository;
+
+import com.seaandtea.SeaAndTeaApplication;
+import com.seaandtea.dto.TourListResponse;
+import com.seaandtea.entity.Guide;
+import com.seaandtea.entity.Tour;
+import com.seaandtea.entity.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tour list queries against an in-memory H2 database seeded over JDBC, run through the real
+ * repositories inside read-only transactions the way the services call them. Starts the application
+ * with the {@code test} profile on a random port.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class RepositoryQueryBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int IMAGES_PER_TOUR = 3;
+    private static final int JDBC_BATCH_SIZE = 1000;
+
+    @Param({"1000", "20000"})
+    public int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private TourRepository tourRepository;
+    private TransactionTemplate readOnly;
+    private Pageable middlePage;
+    private List<Long> cardIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(SeaAndTeaApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "response-cache.enabled=false",
+                        "logging.level.com.seaandtea=WARN",
+                        "logging.level.org.springframework.security=WARN")
+                .run();
+        tourRepository = context.getBean(TourRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        seed(context.getBean(UserRepository.class), context.getBean(GuideRepository.class),
+                context.getBean(JdbcTemplate.class));
+        middlePage = PageRequest.of(catalogSize / PAGE_SIZE / 2, PAGE_SIZE);
+        cardIds = tourRepository.findActiveTourCards(null, true, middlePage).getContent().stream()
+                .map(TourListResponse::getId)
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TourListResponse> verifiedTourCardsPage() {
+        return readOnly.execute(status -> tourRepository.findActiveTourCards(null, true, middlePage).getContent());
+    }
+
+    @Benchmark
+    public List<Tour> verifiedToursWithImagesPage() {
+        return readOnly.execute(status ->
+                tourRepository.findActiveToursFromVerifiedGuidesWithImages(middlePage).getContent());
+    }
+
+    @Benchmark
+    public List<TourListResponse> tourCardsByIds() {
+        return readOnly.execute(status -> tourRepository.findActiveTourCardsByIds(cardIds));
+    }
+
+    private void seed(UserRepository userRepository, GuideRepository guideRepository, JdbcTemplate jdbcTemplate) {
+        User user = userRepository.save(User.builder()
+                .email("bench-guide@example.com")
+                .password("not-a-real-hash")
+                .firstName("Nimal")
+                .lastName("Silva")
+                .role(User.UserRole.GUIDE)
+                .isActive(true)
+                .isVerified(true)
+                .build());
+        Guide guide = guideRepository.save(Guide.builder()
+                .user(user)
+                .verificationStatus(Guide.VerificationStatus.VERIFIED)
+                .build());
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String description = "A slow morning walk through the estate, plucking and rolling leaves with the pickers. ".repeat(3);
+        List<Object[]> tourRows = new ArrayList<>(JDBC_BATCH_SIZE);
+        for (int i = 0; i < catalogSize; i++) {
+            tourRows.add(new Object[]{guide.getId(), "Tour " + i, description,
+                    Tour.TourCategory.values()[i % Tour.TourCategory.values().length].name(),
+                    1 + i % 8, 10, BigDecimal.valueOf(20 + i % 150), i % 3 == 0, true, now, now});
+            if (tourRows.size() == JDBC_BATCH_SIZE || i == catalogSize - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO tours (guide_id, title, description, category, duration_hours, " +
+                        "max_group_size, price_per_person, instant_booking, is_active, created_at, updated_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", tourRows);
+                tourRows.clear();
+            }
+        }
+        for (int j = 0; j < IMAGES_PER_TOUR; j++) {
+            jdbcTemplate.update("INSERT INTO tour_images (tour_id, image_url, is_primary, created_at) " +
+                    "SELECT id, CONCAT('https://img.example.com/', id, '/" + j + ".webp'), ?, ? FROM tours", j == 0, now);
+        }
+    }
+}
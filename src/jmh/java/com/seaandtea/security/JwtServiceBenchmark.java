@@ -0,0 +1,47 @@
+package com.seaandtea.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification, paid on login and on every authenticated request respectively
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey",
+                "ZGVmYXVsdC1zZWNyZXQta2V5LWZvci1kZXZlbG9wbWVudC1vbmx5LWRvLW5vdC11c2UtaW4tcHJvZHVjdGlvbg==");
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86_400_000L);
+        userDetails = new User("traveller@example.com", "not-a-real-hash", List.of());
+        token = jwtService.generateTokenWithUserId(userDetails, 42L);
+    }
+
+    @Benchmark
+    public String issue() {
+        return jwtService.generateTokenWithUserId(userDetails, 42L);
+    }
+
+    // What JwtAuthenticationFilter does per request: read the subject, then validate
+    @Benchmark
+    public boolean verify() {
+        String username = jwtService.extractUsername(token);
+        return username != null && jwtService.isTokenValid(token, userDetails);
+    }
+}
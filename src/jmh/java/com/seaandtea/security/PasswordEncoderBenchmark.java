@@ -0,0 +1,43 @@
+package com.seaandtea.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt verification time per work factor on the machine it runs on, for choosing
+ * {@code password.bcrypt-strength}. Run it on production-sized hardware and take the highest
+ * strength whose {@code matches} time stays within the login budget (around 100-250 ms). Each step
+ * doubles the cost, and the hashing pool handles about {@code password.hash-threads / time} logins a
+ * second. Raising the strength is picked up by existing users as they log in.
+ *
+ * {@code mvn -P benchmarks verify -Djmh.includes=PasswordEncoderBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    private static final String PASSWORD = "Correct-Horse-Battery-42";
+
+    @Param({"10", "11", "12", "13"})
+    public int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        hash = encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches(PASSWORD, hash);
+    }
+}
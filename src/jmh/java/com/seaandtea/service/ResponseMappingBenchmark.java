@@ -0,0 +1,105 @@
+package com.seaandtea.service;
+
+import com.seaandtea.dto.CartResponse;
+import com.seaandtea.dto.TourResponse;
+import com.seaandtea.entity.*;
+import com.seaandtea.repository.CartItemRepository;
+import com.seaandtea.repository.ProductImageRepository;
+import com.seaandtea.repository.ReviewRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping of tour details and carts. Repository calls made during mapping are answered
+ * by in-memory stubs, so this measures the mapping itself; their database cost is covered by
+ * {@code RepositoryQueryBenchmark}. Tour cards are projected in SQL and have no mapping step of their own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    @Param({"1", "10"})
+    public int cartItems;
+
+    private TourService tourService;
+    private CartService cartService;
+    private Tour tour;
+    private Cart cart;
+
+    @Setup
+    public void setUp() {
+        ReviewRepository reviewRepository = stub(ReviewRepository.class, Map.of(
+                "getAverageRatingByTourId", 4.63,
+                "countByTourId", 27L));
+        tourService = new TourService(null, null, null, null, reviewRepository, null, null, null, null);
+
+        User guideUser = User.builder().id(7L).firstName("Nimal").lastName("Silva")
+                .profilePictureUrl("https://img.example.com/profiles/7.webp").isVerified(true).build();
+        Guide guide = Guide.builder().id(3L).user(guideUser).averageRating(new BigDecimal("4.80")).build();
+        tour = Tour.builder()
+                .id(11L)
+                .guide(guide)
+                .title("Sunrise tea plantation walk")
+                .description("A slow morning walk through the estate, plucking and rolling leaves with the pickers. ".repeat(3))
+                .category(Tour.TourCategory.TEA_TOURS)
+                .durationHours(4)
+                .maxGroupSize(10)
+                .pricePerPerson(new BigDecimal("45.00"))
+                .instantBooking(true)
+                .highlights(List.of("Tea tasting", "Factory visit", "Pickers' breakfast", "Waterfall stop"))
+                .createdAt(LocalDateTime.now())
+                .build();
+        List<TourImage> images = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            images.add(TourImage.builder().id((long) i).tour(tour)
+                    .imageUrl("https://img.example.com/tours/11/" + i + ".webp").isPrimary(i == 1).build());
+        }
+        tour.setImages(images);
+
+        cart = Cart.builder().id(5L).build();
+        List<CartItem> items = new ArrayList<>();
+        for (int i = 0; i < cartItems; i++) {
+            Product product = Product.builder().id((long) i).name("Ceylon black tea " + i)
+                    .currentPrice(new BigDecimal("12.50")).build();
+            items.add(CartItem.builder().id((long) i).cart(cart).product(product).quantity(1 + i % 3).build());
+        }
+        ProductImage image = ProductImage.builder().imageUrl("https://img.example.com/products/1.webp").build();
+        CartItemRepository cartItemRepository = stub(CartItemRepository.class, Map.of("findByCartIdWithProduct", items));
+        ProductImageRepository productImageRepository = stub(ProductImageRepository.class,
+                Map.of("findByProductIdOrderByPrimaryAndSortOrder", List.of(image)));
+        cartService = new CartService(null, cartItemRepository, productImageRepository, null, null);
+    }
+
+    @Benchmark
+    public TourResponse tourResponse() {
+        return tourService.convertToTourResponse(tour);
+    }
+
+    @Benchmark
+    public CartResponse cartResponse() {
+        return cartService.toCartResponse(cart);
+    }
+
+    // Answers repository methods by name with a fixed value, far cheaper than a mocking framework
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> repositoryType, Map<String, Object> answers) {
+        return (T) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (proxy, method, args) -> {
+                    if (!answers.containsKey(method.getName())) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return answers.get(method.getName());
+                });
+    }
+}
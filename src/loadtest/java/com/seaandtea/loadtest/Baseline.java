@@ -0,0 +1,70 @@
+package com.seaandtea.loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Recorded p99 latency per journey ({@code <journey>.p99-ms}) that later runs are compared against
+ */
+class Baseline {
+
+    private static final String P99_SUFFIX = ".p99-ms";
+
+    private final Path file;
+    private final Properties values = new Properties();
+
+    Baseline(Path file) throws IOException {
+        this.file = file;
+        if (Files.exists(file)) {
+            try (Reader reader = Files.newBufferedReader(file)) {
+                values.load(reader);
+            }
+        }
+    }
+
+    /**
+     * Journeys whose p99 exceeds the baseline by more than the allowed percentage; journeys without
+     * a recorded baseline are not checked
+     */
+    List<String> regressions(List<JourneyResult> results, double maxRegressionPercent) {
+        List<String> regressions = new ArrayList<>();
+        for (JourneyResult result : results) {
+            String recorded = values.getProperty(result.journey().key() + P99_SUFFIX);
+            if (recorded == null || result.successes() == 0) {
+                continue;
+            }
+            double baselineP99 = Double.parseDouble(recorded);
+            double currentP99 = result.percentileMillis(99);
+            double limit = baselineP99 * (1 + maxRegressionPercent / 100);
+            if (currentP99 > limit) {
+                regressions.add(String.format(Locale.ROOT, "%s p99 %.1f ms exceeds baseline %.1f ms by more than %.0f%%",
+                        result.journey().key(), currentP99, baselineP99, maxRegressionPercent));
+            }
+        }
+        return regressions;
+    }
+
+    void update(List<JourneyResult> results) throws IOException {
+        for (JourneyResult result : results) {
+            if (result.successes() > 0) {
+                values.setProperty(result.journey().key() + P99_SUFFIX,
+                        String.format(Locale.ROOT, "%.1f", result.percentileMillis(99)));
+            }
+        }
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            writer.write("# p99 latency in milliseconds per journey; regenerate with -Dloadtest.update-baseline=true\n");
+            for (var entry : new TreeMap<>(values).entrySet()) {
+                writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+            }
+        }
+    }
+}
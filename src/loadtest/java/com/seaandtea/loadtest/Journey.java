@@ -0,0 +1,101 @@
+package com.seaandtea.loadtest;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Scripted user journeys. One execution of {@link #run} is one latency sample for the journey.
+ */
+enum Journey {
+
+    BROWSE_TOURS {
+        private final String[] categories = {"TEA_TOURS", "BEACH_TOURS", "CULTURAL_TOURS", "ADVENTURE_TOURS",
+                "FOOD_TOURS", "WILDLIFE_TOURS"};
+
+        @Override
+        void run(ApiClient api, Session session) throws Exception {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            StringBuilder query = new StringBuilder("/api/v1/tours?size=20&page=").append(random.nextInt(3));
+            if (random.nextBoolean()) {
+                query.append("&category=").append(categories[random.nextInt(categories.length)]);
+            }
+            if (random.nextInt(3) == 0) {
+                query.append("&maxPrice=").append(50 + random.nextInt(200));
+            }
+            if (random.nextInt(4) == 0) {
+                query.append("&instantBooking=true");
+            }
+            api.get(query.toString(), null);
+        }
+    },
+
+    VIEW_TOUR {
+        @Override
+        void run(ApiClient api, Session session) throws Exception {
+            api.get("/api/v1/tours/" + session.randomTourId(), null);
+        }
+
+        @Override
+        boolean isRunnable(Session.Catalog catalog) {
+            return !catalog.tourIds().isEmpty();
+        }
+    },
+
+    READ_REVIEWS {
+        @Override
+        void run(ApiClient api, Session session) throws Exception {
+            api.get("/api/v1/reviews?size=10&tourId=" + session.randomTourId(), null);
+        }
+
+        @Override
+        boolean isRunnable(Session.Catalog catalog) {
+            return !catalog.tourIds().isEmpty();
+        }
+    },
+
+    ADD_TO_CART {
+        @Override
+        void run(ApiClient api, Session session) throws Exception {
+            api.post("/api/v1/cart/items", Map.of("productId", session.randomProductId(), "quantity", 1), session.token());
+        }
+
+        @Override
+        boolean isRunnable(Session.Catalog catalog) {
+            return !catalog.productIds().isEmpty();
+        }
+    },
+
+    SEND_MESSAGE {
+        @Override
+        void run(ApiClient api, Session session) throws Exception {
+            api.post("/api/v1/messages", Map.of(
+                    "receiverId", session.randomOtherUserId(),
+                    "message", "Is the tour still available on Saturday?"), session.token());
+        }
+
+        @Override
+        boolean isRunnable(Session.Catalog catalog) {
+            return catalog.userIds().size() > 1;
+        }
+    },
+
+    POLL_INBOX {
+        @Override
+        void run(ApiClient api, Session session) throws Exception {
+            api.get("/api/v1/messages/conversations", session.token());
+            api.get("/api/v1/messages/unread-count", session.token());
+        }
+    };
+
+    abstract void run(ApiClient api, Session session) throws Exception;
+
+    boolean isRunnable(Session.Catalog catalog) {
+        return true;
+    }
+
+    /** Name used in property keys, report files and the baseline, e.g. {@code browse-tours} */
+    String key() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+}
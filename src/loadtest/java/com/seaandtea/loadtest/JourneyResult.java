@@ -0,0 +1,30 @@
+package com.seaandtea.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Measured outcome of one journey: latency histogram in microseconds plus error count
+ */
+record JourneyResult(Journey journey, int concurrency, Histogram latencyMicros, long errors, double seconds) {
+
+    long successes() {
+        return latencyMicros.getTotalCount();
+    }
+
+    double throughputPerSecond() {
+        return successes() / seconds;
+    }
+
+    double errorPercent() {
+        long total = successes() + errors;
+        return total == 0 ? 0 : errors * 100.0 / total;
+    }
+
+    double percentileMillis(double percentile) {
+        return latencyMicros.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    double maxMillis() {
+        return latencyMicros.getMaxValue() / 1000.0;
+    }
+}
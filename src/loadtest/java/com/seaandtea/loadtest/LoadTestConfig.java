@@ -0,0 +1,62 @@
+package com.seaandtea.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Run settings, read from {@code loadtest.*} system properties
+ */
+record LoadTestConfig(String baseUrl,
+                      Duration warmup,
+                      Duration duration,
+                      Duration requestTimeout,
+                      int users,
+                      Map<Journey, Integer> concurrency,
+                      Path reportDirectory,
+                      Path baselineFile,
+                      double maxP99RegressionPercent,
+                      double maxErrorPercent,
+                      boolean updateBaseline) {
+
+    static LoadTestConfig fromSystemProperties() {
+        int defaultConcurrency = Integer.getInteger("loadtest.concurrency", 4);
+        String journeyKeys = System.getProperty("loadtest.journeys", "");
+        List<Journey> journeys = Arrays.stream((journeyKeys.isBlank() ? allJourneys() : journeyKeys).split(","))
+                .map(String::trim)
+                .filter(key -> !key.isEmpty())
+                .map(LoadTestConfig::journeyForKey)
+                .toList();
+        Map<Journey, Integer> concurrency = new EnumMap<>(Journey.class);
+        for (Journey journey : journeys) {
+            concurrency.put(journey, Integer.getInteger("loadtest.concurrency." + journey.key(), defaultConcurrency));
+        }
+        return new LoadTestConfig(
+                System.getProperty("loadtest.base-url", "http://localhost:8080"),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60)),
+                Duration.ofMillis(Long.getLong("loadtest.request-timeout-ms", 10_000)),
+                Integer.getInteger("loadtest.users", 20),
+                concurrency,
+                Path.of(System.getProperty("loadtest.report-dir", "target/loadtest")),
+                Path.of(System.getProperty("loadtest.baseline", "src/loadtest/baseline.properties")),
+                Double.parseDouble(System.getProperty("loadtest.max-p99-regression-percent", "20")),
+                Double.parseDouble(System.getProperty("loadtest.max-error-percent", "1")),
+                Boolean.getBoolean("loadtest.update-baseline"));
+    }
+
+    private static String allJourneys() {
+        return Arrays.stream(Journey.values()).map(Journey::key).collect(Collectors.joining(","));
+    }
+
+    private static Journey journeyForKey(String key) {
+        return Arrays.stream(Journey.values())
+                .filter(journey -> journey.key().equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown journey '" + key + "', expected one of " + allJourneys()));
+    }
+}
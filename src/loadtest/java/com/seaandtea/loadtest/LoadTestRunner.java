@@ -0,0 +1,217 @@
+package com.seaandtea.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HTTP load generator for a locally running instance (H2 or local PostgreSQL, ideally filled by the
+ * {@code seed} profile). Registers virtual users, discovers tour and product ids, then runs every
+ * journey concurrently with its own worker threads for a warmup and a measured period.
+ *
+ * Writes one HdrHistogram percentile distribution per journey plus {@code summary.json} to the
+ * report directory, and exits non-zero when a journey's p99 regresses beyond the baseline or its
+ * error rate is too high, which fails the Maven build.
+ *
+ * {@code mvn -P loadtest verify -Dloadtest.base-url=http://localhost:8080 -Dloadtest.duration-seconds=120}
+ */
+public class LoadTestRunner {
+
+    private static final int CATALOG_SAMPLE_SIZE = 100;
+    private static final int MAX_LOGGED_ERRORS = 5;
+
+    private final LoadTestConfig config;
+    private final ApiClient api;
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    LoadTestRunner(LoadTestConfig config) {
+        this.config = config;
+        this.api = new ApiClient(config.baseUrl(), config.requestTimeout());
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.exit(new LoadTestRunner(LoadTestConfig.fromSystemProperties()).run());
+    }
+
+    int run() throws Exception {
+        System.out.printf("Load test against %s: %d users, warmup %ds, measured %ds%n", config.baseUrl(),
+                config.users(), config.warmup().toSeconds(), config.duration().toSeconds());
+
+        List<Session> sessions = registerSessions();
+        Session.Catalog catalog = sessions.get(0).catalog();
+        List<JourneyResult> results = runJourneys(sessions, catalog);
+
+        writeReports(results);
+        printSummary(results);
+
+        Baseline baseline = new Baseline(config.baselineFile());
+        if (config.updateBaseline()) {
+            baseline.update(results);
+            System.out.println("Baseline written to " + config.baselineFile());
+            return 0;
+        }
+
+        List<String> failures = new ArrayList<>(baseline.regressions(results, config.maxP99RegressionPercent()));
+        for (JourneyResult result : results) {
+            if (result.errorPercent() > config.maxErrorPercent()) {
+                failures.add(String.format(Locale.ROOT, "%s error rate %.2f%% exceeds %.2f%%",
+                        result.journey().key(), result.errorPercent(), config.maxErrorPercent()));
+            }
+        }
+        failures.forEach(failure -> System.out.println("FAILED: " + failure));
+        return failures.isEmpty() ? 0 : 1;
+    }
+
+    private List<Session> registerSessions() throws Exception {
+        List<Long> tourIds = ids(api.get("/api/v1/tours?size=" + CATALOG_SAMPLE_SIZE, null));
+        List<Long> productIds = ids(api.get("/api/v1/products?size=" + CATALOG_SAMPLE_SIZE, null));
+
+        // Registration hashes passwords, so do it in parallel
+        String runId = UUID.randomUUID().toString().substring(0, 8);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(config.users(), 8));
+        try {
+            List<Future<JsonNode>> registrations = new ArrayList<>();
+            for (int i = 0; i < config.users(); i++) {
+                String email = "loadtest-" + runId + "-" + i + "@example.com";
+                registrations.add(executor.submit(() -> api.post("/api/v1/auth/register", Map.of(
+                        "email", email,
+                        "password", "LoadTest-" + runId,
+                        "firstName", "Load",
+                        "lastName", "Tester"), null)));
+            }
+            List<JsonNode> authResponses = new ArrayList<>();
+            for (Future<JsonNode> registration : registrations) {
+                authResponses.add(registration.get());
+            }
+            List<Long> userIds = authResponses.stream().map(auth -> auth.path("user").path("id").asLong()).toList();
+            Session.Catalog catalog = new Session.Catalog(tourIds, productIds, userIds);
+            return authResponses.stream()
+                    .map(auth -> new Session(auth.path("user").path("id").asLong(), auth.path("accessToken").asText(), catalog))
+                    .toList();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<JourneyResult> runJourneys(List<Session> sessions, Session.Catalog catalog) throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long endAt = measureFrom + config.duration().toNanos();
+
+        List<Thread> workers = new ArrayList<>();
+        List<Runnable> collectors = new ArrayList<>();
+        List<JourneyResult> results = new ArrayList<>();
+        for (Map.Entry<Journey, Integer> entry : config.concurrency().entrySet()) {
+            Journey journey = entry.getKey();
+            if (!journey.isRunnable(catalog)) {
+                System.out.println("Skipping " + journey.key() + ": no data to run it against (seed the database first)");
+                continue;
+            }
+            Recorder recorder = new Recorder(3);
+            AtomicLong errors = new AtomicLong();
+            AtomicLong loggedErrors = new AtomicLong();
+            for (int i = 0; i < entry.getValue(); i++) {
+                Thread worker = new Thread(() -> {
+                    while (System.nanoTime() < endAt) {
+                        Session session = sessions.get(ThreadLocalRandom.current().nextInt(sessions.size()));
+                        long began = System.nanoTime();
+                        try {
+                            journey.run(api, session);
+                            if (began >= measureFrom) {
+                                recorder.recordValue(Math.max(1, (System.nanoTime() - began) / 1000));
+                            }
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        } catch (Exception e) {
+                            if (began >= measureFrom) {
+                                errors.incrementAndGet();
+                            }
+                            if (loggedErrors.incrementAndGet() <= MAX_LOGGED_ERRORS) {
+                                System.out.println(journey.key() + " error: " + e.getMessage());
+                            }
+                        }
+                    }
+                }, "loadtest-" + journey.key() + "-" + i);
+                workers.add(worker);
+            }
+            int concurrency = entry.getValue();
+            collectors.add(() -> results.add(new JourneyResult(journey, concurrency, recorder.getIntervalHistogram(),
+                    errors.get(), config.duration().toMillis() / 1000.0)));
+        }
+
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        // Warmup samples were never recorded, so each histogram covers only the measured period
+        collectors.forEach(Runnable::run);
+        return results;
+    }
+
+    private void writeReports(List<JourneyResult> results) throws IOException {
+        Files.createDirectories(config.reportDirectory());
+        ObjectNode summary = objectMapper.createObjectNode();
+        summary.put("baseUrl", config.baseUrl());
+        summary.put("durationSeconds", config.duration().toSeconds());
+        summary.put("users", config.users());
+        ArrayNode journeys = summary.putArray("journeys");
+        for (JourneyResult result : results) {
+            try (PrintStream out = new PrintStream(
+                    Files.newOutputStream(config.reportDirectory().resolve(result.journey().key() + ".hgrm")))) {
+                // Histogram values are microseconds; report them in milliseconds
+                result.latencyMicros().outputPercentileDistribution(out, 1000.0);
+            }
+            ObjectNode node = journeys.addObject();
+            node.put("journey", result.journey().key());
+            node.put("concurrency", result.concurrency());
+            node.put("requests", result.successes());
+            node.put("errors", result.errors());
+            node.put("throughputPerSecond", round(result.throughputPerSecond()));
+            node.put("p50Ms", round(result.percentileMillis(50)));
+            node.put("p90Ms", round(result.percentileMillis(90)));
+            node.put("p99Ms", round(result.percentileMillis(99)));
+            node.put("p999Ms", round(result.percentileMillis(99.9)));
+            node.put("maxMs", round(result.maxMillis()));
+        }
+        objectMapper.writeValue(config.reportDirectory().resolve("summary.json").toFile(), summary);
+    }
+
+    private static void printSummary(List<JourneyResult> results) {
+        System.out.printf("%n%-14s %6s %9s %7s %9s %9s %9s %9s %9s%n",
+                "journey", "conc", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (JourneyResult result : results) {
+            System.out.printf(Locale.ROOT, "%-14s %6d %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    result.journey().key(), result.concurrency(), result.successes(), result.errors(),
+                    result.throughputPerSecond(), result.percentileMillis(50), result.percentileMillis(90),
+                    result.percentileMillis(99), result.maxMillis());
+        }
+    }
+
+    private static List<Long> ids(JsonNode page) {
+        List<Long> ids = new ArrayList<>();
+        page.path("content").forEach(item -> ids.add(item.path("id").asLong()));
+        return ids;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
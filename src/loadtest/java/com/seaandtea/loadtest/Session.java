@@ -0,0 +1,33 @@
+package com.seaandtea.loadtest;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A registered virtual user plus the catalog ids discovered before the run
+ */
+record Session(long userId, String token, Catalog catalog) {
+
+    record Catalog(List<Long> tourIds, List<Long> productIds, List<Long> userIds) {
+    }
+
+    long randomTourId() {
+        return pick(catalog.tourIds());
+    }
+
+    long randomProductId() {
+        return pick(catalog.productIds());
+    }
+
+    long randomOtherUserId() {
+        long other;
+        do {
+            other = pick(catalog.userIds());
+        } while (other == userId && catalog.userIds().size() > 1);
+        return other;
+    }
+
+    private static long pick(List<Long> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
@@ -3,10 +3,12 @@ package com.seaandtea;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 
 @SpringBootApplication
 @EnableAsync
+@EnableScheduling
 @EnableMethodSecurity
 public class SeaAndTeaApplication {
     
@@ -0,0 +1,20 @@
+package com.seaandtea.cache;
+
+/**
+ * Tells every instance that a named in-memory cache is out of date. Caches subscribe to their
+ * topic and rebuild from the database when notified; the instance that made the change is
+ * notified as well, so a writer only has to publish.
+ */
+public interface CacheInvalidationChannel {
+
+    /**
+     * Notifies all subscribers of {@code topic} on every instance, including this one
+     */
+    void publish(String topic);
+
+    /**
+     * Registers a callback run whenever {@code topic} is published. Callbacks should be quick and
+     * must not throw; failures are logged and do not stop other subscribers.
+     */
+    void subscribe(String topic, Runnable onInvalidate);
+}
@@ -0,0 +1,42 @@
+package com.seaandtea.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Single-instance stand-in: delivers invalidations to subscribers in this JVM only. Other
+ * instances are not told, so use {@code cache-invalidation.channel=redis} when running more than one.
+ */
+@Component
+@ConditionalOnProperty(name = "cache-invalidation.channel", havingValue = "local", matchIfMissing = true)
+@Slf4j
+public class LocalCacheInvalidationChannel implements CacheInvalidationChannel {
+
+    private final Map<String, List<Runnable>> subscribers = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(String topic) {
+        deliver(topic);
+    }
+
+    @Override
+    public void subscribe(String topic, Runnable onInvalidate) {
+        subscribers.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>()).add(onInvalidate);
+    }
+
+    private void deliver(String topic) {
+        for (Runnable subscriber : subscribers.getOrDefault(topic, List.of())) {
+            try {
+                subscriber.run();
+            } catch (RuntimeException e) {
+                log.warn("Cache invalidation subscriber for {} failed", topic, e);
+            }
+        }
+    }
+}
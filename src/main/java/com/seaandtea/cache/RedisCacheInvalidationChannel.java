@@ -0,0 +1,88 @@
+package com.seaandtea.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Fans invalidations out to every instance over Redis pub/sub ({@code spring.data.redis.*}).
+ * Subscribers on the publishing instance run immediately, so a Redis outage only delays other
+ * instances; messages from this instance coming back over Redis are ignored. Pub/sub is
+ * fire-and-forget, so instances that miss a message keep their snapshot until the next change.
+ */
+@Component
+@ConditionalOnProperty(name = "cache-invalidation.channel", havingValue = "redis")
+@RequiredArgsConstructor
+@Slf4j
+public class RedisCacheInvalidationChannel implements CacheInvalidationChannel {
+
+    static final String CHANNEL = "seaandtea:cache-invalidation";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisConnectionFactory connectionFactory;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<String, List<Runnable>> subscribers = new ConcurrentHashMap<>();
+    private RedisMessageListenerContainer container;
+
+    @PostConstruct
+    void listen() {
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            int separator = body.indexOf('|');
+            if (separator < 0 || body.substring(0, separator).equals(instanceId)) {
+                return;
+            }
+            deliver(body.substring(separator + 1));
+        }, new ChannelTopic(CHANNEL));
+        container.afterPropertiesSet();
+        container.start();
+    }
+
+    @PreDestroy
+    void stop() throws Exception {
+        container.destroy();
+    }
+
+    @Override
+    public void publish(String topic) {
+        deliver(topic);
+        try {
+            redisTemplate.convertAndSend(CHANNEL, instanceId + "|" + topic);
+        } catch (RuntimeException e) {
+            log.warn("Could not broadcast invalidation of {}; other instances keep their copy until the next change: {}",
+                    topic, e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(String topic, Runnable onInvalidate) {
+        subscribers.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>()).add(onInvalidate);
+    }
+
+    private void deliver(String topic) {
+        for (Runnable subscriber : subscribers.getOrDefault(topic, List.of())) {
+            try {
+                subscriber.run();
+            } catch (RuntimeException e) {
+                log.warn("Cache invalidation subscriber for {} failed", topic, e);
+            }
+        }
+    }
+}
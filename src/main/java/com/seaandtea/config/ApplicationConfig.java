@@ -1,7 +1,10 @@
 package com.seaandtea.config;
 
 import com.seaandtea.repository.UserRepository;
+import com.seaandtea.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -28,8 +31,20 @@ public class ApplicationConfig {
         return config.getAuthenticationManager();
     }
     
+    /**
+     * BCrypt at {@code password.bcrypt-strength}, run on a bounded pool off the request threads.
+     * Stored hashes with a different cost are rehashed on the next successful login.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${password.bcrypt-strength:10}") int bcryptStrength,
+                                           @Value("${password.hash-threads:0}") int hashThreads,
+                                           @Value("${password.hash-queue-capacity:32}") int queueCapacity,
+                                           @Value("${password.hash-timeout-ms:5000}") long timeoutMs,
+                                           @Value("${password.retry-after-seconds:2}") int retryAfterSeconds) {
+        // 0 threads means half the cores, leaving the rest for request handling
+        int threads = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), threads, queueCapacity,
+                timeoutMs, retryAfterSeconds, meterRegistry);
     }
 }
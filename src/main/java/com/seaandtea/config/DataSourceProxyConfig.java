@@ -0,0 +1,61 @@
+package com.seaandtea.config;
+
+import com.seaandtea.util.SqlStatementStats;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Wraps the pooled DataSource in a datasource-proxy that reports every executed statement and its
+ * duration to {@link SqlStatementStats}, which backs the per-request SQL counters.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sql-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourceProxyConfig {
+
+    private static final String START_NANOS = "startNanos";
+
+    @Bean
+    public static BeanPostProcessor sqlStatementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new StatementCountingListener())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    static class StatementCountingListener implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            execInfo.addCustomValue(START_NANOS, System.nanoTime());
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            Long startNanos = execInfo.getCustomValue(START_NANOS, Long.class);
+            long elapsedNanos = startNanos == null ? 0 : System.nanoTime() - startNanos;
+            // A batch reports several queries for one execution; split its time between them
+            long perQueryNanos = queryInfoList.isEmpty() ? 0 : elapsedNanos / queryInfoList.size();
+            for (QueryInfo queryInfo : queryInfoList) {
+                SqlStatementStats.record(queryInfo.getQuery(), perQueryNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.seaandtea.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers {@code json_array_contains(jsonColumn, value)} for JPQL, true when a JSON array column
+ * contains the given string element, and {@code json_array_contains_ignore_case} which compares
+ * lower-cased.
+ *
+ * On PostgreSQL they render as jsonb containment ({@code @>}), which the GIN indexes from migrations
+ * V4 and V12 serve. Other databases (H2 in tests) fall back to a text match on the serialized array,
+ * with the value JSON-escaped and its {@code LIKE} wildcards escaped.
+ * Registered through META-INF/services.
+ */
+public class JsonFunctionContributor implements FunctionContributor {
+    
+    public static final String JSON_ARRAY_CONTAINS = "json_array_contains";
+    public static final String JSON_ARRAY_CONTAINS_IGNORE_CASE = "json_array_contains_ignore_case";
+    
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicType<Boolean> booleanType = functionContributions.getTypeConfiguration()
+                .getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.BOOLEAN);
+        boolean postgres = functionContributions.getDialect() instanceof PostgreSQLDialect;
+        
+        String exact = postgres
+                ? "(cast(?1 as jsonb) @> jsonb_build_array(cast(?2 as text)))"
+                : textMatch("cast(?1 as varchar)", "?2");
+        String ignoreCase = postgres
+                ? "(cast(lower(cast(?1 as text)) as jsonb) @> jsonb_build_array(lower(cast(?2 as text))))"
+                : textMatch("lower(cast(?1 as varchar))", "lower(?2)");
+        
+        functionContributions.getFunctionRegistry().registerPattern(JSON_ARRAY_CONTAINS, exact, booleanType);
+        functionContributions.getFunctionRegistry().registerPattern(JSON_ARRAY_CONTAINS_IGNORE_CASE, ignoreCase, booleanType);
+    }
+    
+    // The element appears in the serialized array as "value" with \ and " backslash-escaped; ! escapes the LIKE wildcards
+    private static String textMatch(String column, String value) {
+        String jsonEscaped = "replace(replace(" + value + ", '\\', '\\\\'), '\"', '\\\"')";
+        String likeEscaped = "replace(replace(replace(" + jsonEscaped + ", '!', '!!'), '%', '!%'), '_', '!_')";
+        return "(" + column + " like concat('%\"', " + likeEscaped + ", '\"%') escape '!')";
+    }
+}
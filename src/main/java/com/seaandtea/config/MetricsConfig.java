@@ -0,0 +1,22 @@
+package com.seaandtea.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    /** Service method timer, tagged with class and method by {@link TimedAspect} */
+    public static final String SERVICE_TIMER = "seaandtea.service";
+
+    /** Latency of calls to the Cloudinary API, tagged with operation and outcome */
+    public static final String CLOUDINARY_TIMER = "seaandtea.cloudinary";
+
+    // Enables @Timed on Spring beans (class-level annotations time every public method)
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
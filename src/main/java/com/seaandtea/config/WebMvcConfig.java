@@ -1,7 +1,9 @@
 package com.seaandtea.config;
 
 import com.seaandtea.interceptor.RequestResponseLoggingInterceptor;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -14,8 +16,20 @@ public class WebMvcConfig implements WebMvcConfigurer {
         this.requestResponseLoggingInterceptor = requestResponseLoggingInterceptor;
     }
     
+    /**
+     * Replaces Spring Boot's open-session-in-view interceptor so it can skip the auth routes. Login
+     * and registration spend seconds hashing passwords, and with a session open for the whole
+     * request the connection from the user lookup would be held throughout.
+     */
+    @Bean
+    public OpenEntityManagerInViewInterceptor openEntityManagerInViewInterceptor() {
+        return new OpenEntityManagerInViewInterceptor();
+    }
+    
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
+        registry.addWebRequestInterceptor(openEntityManagerInViewInterceptor())
+                .excludePathPatterns("/api/v1/auth/**");
         registry.addInterceptor(requestResponseLoggingInterceptor)
                 .addPathPatterns("/**") // Apply to all paths
                 .excludePathPatterns("/actuator/**", "/error"); // Exclude actuator and error endpoints
@@ -2,6 +2,7 @@ package com.seaandtea.controller;
 
 import com.seaandtea.dto.AuthResponse;
 import com.seaandtea.dto.LoginRequest;
+import com.seaandtea.dto.RefreshTokenRequest;
 import com.seaandtea.dto.RegisterRequest;
 import com.seaandtea.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -32,5 +33,19 @@ public class AuthController {
     public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
         return ResponseEntity.ok(authService.login(request));
     }
+    
+    @PostMapping("/refresh")
+    @Operation(summary = "Refresh access token",
+            description = "Exchanges a refresh token for a new access token; the refresh token is rotated and the old one stops working")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(authService.refresh(request));
+    }
+    
+    @PostMapping("/logout")
+    @Operation(summary = "Logout", description = "Revokes the refresh token and every token rotated from it")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequest request) {
+        authService.logout(request);
+        return ResponseEntity.noContent().build();
+    }
 }
 
@@ -20,10 +20,12 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.HashMap;
@@ -195,11 +197,15 @@ public class FileUploadController {
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "List of slider images",
-                    content = @Content(schema = @Schema(implementation = HomepageSliderImageResponse.class)))
+                    content = @Content(schema = @Schema(implementation = HomepageSliderImageResponse.class))),
+        @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match")
     })
-    public ResponseEntity<List<HomepageSliderImageResponse>> getHomepageSliderImages() {
+    public ResponseEntity<List<HomepageSliderImageResponse>> getHomepageSliderImages(WebRequest webRequest) {
+        if (homepageSliderService.getVersion().checkNotModified(webRequest)) {
+            return null;
+        }
         List<HomepageSliderImageResponse> images = homepageSliderService.getAll();
-        return ResponseEntity.ok(images);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(images);
     }
 
     @PostMapping("/homepage-slider")
@@ -7,6 +7,7 @@ import com.seaandtea.entity.User;
 import com.seaandtea.service.GuideService;
 import com.seaandtea.service.FileUploadService;
 import com.seaandtea.service.UserService;
+import com.seaandtea.util.ResourceVersion;
 import java.util.List;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
@@ -15,12 +16,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 @RestController
@@ -356,14 +359,23 @@ public class GuideController {
     @PreAuthorize("permitAll()")
     public ResponseEntity<GuideProfileResponse> getGuideProfile(
             @PathVariable Long guideId,
-            HttpServletRequest request) {
+            HttpServletRequest request,
+            WebRequest webRequest) {
         
         logRequest(request, null, "guideId=" + guideId);
         log.info("Fetching guide profile with ID: {}", guideId);
         
+        ResourceVersion version = guideService.getGuideProfileVersion(guideId).orElse(null);
+        if (version != null && version.checkNotModified(webRequest)) {
+            log.info("Guide profile {} not modified", guideId);
+            return null;
+        }
+        
         GuideProfileResponse response = guideService.getGuideProfile(guideId);
         
-        ResponseEntity<GuideProfileResponse> responseEntity = ResponseEntity.ok(response);
+        ResponseEntity<GuideProfileResponse> responseEntity = ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(response);
         logResponse(HttpStatus.OK, response);
         return responseEntity;
     }
@@ -1,7 +1,10 @@
 package com.seaandtea.controller;
 
+import com.seaandtea.filter.ConcurrencyLimitFilter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -10,11 +13,16 @@ import org.springframework.web.bind.annotation.RestController;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/v1/health")
 @Tag(name = "Health", description = "Health check endpoints")
+@RequiredArgsConstructor
 public class HealthController {
+
+    // Absent when concurrency-limit.enabled is false
+    private final Optional<ConcurrencyLimitFilter> concurrencyLimitFilter;
     
     @GetMapping
     @Operation(summary = "Health check", description = "Returns the health status of the application")
@@ -33,4 +41,17 @@ public class HealthController {
     public ResponseEntity<String> ping() {
         return ResponseEntity.ok("pong");
     }
+
+    @GetMapping("/ready")
+    @Operation(summary = "Readiness check",
+            description = "Returns 503 while the instance is shedding load, so load balancers route traffic elsewhere")
+    public ResponseEntity<Map<String, Object>> ready() {
+        boolean shedding = concurrencyLimitFilter.map(ConcurrencyLimitFilter::isShedding).orElse(false);
+        Map<String, Object> readiness = new HashMap<>();
+        readiness.put("status", shedding ? "OUT_OF_SERVICE" : "UP");
+        readiness.put("timestamp", LocalDateTime.now());
+        concurrencyLimitFilter.ifPresent(filter -> readiness.put("concurrencyLimits", filter.snapshot()));
+
+        return ResponseEntity.status(shedding ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.OK).body(readiness);
+    }
 }
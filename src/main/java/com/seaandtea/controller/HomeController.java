@@ -0,0 +1,46 @@
+package com.seaandtea.controller;
+
+import com.seaandtea.dto.HomeResponse;
+import com.seaandtea.service.HomeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/home")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Home", description = "Aggregated homepage content")
+public class HomeController {
+    
+    private final HomeService homeService;
+    
+    @GetMapping
+    @Operation(
+        summary = "Get homepage content",
+        description = "Slider images, popular and verified tours, best-selling products and latest news in one call. " +
+                      "Sections that could not be loaded in time are null and listed in unavailableSections."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Homepage content retrieved",
+                    content = @Content(schema = @Schema(implementation = HomeResponse.class)))
+    })
+    public ResponseEntity<HomeResponse> getHome() {
+        HomeResponse response = homeService.getHome();
+        if (!response.getUnavailableSections().isEmpty()) {
+            // Partial payloads must not be cached by clients or the response cache
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+}
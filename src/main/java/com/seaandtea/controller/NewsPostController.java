@@ -63,7 +63,7 @@ public class NewsPostController {
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get post by ID", description = "Get a single published post with comments. Unpublished only visible to admin.")
+    @Operation(summary = "Get post by ID", description = "Get a single published post with its first comments and a cursor for the rest. Unpublished only visible to admin.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Post found", content = @Content(schema = @Schema(implementation = NewsPostResponse.class))),
         @ApiResponse(responseCode = "404", description = "Post not found")
@@ -76,17 +76,17 @@ public class NewsPostController {
     }
 
     @GetMapping("/{id}/comments")
-    @Operation(summary = "Get comments for a post", description = "Paginated comments for a post")
+    @Operation(summary = "Get comments for a post", description = "Comments oldest first. Pass the previous response's nextCursor (or the post's commentsNextCursor) as cursor to load the next slice.")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Comments retrieved"),
+        @ApiResponse(responseCode = "200", description = "Comments retrieved", content = @Content(schema = @Schema(implementation = NewsPostCommentPage.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor"),
         @ApiResponse(responseCode = "404", description = "Post not found")
     })
-    public ResponseEntity<Page<NewsPostCommentResponse>> getComments(
+    public ResponseEntity<NewsPostCommentPage> getComments(
             @PathVariable Long id,
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "createdAt"));
-        return ResponseEntity.ok(newsPostService.getComments(id, pageable));
+            @Parameter(description = "Cursor from the previous page; omit for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Comments per page (max 100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(newsPostService.getComments(id, cursor, size));
     }
 
     // ---------- Admin: CRUD ----------
@@ -156,10 +156,9 @@ public class NewsPostController {
 
     @PostMapping("/{id}/like")
     @PreAuthorize("hasRole('USER') or hasRole('GUIDE') or hasRole('ADMIN')")
-    @Operation(summary = "Like a post", description = "Like a published post. One like per user per post.", security = @SecurityRequirement(name = "bearerAuth"))
+    @Operation(summary = "Like a post", description = "Like a published post. One like per user per post; liking again has no effect.", security = @SecurityRequirement(name = "bearerAuth"))
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "204", description = "Post liked"),
-        @ApiResponse(responseCode = "409", description = "Already liked this post"),
+        @ApiResponse(responseCode = "204", description = "Post liked, or already liked"),
         @ApiResponse(responseCode = "404", description = "Post not found")
     })
     public ResponseEntity<Void> likePost(
@@ -171,11 +170,9 @@ public class NewsPostController {
 
     @DeleteMapping("/{id}/like")
     @PreAuthorize("hasRole('USER') or hasRole('GUIDE') or hasRole('ADMIN')")
-    @Operation(summary = "Unlike a post", description = "Remove your like from the post", security = @SecurityRequirement(name = "bearerAuth"))
+    @Operation(summary = "Unlike a post", description = "Remove your like from the post; unliking a post you have not liked has no effect", security = @SecurityRequirement(name = "bearerAuth"))
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "204", description = "Post unliked"),
-        @ApiResponse(responseCode = "409", description = "You have not liked this post"),
-        @ApiResponse(responseCode = "404", description = "Post not found")
+        @ApiResponse(responseCode = "204", description = "Post unliked, or was not liked")
     })
     public ResponseEntity<Void> unlikePost(
             @PathVariable Long id,
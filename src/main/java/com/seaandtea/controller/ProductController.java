@@ -3,6 +3,7 @@ package com.seaandtea.controller;
 import com.seaandtea.dto.*;
 import com.seaandtea.entity.Product.ProductCategory;
 import com.seaandtea.service.ProductService;
+import com.seaandtea.util.ResourceVersion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,10 +16,12 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/v1/products")
@@ -52,11 +55,16 @@ public class ProductController {
     @Operation(summary = "Get product by ID", description = "Get a single active product by ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Product found", content = @Content(schema = @Schema(implementation = ProductResponse.class))),
+        @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
         @ApiResponse(responseCode = "404", description = "Product not found")
     })
-    public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id) {
+    public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id, WebRequest webRequest) {
+        ResourceVersion version = productService.getActiveVersion(id).orElse(null);
+        if (version != null && version.checkNotModified(webRequest)) {
+            return null;
+        }
         ProductResponse response = productService.getActiveById(id);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(response);
     }
 
     @GetMapping("/best-sellers")
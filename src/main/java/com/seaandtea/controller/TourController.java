@@ -3,6 +3,7 @@ package com.seaandtea.controller;
 import com.seaandtea.dto.*;
 import com.seaandtea.entity.Tour.TourCategory;
 import com.seaandtea.service.TourService;
+import com.seaandtea.util.ResourceVersion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,11 +16,13 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -89,12 +92,17 @@ public class TourController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Tour found",
                     content = @Content(schema = @Schema(implementation = TourResponse.class))),
+        @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
         @ApiResponse(responseCode = "404", description = "Tour not found")
     })
-    public ResponseEntity<TourResponse> getTourById(@PathVariable Long id) {
+    public ResponseEntity<TourResponse> getTourById(@PathVariable Long id, WebRequest webRequest) {
         log.info("Getting tour by ID: {}", id);
+        ResourceVersion version = tourService.getTourVersion(id).orElse(null);
+        if (version != null && version.checkNotModified(webRequest)) {
+            return null;
+        }
         TourResponse response = tourService.getTourById(id);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(response);
     }
     
     @GetMapping
@@ -127,6 +135,12 @@ public class TourController {
             @Parameter(description = "Filter by instant booking availability")
             @RequestParam(required = false) Boolean instantBooking,
             
+            @Parameter(description = "Languages the tour must offer (all of them)")
+            @RequestParam(required = false) List<String> languages,
+            
+            @Parameter(description = "Highlight the tour must include")
+            @RequestParam(required = false) String highlight,
+            
             @Parameter(description = "Page number (0-based)")
             @RequestParam(defaultValue = "0") int page,
             
@@ -147,6 +161,8 @@ public class TourController {
             .minDuration(minDuration)
             .maxDuration(maxDuration)
             .instantBooking(instantBooking)
+            .languages(languages)
+            .highlightKeyword(highlight)
             .page(page)
             .size(size)
             .sortBy(sortBy)
@@ -157,6 +173,103 @@ public class TourController {
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping("/search")
+    @Operation(
+        summary = "Search tours with facet counts",
+        description = "Same filters as GET /tours; also returns per-category, price band, duration band, " +
+                      "language and instant booking counts for the current filter"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tours and facets retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = TourSearchResponse.class)))
+    })
+    public ResponseEntity<TourSearchResponse> searchTours(
+            @Parameter(description = "Search term for title or description")
+            @RequestParam(required = false) String searchTerm,
+            
+            @Parameter(description = "Filter by category")
+            @RequestParam(required = false) TourCategory category,
+            
+            @Parameter(description = "Minimum price filter")
+            @RequestParam(required = false) java.math.BigDecimal minPrice,
+            
+            @Parameter(description = "Maximum price filter")
+            @RequestParam(required = false) java.math.BigDecimal maxPrice,
+            
+            @Parameter(description = "Minimum duration in hours")
+            @RequestParam(required = false) Integer minDuration,
+            
+            @Parameter(description = "Maximum duration in hours")
+            @RequestParam(required = false) Integer maxDuration,
+            
+            @Parameter(description = "Filter by instant booking availability")
+            @RequestParam(required = false) Boolean instantBooking,
+            
+            @Parameter(description = "Languages the tour must offer (all of them)")
+            @RequestParam(required = false) List<String> languages,
+            
+            @Parameter(description = "Highlight the tour must include")
+            @RequestParam(required = false) String highlight,
+            
+            @Parameter(description = "Page number (0-based)")
+            @RequestParam(defaultValue = "0") int page,
+            
+            @Parameter(description = "Page size")
+            @RequestParam(defaultValue = "10") int size,
+            
+            @Parameter(description = "Sort field")
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            
+            @Parameter(description = "Sort direction (asc/desc)")
+            @RequestParam(defaultValue = "desc") String sortDirection) {
+        
+        TourFilterRequest filterRequest = TourFilterRequest.builder()
+            .searchTerm(searchTerm)
+            .category(category)
+            .minPrice(minPrice)
+            .maxPrice(maxPrice)
+            .minDuration(minDuration)
+            .maxDuration(maxDuration)
+            .instantBooking(instantBooking)
+            .languages(languages)
+            .highlightKeyword(highlight)
+            .page(page)
+            .size(size)
+            .sortBy(sortBy)
+            .sortDirection(sortDirection)
+            .build();
+        
+        TourSearchResponse response = tourService.searchTours(filterRequest);
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/nearby")
+    @Operation(
+        summary = "Find tours near a location",
+        description = "Active tours whose meeting point is within the radius of the given coordinates, nearest first. " +
+                      "Each result carries its distance in kilometres."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Nearby tours retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid coordinates or radius")
+    })
+    public ResponseEntity<List<TourListResponse>> getNearbyTours(
+            @Parameter(description = "Latitude of the search origin")
+            @RequestParam Double lat,
+            
+            @Parameter(description = "Longitude of the search origin")
+            @RequestParam Double lng,
+            
+            @Parameter(description = "Search radius in kilometres (default 25, max 200)")
+            @RequestParam(required = false) Double radiusKm,
+            
+            @Parameter(description = "Maximum number of tours (default 20, max 100)")
+            @RequestParam(required = false) Integer limit) {
+        
+        List<TourListResponse> response = tourService.getNearbyTours(lat, lng, radiusKm, limit);
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping("/guide/{guideId}")
     @Operation(
         summary = "Get tours by guide",
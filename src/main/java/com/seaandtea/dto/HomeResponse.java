@@ -0,0 +1,24 @@
+package com.seaandtea.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HomeResponse {
+    
+    private List<HomepageSliderImageResponse> slider;
+    private List<TourListResponse> popularTours;
+    private List<TourListResponse> verifiedTours;
+    private List<ProductListResponse> bestSellers;
+    private List<NewsPostListResponse> latestNews;
+    
+    // Sections that failed or timed out; their fields are null
+    private List<String> unavailableSections;
+}
@@ -0,0 +1,23 @@
+package com.seaandtea.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A slice of a post's comments, oldest first. Pass {@code nextCursor} back as {@code cursor} to
+ * load the following slice; it is null on the last one.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NewsPostCommentPage {
+
+    private List<NewsPostCommentResponse> comments;
+    private String nextCursor;
+    private boolean hasMore;
+}
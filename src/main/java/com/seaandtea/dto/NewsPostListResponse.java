@@ -23,4 +23,23 @@ public class NewsPostListResponse {
     private long likeCount;
     private long commentCount;
     private Boolean likedByCurrentUser;
+
+    /**
+     * Constructor-expression target for the news list projection
+     * ({@code SELECT new NewsPostListResponse(...)}), which never reads the post body.
+     * {@code likedByCurrentUser} is filled in afterwards.
+     */
+    public NewsPostListResponse(Long id, String title, String bodySummary, Long authorId, String authorDisplayName,
+                                Boolean isPublished, LocalDateTime createdAt, Long likeCount, Long commentCount) {
+        this.id = id;
+        this.title = title;
+        this.bodySummary = bodySummary != null ? bodySummary : "";
+        this.authorId = authorId;
+        this.authorDisplayName = authorDisplayName;
+        this.isPublished = Boolean.TRUE.equals(isPublished);
+        this.createdAt = createdAt;
+        this.likeCount = likeCount != null ? likeCount : 0;
+        this.commentCount = commentCount != null ? commentCount : 0;
+        this.likedByCurrentUser = false;
+    }
 }
@@ -25,5 +25,7 @@ public class NewsPostResponse {
     private long likeCount;
     private long commentCount;
     private Boolean likedByCurrentUser;
+    /** The oldest comments only; load the rest from the comments endpoint starting at {@code commentsNextCursor}. */
     private List<NewsPostCommentResponse> comments;
+    private String commentsNextCursor;
 }
@@ -0,0 +1,40 @@
+package com.seaandtea.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TourFacetsResponse {
+    
+    // Tours matching every active filter
+    private long totalMatches;
+    
+    // Each facet counts tours matching all filters except its own, so sibling options stay selectable.
+    // Languages are an all-of filter, so language counts also include the selected languages.
+    private List<FacetBucket> categories;
+    private List<FacetBucket> priceBands;
+    private List<FacetBucket> durationBands;
+    private List<FacetBucket> languages;
+    private List<FacetBucket> instantBooking;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FacetBucket {
+        private String key;
+        private long count;
+        
+        // Range bounds for band facets, to be sent back as min/max filters; null when open-ended
+        private BigDecimal from;
+        private BigDecimal to;
+    }
+}
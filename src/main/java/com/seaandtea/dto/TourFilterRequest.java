@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Data
 @Builder
@@ -21,6 +22,12 @@ public class TourFilterRequest {
     private Integer minDuration;
     private Integer maxDuration;
     private Boolean instantBooking;
+    
+    // Tour must offer every listed language (exact, case-sensitive match on Tour.languages entries)
+    private List<String> languages;
+    
+    // Tour highlights must contain this entry (exact, case-sensitive match)
+    private String highlightKeyword;
     private Integer page = 0;
     private Integer size = 10;
     private String sortBy = "createdAt";
@@ -7,7 +7,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
@@ -39,6 +41,41 @@ public class TourListResponse {
     
     // Highlights preview (first 3)
     private String highlightsPreview;
+    
+    // Only set by nearby search
+    private Double distanceKm;
+    
+    /**
+     * Constructor-expression target for the tour card projection
+     * ({@code SELECT new TourListResponse(...)}). Description is already truncated in SQL.
+     */
+    public TourListResponse(Long id, String title, String description, TourCategory category,
+                            Integer durationHours, Integer maxGroupSize, BigDecimal pricePerPerson,
+                            Boolean instantBooking, String primaryImageUrl, LocalDateTime createdAt,
+                            String guideName, String guideProfilePicture, BigDecimal guideAverageRating,
+                            Boolean guideIsVerified, Double averageRating, Long totalReviews,
+                            List<String> highlights) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.category = category;
+        this.durationHours = durationHours;
+        this.maxGroupSize = maxGroupSize;
+        this.pricePerPerson = pricePerPerson;
+        this.instantBooking = instantBooking;
+        this.primaryImageUrl = primaryImageUrl;
+        this.createdAt = createdAt;
+        this.guideName = guideName;
+        this.guideProfilePicture = guideProfilePicture;
+        this.guideAverageRating = guideAverageRating;
+        this.guideIsVerified = guideIsVerified;
+        this.averageRating = averageRating != null
+                ? BigDecimal.valueOf(averageRating).setScale(2, RoundingMode.HALF_UP) : BigDecimal.ZERO;
+        this.totalReviews = totalReviews != null ? totalReviews : 0L;
+        this.totalBookings = 0L;
+        this.highlightsPreview = highlights != null
+                ? String.join(", ", highlights.subList(0, Math.min(3, highlights.size()))) : "";
+    }
 }
 
 
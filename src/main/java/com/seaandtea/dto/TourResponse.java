@@ -30,6 +30,8 @@ public class TourResponse {
     private List<String> includedItems;
     private List<String> excludedItems;
     private String meetingPoint;
+    private Double latitude;
+    private Double longitude;
     private String cancellationPolicy;
     private Boolean isActive;
     private LocalDateTime createdAt;
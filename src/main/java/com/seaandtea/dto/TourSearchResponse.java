@@ -0,0 +1,17 @@
+package com.seaandtea.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TourSearchResponse {
+    
+    private Page<TourListResponse> results;
+    private TourFacetsResponse facets;
+}
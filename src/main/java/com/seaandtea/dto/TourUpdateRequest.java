@@ -55,6 +55,15 @@ public class TourUpdateRequest {
     @Size(max = 500, message = "Meeting point cannot exceed 500 characters")
     private String meetingPoint;
     
+    // Optional; when omitted the meeting point is geocoded
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+    
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+    
     @Size(max = 1000, message = "Cancellation policy cannot exceed 1000 characters")
     private String cancellationPolicy;
     
@@ -0,0 +1,80 @@
+package com.seaandtea.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * An email waiting to be sent by the mail dispatcher: a template name plus the JSON model to render
+ * it with. Entries sharing a {@code digestKey} are sent together as one digest email. Rows are
+ * deleted once sent; one that keeps failing ends up {@code DEAD}.
+ */
+@Entity
+@Table(name = "mail_queue", indexes = {
+    @Index(name = "idx_mail_queue_due", columnList = "status, next_attempt_at"),
+    @Index(name = "idx_mail_queue_digest", columnList = "digest_key")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MailQueueEntry {
+
+    public enum Status {
+        PENDING, DEAD
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false, length = 50)
+    private String template;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String model;
+
+    @Column(name = "digest_key", length = 100)
+    private String digestKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "locked_by", length = 36)
+    private String lockedBy;
+
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+}
@@ -20,6 +20,9 @@ import java.util.List;
 @AllArgsConstructor
 public class NewsPost {
 
+    /** Characters of the body kept in {@link #summary}, before the ellipsis */
+    public static final int SUMMARY_MAX_LENGTH = 200;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -30,6 +33,10 @@ public class NewsPost {
     @Column(columnDefinition = "TEXT", nullable = false)
     private String body;
 
+    // Written with the body so list views never have to read it
+    @Column(length = SUMMARY_MAX_LENGTH + 3)
+    private String summary;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
     private User author;
@@ -38,6 +45,16 @@ public class NewsPost {
     @Builder.Default
     private Boolean isPublished = true;
 
+    // Maintained by atomic increments in NewsPostService and corrected by NewsPostCounterReconciler;
+    // not updatable, so saving an edited post never writes back the counts it loaded
+    @Column(name = "like_count", updatable = false, columnDefinition = "BIGINT DEFAULT 0 NOT NULL")
+    @Builder.Default
+    private Long likeCount = 0L;
+
+    @Column(name = "comment_count", updatable = false, columnDefinition = "BIGINT DEFAULT 0 NOT NULL")
+    @Builder.Default
+    private Long commentCount = 0L;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -53,6 +70,16 @@ public class NewsPost {
     @Builder.Default
     private List<NewsPostComment> comments = new ArrayList<>();
 
+    /**
+     * The list-view preview of a body: the body itself when short, otherwise its first
+     * {@value #SUMMARY_MAX_LENGTH} characters followed by "...".
+     */
+    public static String summarize(String body) {
+        if (body == null) return "";
+        if (body.length() <= SUMMARY_MAX_LENGTH) return body;
+        return body.substring(0, SUMMARY_MAX_LENGTH) + "...";
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
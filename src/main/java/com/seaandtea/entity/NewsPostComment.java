@@ -10,7 +10,9 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "news_post_comments")
+@Table(name = "news_post_comments", indexes = {
+    @Index(name = "idx_news_post_comments_post_created", columnList = "post_id, created_at, id")
+})
 @Getter
 @Setter
 @Builder
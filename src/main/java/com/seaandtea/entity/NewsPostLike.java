@@ -12,6 +12,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "news_post_likes", uniqueConstraints = {
     @UniqueConstraint(columnNames = { "post_id", "user_id" })
+}, indexes = {
+    @Index(name = "idx_news_post_likes_user_post", columnList = "user_id, post_id")
 })
 @Getter
 @Setter
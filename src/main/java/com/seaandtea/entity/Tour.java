@@ -71,6 +71,13 @@ public class Tour {
     @Column(name = "meeting_point")
     private String meetingPoint;
     
+    // WGS84 coordinates of the meeting point, used by nearby search; null when unknown
+    @Column(name = "latitude")
+    private Double latitude;
+    
+    @Column(name = "longitude")
+    private Double longitude;
+    
     @Column(name = "cancellation_policy")
     private String cancellationPolicy;
     
@@ -0,0 +1,27 @@
+package com.seaandtea.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Published by services after a write to a publicly listed catalog. Listeners that keep derived
+ * read state (indexes, caches) should react with {@code @TransactionalEventListener} so they only
+ * see committed data.
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class CatalogChangedEvent {
+    
+    public enum Catalog {
+        TOURS, GUIDES, PRODUCTS, NEWS, HOMEPAGE_SLIDER
+    }
+    
+    private final Catalog catalog;
+    
+    /**
+     * Id of the changed entity, or null when the change is not tied to a single entity
+     */
+    private final Long entityId;
+}
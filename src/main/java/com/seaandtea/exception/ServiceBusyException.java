@@ -0,0 +1,18 @@
+package com.seaandtea.exception;
+
+/**
+ * Thrown when work is refused because a bounded resource is saturated; mapped to 503 with Retry-After
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public ServiceBusyException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
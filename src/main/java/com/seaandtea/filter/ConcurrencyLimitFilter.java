@@ -0,0 +1,215 @@
+package com.seaandtea.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seaandtea.util.AimdLimit;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sheds load before requests pile up waiting for one of the few pooled database connections. Each
+ * endpoint class has its own {@link AimdLimit}; when it is full the request gets an immediate
+ * {@code 503} with {@code Retry-After} instead of waiting out the pool's connection timeout, so a
+ * burst of uploads or catalog reads can't starve the other classes.
+ *
+ * Runs ahead of the security filter chain, whose JWT authentication already needs a connection.
+ * Health and actuator endpoints are never limited. Limits, in-flight counts and rejections are
+ * published as {@code seaandtea.concurrency.*} metrics tagged by class.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@ConditionalOnProperty(name = "concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    public enum EndpointClass {
+        PUBLIC_CATALOG, AUTHENTICATED_WRITES, ADMIN, UPLOADS;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT).replace('_', '-');
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+
+    @Value("${concurrency-limit.min-limit:2}")
+    private int minLimit;
+
+    @Value("${concurrency-limit.backoff-ratio:0.9}")
+    private double backoffRatio;
+
+    @Value("${concurrency-limit.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    @Value("${concurrency-limit.readiness-window-seconds:5}")
+    private int readinessWindowSeconds;
+
+    @Value("${concurrency-limit.public-catalog.max-limit:40}")
+    private int publicCatalogMaxLimit;
+
+    @Value("${concurrency-limit.public-catalog.latency-threshold-ms:500}")
+    private long publicCatalogLatencyThresholdMs;
+
+    @Value("${concurrency-limit.authenticated-writes.max-limit:20}")
+    private int authenticatedWritesMaxLimit;
+
+    @Value("${concurrency-limit.authenticated-writes.latency-threshold-ms:1000}")
+    private long authenticatedWritesLatencyThresholdMs;
+
+    @Value("${concurrency-limit.admin.max-limit:5}")
+    private int adminMaxLimit;
+
+    @Value("${concurrency-limit.admin.latency-threshold-ms:2000}")
+    private long adminLatencyThresholdMs;
+
+    @Value("${concurrency-limit.uploads.max-limit:4}")
+    private int uploadsMaxLimit;
+
+    @Value("${concurrency-limit.uploads.latency-threshold-ms:10000}")
+    private long uploadsLatencyThresholdMs;
+
+    private final Map<EndpointClass, AimdLimit> limits = new EnumMap<>(EndpointClass.class);
+
+    @PostConstruct
+    void createLimits() {
+        limits.put(EndpointClass.PUBLIC_CATALOG, limit(publicCatalogMaxLimit, publicCatalogLatencyThresholdMs));
+        limits.put(EndpointClass.AUTHENTICATED_WRITES, limit(authenticatedWritesMaxLimit, authenticatedWritesLatencyThresholdMs));
+        limits.put(EndpointClass.ADMIN, limit(adminMaxLimit, adminLatencyThresholdMs));
+        limits.put(EndpointClass.UPLOADS, limit(uploadsMaxLimit, uploadsLatencyThresholdMs));
+
+        limits.forEach((endpointClass, limit) -> {
+            Gauge.builder("seaandtea.concurrency.limit", limit, AimdLimit::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("class", endpointClass.tag())
+                    .register(meterRegistry);
+            Gauge.builder("seaandtea.concurrency.in-flight", limit, AimdLimit::getInFlight)
+                    .description("Requests currently holding a concurrency slot")
+                    .tag("class", endpointClass.tag())
+                    .register(meterRegistry);
+            FunctionCounter.builder("seaandtea.concurrency.rejected", limit, AimdLimit::getRejectedCount)
+                    .description("Requests shed with 503 because the concurrency limit was reached")
+                    .tag("class", endpointClass.tag())
+                    .register(meterRegistry);
+        });
+    }
+
+    // Start at half the ceiling and let successful traffic grow the limit
+    private AimdLimit limit(int maxLimit, long latencyThresholdMs) {
+        int max = Math.max(minLimit, maxLimit);
+        return new AimdLimit(max / 2, minLimit, max, TimeUnit.MILLISECONDS.toNanos(latencyThresholdMs), backoffRatio);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return "OPTIONS".equals(request.getMethod())
+                || path.startsWith("/api/v1/health")
+                || path.startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = classify(request);
+        AimdLimit limit = limits.get(endpointClass);
+        if (!limit.tryAcquire()) {
+            log.debug("Shedding {} {}: {} limit {} reached", request.getMethod(), request.getRequestURI(),
+                    endpointClass.tag(), limit.getLimit());
+            reject(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            limit.release(System.nanoTime() - start, failed);
+        }
+    }
+
+    static EndpointClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        String method = request.getMethod();
+        boolean read = "GET".equals(method) || "HEAD".equals(method);
+        if (path.startsWith("/api/v1/admin") || path.contains("/admin/")) {
+            return EndpointClass.ADMIN;
+        }
+        // Multipart bodies are uploads wherever they are posted, e.g. guide and profile pictures
+        if (!read && (path.startsWith("/api/v1/upload") || isMultipart(request))) {
+            return EndpointClass.UPLOADS;
+        }
+        return read ? EndpointClass.PUBLIC_CATALOG : EndpointClass.AUTHENTICATED_WRITES;
+    }
+
+    private static boolean isMultipart(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("multipart/");
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", Instant.now().toString());
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", "Service Unavailable");
+        body.put("message", "Server is busy, please retry shortly");
+        body.put("path", request.getRequestURI());
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    /**
+     * True when any endpoint class has shed a request within {@code concurrency-limit.readiness-window-seconds}
+     */
+    public boolean isShedding() {
+        long window = TimeUnit.SECONDS.toNanos(readinessWindowSeconds);
+        return limits.values().stream().anyMatch(limit -> limit.rejectedWithin(window));
+    }
+
+    /**
+     * Current limit, in-flight count and total rejections per endpoint class, for the readiness endpoint
+     */
+    public Map<String, Map<String, Object>> snapshot() {
+        Map<String, Map<String, Object>> snapshot = new LinkedHashMap<>();
+        long window = TimeUnit.SECONDS.toNanos(readinessWindowSeconds);
+        limits.forEach((endpointClass, limit) -> {
+            Map<String, Object> state = new LinkedHashMap<>();
+            state.put("limit", limit.getLimit());
+            state.put("inFlight", limit.getInFlight());
+            state.put("rejected", limit.getRejectedCount());
+            state.put("shedding", limit.rejectedWithin(window));
+            snapshot.put(endpointClass.tag(), state);
+        });
+        return snapshot;
+    }
+}
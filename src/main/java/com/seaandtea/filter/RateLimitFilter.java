@@ -0,0 +1,196 @@
+package com.seaandtea.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seaandtea.entity.User;
+import com.seaandtea.ratelimit.RateLimitDecision;
+import com.seaandtea.ratelimit.RateLimitPolicy;
+import com.seaandtea.ratelimit.RateLimitStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Token bucket rate limits for the expensive or abusable routes: login and registration (BCrypt on
+ * every attempt), sending messages, uploads and filtered tour search. Buckets are keyed by user id
+ * when the request is authenticated and by client IP otherwise; login and registration always use
+ * the IP. Every limited route gets {@code X-RateLimit-Limit}, {@code X-RateLimit-Remaining} and
+ * {@code X-RateLimit-Reset} (seconds until the bucket is full) headers, and a {@code 429} with
+ * {@code Retry-After} once its bucket is empty.
+ *
+ * Runs just inside the security filter chain so the authenticated user is known. If the bucket
+ * store fails the request is let through rather than turning an outage of the store into an outage
+ * of the API.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+@ConditionalOnProperty(name = "rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    static final String RESET_HEADER = "X-RateLimit-Reset";
+
+    enum Route {
+        AUTH, MESSAGES, UPLOADS, SEARCH;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final RateLimitStore store;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+
+    @Value("${rate-limit.auth.capacity:10}")
+    private long authCapacity;
+
+    @Value("${rate-limit.auth.refill-per-minute:5}")
+    private double authRefillPerMinute;
+
+    @Value("${rate-limit.messages.capacity:20}")
+    private long messagesCapacity;
+
+    @Value("${rate-limit.messages.refill-per-minute:30}")
+    private double messagesRefillPerMinute;
+
+    @Value("${rate-limit.uploads.capacity:10}")
+    private long uploadsCapacity;
+
+    @Value("${rate-limit.uploads.refill-per-minute:10}")
+    private double uploadsRefillPerMinute;
+
+    @Value("${rate-limit.search.capacity:60}")
+    private long searchCapacity;
+
+    @Value("${rate-limit.search.refill-per-minute:120}")
+    private double searchRefillPerMinute;
+
+    private final Map<Route, RateLimitPolicy> policies = new EnumMap<>(Route.class);
+
+    @PostConstruct
+    void createPolicies() {
+        policies.put(Route.AUTH, new RateLimitPolicy(Route.AUTH.tag(), authCapacity, authRefillPerMinute));
+        policies.put(Route.MESSAGES, new RateLimitPolicy(Route.MESSAGES.tag(), messagesCapacity, messagesRefillPerMinute));
+        policies.put(Route.UPLOADS, new RateLimitPolicy(Route.UPLOADS.tag(), uploadsCapacity, uploadsRefillPerMinute));
+        policies.put(Route.SEARCH, new RateLimitPolicy(Route.SEARCH.tag(), searchCapacity, searchRefillPerMinute));
+    }
+
+    static Route routeOf(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getRequestURI();
+        boolean get = "GET".equals(method);
+        if ("POST".equals(method) && (path.equals("/api/v1/auth/login") || path.equals("/api/v1/auth/register"))) {
+            return Route.AUTH;
+        }
+        if ("POST".equals(method) && path.equals("/api/v1/messages")) {
+            return Route.MESSAGES;
+        }
+        if ((path.startsWith("/api/v1/upload/") && !get)
+                || ("POST".equals(method) && path.startsWith("/api/v1/tours/") && path.endsWith("/images"))) {
+            return Route.UPLOADS;
+        }
+        if (get && (path.equals("/api/v1/tours") || path.equals("/api/v1/tours/search") || path.equals("/api/v1/tours/nearby"))) {
+            return Route.SEARCH;
+        }
+        return null;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return routeOf(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Route route = routeOf(request);
+        RateLimitPolicy policy = policies.get(route);
+        String key = route.tag() + ":" + clientKey(request, route);
+
+        RateLimitDecision decision;
+        try {
+            decision = store.tryConsume(key, policy);
+        } catch (RuntimeException e) {
+            log.warn("Rate limit store unavailable, allowing {} {}: {}", request.getMethod(), request.getRequestURI(),
+                    e.getMessage());
+            count(route, "error");
+            chain.doFilter(request, response);
+            return;
+        }
+
+        response.setHeader(LIMIT_HEADER, String.valueOf(policy.capacity()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(decision.remaining()));
+        response.setHeader(RESET_HEADER, String.valueOf(toSeconds(decision.resetMillis())));
+        if (!decision.allowed()) {
+            count(route, "limited");
+            reject(request, response, decision);
+            return;
+        }
+        count(route, "allowed");
+        chain.doFilter(request, response);
+    }
+
+    private static String clientKey(HttpServletRequest request, Route route) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (route != Route.AUTH && authentication != null && authentication.getPrincipal() instanceof User user) {
+            return "user:" + user.getId();
+        }
+        // Behind a proxy this relies on server.forward-headers-strategy resolving the client address
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void count(Route route, String outcome) {
+        Counter.builder("seaandtea.ratelimit.requests")
+                .description("Requests checked against a rate limit policy")
+                .tag("policy", route.tag())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, RateLimitDecision decision)
+            throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", Instant.now().toString());
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        body.put("error", "Too Many Requests");
+        body.put("message", "Rate limit exceeded, please retry later");
+        body.put("path", request.getRequestURI());
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, toSeconds(decision.retryAfterMillis()))));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private static long toSeconds(long millis) {
+        return (millis + 999) / 1000;
+    }
+}
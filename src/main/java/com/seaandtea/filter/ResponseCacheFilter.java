@@ -0,0 +1,209 @@
+package com.seaandtea.filter;
+
+import com.seaandtea.event.CatalogChangedEvent;
+import com.seaandtea.event.CatalogChangedEvent.Catalog;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caches the serialized bytes of hot public GET responses so repeat homepage requests skip the
+ * controller, the queries and Jackson. Only anonymous requests are cached (authenticated responses
+ * may be personalised, e.g. news likes), and never responses marked no-store such as a partial
+ * aggregated homepage. Entries are keyed by path plus sorted query parameters,
+ * stored both plain and gzip-compressed, and dropped when a write commits to one of the catalogs the
+ * path depends on, or after {@code response-cache.ttl-seconds} for changes made on other instances.
+ *
+ * Registered after the security filter chain so CORS headers are still applied to cache hits.
+ */
+@Component
+@Slf4j
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    static final String CACHE_STATUS_HEADER = "X-Response-Cache";
+
+    private static final int GZIP_MIN_BYTES = 1024;
+
+    // Cached paths and the catalogs whose writes invalidate them
+    private static final Map<String, Set<Catalog>> CACHED_PATHS = Map.of(
+            "/api/v1/upload/homepage-slider", EnumSet.of(Catalog.HOMEPAGE_SLIDER),
+            "/api/v1/tours/public/verified/paginated", EnumSet.of(Catalog.TOURS, Catalog.GUIDES),
+            "/api/v1/products/best-sellers", EnumSet.of(Catalog.PRODUCTS),
+            "/api/v1/news", EnumSet.of(Catalog.NEWS),
+            "/api/v1/home", EnumSet.allOf(Catalog.class));
+
+    @Value("${response-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${response-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${response-cache.max-entries:512}")
+    private int maxEntries;
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final Map<String, CachedResponse> entries = Collections.synchronizedMap(
+            new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                    return size() > maxEntries;
+                }
+            });
+
+    record CachedResponse(Set<Catalog> catalogs, String contentType, String eTag, byte[] body, byte[] gzipBody,
+                          Instant expiresAt) {
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || !"GET".equals(request.getMethod())
+                || request.getHeader(HttpHeaders.AUTHORIZATION) != null
+                || !CACHED_PATHS.containsKey(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = cacheKey(request);
+        CachedResponse cached = entries.get(key);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            writeCached(cached, request, response);
+            return;
+        }
+
+        // A write that commits while this request renders must not leave its stale result behind
+        long invalidationsBefore = invalidations.get();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        wrapper.setHeader(CACHE_STATUS_HEADER, "MISS");
+        wrapper.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        try {
+            chain.doFilter(request, wrapper);
+            if (isCacheable(wrapper) && invalidations.get() == invalidationsBefore) {
+                entries.put(key, toCachedResponse(request, wrapper));
+            }
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        invalidations.incrementAndGet();
+        synchronized (entries) {
+            int before = entries.size();
+            entries.values().removeIf(entry -> entry.catalogs().contains(event.getCatalog()));
+            log.debug("Catalog {} changed, evicted {} cached responses", event.getCatalog(), before - entries.size());
+        }
+    }
+
+    private void writeCached(CachedResponse cached, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        response.setHeader(CACHE_STATUS_HEADER, "HIT");
+        response.setHeader(HttpHeaders.ETAG, cached.eTag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (matchesETag(request.getHeader(HttpHeaders.IF_NONE_MATCH), cached.eTag())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        byte[] body = cached.body();
+        if (cached.gzipBody() != null && acceptsGzip(request)) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = cached.gzipBody();
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.contentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static boolean isCacheable(ContentCachingResponseWrapper response) {
+        String contentType = response.getContentType();
+        String cacheControl = response.getHeader(HttpHeaders.CACHE_CONTROL);
+        return response.getStatus() == HttpServletResponse.SC_OK
+                && contentType != null && contentType.contains("json")
+                && response.getHeader(HttpHeaders.SET_COOKIE) == null
+                && (cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private")));
+    }
+
+    private CachedResponse toCachedResponse(HttpServletRequest request, ContentCachingResponseWrapper response)
+            throws IOException {
+        byte[] body = response.getContentAsByteArray();
+        // Keep the controller's ETag when it set one so that hits and misses validate the same way
+        String eTag = response.getHeader(HttpHeaders.ETAG);
+        if (eTag == null) {
+            eTag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+            response.setHeader(HttpHeaders.ETAG, eTag);
+        }
+        return new CachedResponse(
+                CACHED_PATHS.get(request.getRequestURI()),
+                response.getContentType(),
+                eTag,
+                body,
+                body.length >= GZIP_MIN_BYTES ? gzip(body) : null,
+                Instant.now().plusSeconds(ttlSeconds));
+    }
+
+    static String cacheKey(HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(request.getRequestURI());
+        char separator = '?';
+        for (Map.Entry<String, String[]> parameter : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            for (String value : parameter.getValue()) {
+                key.append(separator).append(parameter.getKey()).append('=').append(value);
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+
+    private static boolean matchesETag(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(candidate -> candidate.startsWith("W/") ? candidate.substring(2) : candidate)
+                .anyMatch(candidate -> candidate.equals("*") || candidate.equals(opaque));
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,98 @@
+package com.seaandtea.filter;
+
+import com.seaandtea.util.SqlStatementStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL statements and total database time of each request and reports them as
+ * {@value #COUNT_HEADER} / {@value #TIME_HEADER} response headers and as metrics tagged by route.
+ * Requests over {@code sql-stats.statement-budget} are logged with their most repeated statement
+ * shape, which is usually the N+1 loop responsible.
+ *
+ * Only statements run on the request thread are counted, not work handed to other executors.
+ * Runs just inside {@link ContentCachingFilter}, whose buffered response lets the headers be set
+ * after the handler has written the body.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "sql-stats.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    static final String COUNT_HEADER = "X-SQL-Count";
+    static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${sql-stats.statement-budget:25}")
+    private int statementBudget;
+
+    @Value("${sql-stats.response-headers:true}")
+    private boolean responseHeaders;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementStats stats = SqlStatementStats.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            stats.close();
+            report(request, response, stats);
+        }
+    }
+
+    private void report(HttpServletRequest request, HttpServletResponse response, SqlStatementStats stats) {
+        if (responseHeaders && !response.isCommitted()) {
+            response.setHeader(COUNT_HEADER, String.valueOf(stats.getCount()));
+            response.setHeader(TIME_HEADER, String.valueOf(stats.getElapsedMillis()));
+        }
+
+        String route = routeOf(request);
+        DistributionSummary.builder("seaandtea.request.sql.statements")
+                .description("SQL statements executed per HTTP request")
+                .tag("uri", route)
+                .register(meterRegistry)
+                .record(stats.getCount());
+        Timer.builder("seaandtea.request.sql.time")
+                .description("Total SQL execution time per HTTP request")
+                .tag("uri", route)
+                .register(meterRegistry)
+                .record(stats.getElapsedNanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.getCount() > statementBudget) {
+            stats.mostRepeatedShape().ifPresentOrElse(
+                    repeated -> log.warn("{} {} ran {} SQL statements in {} ms (budget {}); repeated {} times: {}",
+                            request.getMethod(), request.getRequestURI(), stats.getCount(), stats.getElapsedMillis(),
+                            statementBudget, repeated.count(), repeated.sql()),
+                    () -> log.warn("{} {} ran {} SQL statements in {} ms (budget {})",
+                            request.getMethod(), request.getRequestURI(), stats.getCount(), stats.getElapsedMillis(),
+                            statementBudget));
+        }
+    }
+
+    // Route template rather than the raw URI so ids don't explode metric cardinality
+    private static String routeOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,364 @@
+package com.seaandtea.mail;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seaandtea.entity.MailQueueEntry;
+import com.seaandtea.ratelimit.RateLimitDecision;
+import com.seaandtea.ratelimit.RateLimitPolicy;
+import com.seaandtea.ratelimit.RateLimitStore;
+import com.seaandtea.repository.MailQueueRepository;
+import com.seaandtea.util.Backoff;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Sends the mail queue. Each poll leases a batch of due entries to this instance, together with
+ * every pending entry of the same digest keys, and turns them into emails: entries sharing a
+ * recipient and digest key become one email from the template's digest variant, with {@code count}
+ * and, for every model key, {@code <key>.all} (its distinct values joined by commas) added to the
+ * first entry's model.
+ *
+ * The emails are split over {@code mail-queue.connections} SMTP connections, each sending its share
+ * in one session on a private pool, and paced by a {@code mail-queue.rate-per-minute} token bucket
+ * shared between instances through the {@link RateLimitStore}. Emails over the rate are handed back
+ * for later. A failed email is retried with exponential backoff and after
+ * {@code mail-queue.max-attempts} its entries are marked {@code DEAD}. Outcomes are counted in
+ * {@code seaandtea.mail.messages} by template.
+ */
+@Component
+@ConditionalOnProperty(name = "mail-queue.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class MailDispatcher {
+
+    static final String RATE_LIMIT_KEY = "mail:smtp";
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final TypeReference<Map<String, Object>> MODEL_TYPE = new TypeReference<>() { };
+
+    private final MailQueueRepository repository;
+    private final MailTemplateRenderer renderer;
+    private final JavaMailSender mailSender;
+    private final RateLimitStore rateLimitStore;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${mail-queue.from:no-reply@seaandtea.com}")
+    private String from;
+
+    @Value("${mail-queue.batch-size:100}")
+    private int batchSize;
+
+    @Value("${mail-queue.max-batches-per-poll:10}")
+    private int maxBatchesPerPoll;
+
+    @Value("${mail-queue.connections:2}")
+    private int connections;
+
+    @Value("${mail-queue.rate-per-minute:60}")
+    private double ratePerMinute;
+
+    @Value("${mail-queue.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${mail-queue.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${mail-queue.backoff.initial-ms:60000}")
+    private long initialBackoffMs;
+
+    @Value("${mail-queue.backoff.max-ms:3600000}")
+    private long maxBackoffMs;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private RateLimitPolicy ratePolicy;
+    private ThreadPoolExecutor executor;
+
+    /**
+     * One email and the queue entries it covers
+     */
+    private record Outgoing(String template, List<MailQueueEntry> entries, MimeMessage message) {
+
+        List<Long> ids() {
+            return entries.stream().map(MailQueueEntry::getId).toList();
+        }
+
+        int attempts() {
+            return entries.stream().mapToInt(MailQueueEntry::getAttempts).max().orElse(0);
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        ratePolicy = new RateLimitPolicy("mail", Math.max(1, (long) ratePerMinute), ratePerMinute);
+        executor = new ThreadPoolExecutor(connections, connections, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("mail-"));
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    @Scheduled(initialDelayString = "${mail-queue.initial-delay-ms:15000}",
+            fixedDelayString = "${mail-queue.poll-interval-ms:5000}")
+    public void poll() {
+        // Bounded like the outbox drain, so a long backlog yields the scheduler thread between polls
+        for (int batch = 1; dispatchBatch() >= batchSize && !Thread.currentThread().isInterrupted(); batch++) {
+            if (batch >= maxBatchesPerPoll) {
+                log.debug("Mail queue backlog left after {} batches, continuing next poll", batch);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Leases and sends one batch; returns how many entries were sent or failed, not counting those
+     * handed back because the rate limit was used up
+     */
+    int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plusSeconds(leaseSeconds);
+        List<Long> dueIds = repository.findDueIds(now, PageRequest.of(0, batchSize));
+        if (dueIds.isEmpty() || repository.lease(dueIds, instanceId, now, until) == 0) {
+            return 0;
+        }
+        List<MailQueueEntry> entries = findLeased(now);
+        Set<String> digestKeys = entries.stream()
+                .map(MailQueueEntry::getDigestKey)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (!digestKeys.isEmpty() && repository.leaseDigests(digestKeys, instanceId, now, until) > 0) {
+            entries = findLeased(now);
+        }
+
+        List<Outgoing> outgoing = new ArrayList<>();
+        for (List<MailQueueEntry> group : group(entries)) {
+            Outgoing mail = prepare(group);
+            if (mail != null) {
+                outgoing.add(mail);
+            }
+        }
+        List<Outgoing> allowed = throttle(outgoing);
+        send(allowed);
+        return entries.size() - outgoing.stream()
+                .skip(allowed.size())
+                .mapToInt(mail -> mail.entries().size())
+                .sum();
+    }
+
+    private List<MailQueueEntry> findLeased(LocalDateTime now) {
+        // Skip our own leases left over from an interrupted batch once they have expired: another
+        // instance may already be sending them
+        return repository.findLeased(instanceId).stream()
+                .filter(entry -> entry.getLockedUntil() != null && entry.getLockedUntil().isAfter(now))
+                .toList();
+    }
+
+    private static List<List<MailQueueEntry>> group(List<MailQueueEntry> entries) {
+        Map<String, List<MailQueueEntry>> groups = new LinkedHashMap<>();
+        for (MailQueueEntry entry : entries) {
+            String key = entry.getDigestKey() == null
+                    ? "#" + entry.getId()
+                    : entry.getTemplate() + "|" + entry.getRecipient() + "|" + entry.getDigestKey();
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(entry);
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    /**
+     * Renders the email for a group, or dead-letters the group if it cannot be rendered, since
+     * retrying would fail the same way
+     */
+    private Outgoing prepare(List<MailQueueEntry> group) {
+        MailQueueEntry first = group.get(0);
+        try {
+            MailTemplate template = MailTemplate.valueOf(first.getTemplate());
+            List<Map<String, Object>> models = new ArrayList<>();
+            for (MailQueueEntry entry : group) {
+                models.add(objectMapper.readValue(entry.getModel(), MODEL_TYPE));
+            }
+            MailTemplateRenderer.RenderedMail rendered = group.size() > 1 && template.digestResourceName() != null
+                    ? renderer.render(template.digestResourceName(), digestModel(models))
+                    : renderer.render(template.resourceName(), models.get(0));
+
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, false, StandardCharsets.UTF_8.name());
+            helper.setFrom(from);
+            helper.setTo(first.getRecipient());
+            helper.setSubject(rendered.subject());
+            helper.setText(rendered.body(), false);
+            return new Outgoing(template.name(), group, message);
+        } catch (JsonProcessingException | MessagingException | RuntimeException e) {
+            Outgoing broken = new Outgoing(first.getTemplate(), group, null);
+            fail(broken, describe(e), true);
+            return null;
+        }
+    }
+
+    static Map<String, Object> digestModel(List<Map<String, Object>> models) {
+        Map<String, Object> digest = new LinkedHashMap<>(models.get(0));
+        Map<String, Set<String>> values = new LinkedHashMap<>();
+        for (Map<String, Object> model : models) {
+            model.forEach((key, value) -> {
+                if (value != null) {
+                    values.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(value.toString());
+                }
+            });
+        }
+        values.forEach((key, distinct) -> digest.put(key + ".all", String.join(", ", distinct)));
+        digest.put("count", models.size());
+        return digest;
+    }
+
+    /**
+     * Takes a rate limit token per email; the emails without one are handed back until the bucket
+     * refills. A failing bucket store lets the batch through rather than stopping all email.
+     */
+    private List<Outgoing> throttle(List<Outgoing> outgoing) {
+        for (int i = 0; i < outgoing.size(); i++) {
+            RateLimitDecision decision;
+            try {
+                decision = rateLimitStore.tryConsume(RATE_LIMIT_KEY, ratePolicy);
+            } catch (RuntimeException e) {
+                log.warn("Rate limit store unavailable, sending mail batch unthrottled: {}", e.getMessage());
+                return outgoing;
+            }
+            if (!decision.allowed()) {
+                List<Outgoing> deferred = outgoing.subList(i, outgoing.size());
+                LocalDateTime retryAt = LocalDateTime.now().plus(Math.max(1000, decision.retryAfterMillis()), ChronoUnit.MILLIS);
+                repository.release(deferred.stream().flatMap(mail -> mail.ids().stream()).toList(), instanceId, retryAt);
+                deferred.forEach(mail -> count(mail.template(), "deferred"));
+                log.debug("Mail rate limit reached, deferred {} emails until {}", deferred.size(), retryAt);
+                return outgoing.subList(0, i);
+            }
+        }
+        return outgoing;
+    }
+
+    private void send(List<Outgoing> outgoing) {
+        if (outgoing.isEmpty()) {
+            return;
+        }
+        int chunkCount = Math.min(Math.max(1, connections), outgoing.size());
+        List<List<Outgoing>> chunks = new ArrayList<>();
+        for (int i = 0; i < chunkCount; i++) {
+            chunks.add(new ArrayList<>());
+        }
+        for (int i = 0; i < outgoing.size(); i++) {
+            chunks.get(i % chunkCount).add(outgoing.get(i));
+        }
+
+        List<Future<?>> running = new ArrayList<>();
+        for (List<Outgoing> chunk : chunks) {
+            running.add(executor.submit(() -> sendChunk(chunk)));
+        }
+        for (Future<?> task : running) {
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                log.error("Mail send task failed unexpectedly", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Sends a chunk over a single SMTP connection; only the emails the server refused are retried
+     */
+    private void sendChunk(List<Outgoing> chunk) {
+        Map<Object, Exception> failed = Map.of();
+        Exception chunkFailure = null;
+        try {
+            mailSender.send(chunk.stream().map(Outgoing::message).toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            // Without per-message failures the exception came from closing the connection after
+            // every message was accepted; resending would deliver them twice
+            failed = e.getFailedMessages();
+            if (failed.isEmpty()) {
+                log.warn("Mail sent but closing the SMTP connection failed: {}", e.getMessage());
+            }
+        } catch (MailException e) {
+            chunkFailure = e;
+        }
+
+        for (Outgoing mail : chunk) {
+            Exception error = chunkFailure != null ? chunkFailure : failed.get(mail.message());
+            if (error == null) {
+                repository.deleteSent(mail.ids(), instanceId);
+                count(mail.template(), "sent");
+            } else {
+                fail(mail, describe(error), mail.attempts() + 1 >= maxAttempts);
+            }
+        }
+    }
+
+    private void fail(Outgoing mail, String error, boolean dead) {
+        String truncated = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        int attempt = mail.attempts() + 1;
+        if (dead) {
+            repository.markDead(mail.ids(), instanceId, truncated);
+            log.error("Mail {} to {} is dead after {} attempts: {}", mail.template(),
+                    mail.entries().get(0).getRecipient(), attempt, truncated);
+            count(mail.template(), "dead");
+            return;
+        }
+        LocalDateTime nextAttemptAt = LocalDateTime.now().plus(Backoff.exponential(attempt, initialBackoffMs, maxBackoffMs),
+                ChronoUnit.MILLIS);
+        repository.scheduleRetry(mail.ids(), instanceId, nextAttemptAt, truncated);
+        log.warn("Mail {} to {} failed attempt {}, retrying at {}: {}", mail.template(),
+                mail.entries().get(0).getRecipient(), attempt, nextAttemptAt, truncated);
+        count(mail.template(), "retry");
+    }
+
+    private static String describe(Exception e) {
+        return e.getClass().getSimpleName() + ": " + e.getMessage();
+    }
+
+    private void count(String template, String outcome) {
+        Counter.builder("seaandtea.mail.messages")
+                .description("Queued emails by sending outcome")
+                .tag("template", template)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,76 @@
+package com.seaandtea.mail;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seaandtea.entity.MailQueueEntry;
+import com.seaandtea.repository.MailQueueRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Queues templated emails in {@code mail_queue}, in the caller's transaction, so a rolled back
+ * booking or message never sends anything and a slow SMTP server never holds up a request. The
+ * {@link MailDispatcher} sends them. When {@code mail-queue.enabled} is false nothing is queued.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MailService {
+
+    private final MailQueueRepository mailQueueRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${mail-queue.enabled:false}")
+    private boolean enabled;
+
+    @Value("${mail-queue.digest-window-seconds:600}")
+    private long digestWindowSeconds;
+
+    /**
+     * Queues one email to {@code recipient}, rendered from {@code template} with {@code model}
+     */
+    @Transactional
+    public void enqueue(MailTemplate template, String recipient, Map<String, ?> model) {
+        save(template, recipient, model, null, LocalDateTime.now());
+    }
+
+    /**
+     * Queues an email that waits up to {@code mail-queue.digest-window-seconds} for others with the
+     * same {@code digestKey}; if more arrive they go out as one email from the template's digest
+     * variant. The key should identify the recipient, e.g. {@code new-messages:<userId>}.
+     */
+    @Transactional
+    public void enqueueDigest(MailTemplate template, String recipient, Map<String, ?> model, String digestKey) {
+        if (template.digestResourceName() == null) {
+            throw new IllegalArgumentException("Mail template " + template + " has no digest variant");
+        }
+        save(template, recipient, model, digestKey, LocalDateTime.now().plusSeconds(digestWindowSeconds));
+    }
+
+    private void save(MailTemplate template, String recipient, Map<String, ?> model, String digestKey,
+                      LocalDateTime sendAt) {
+        if (!enabled) {
+            log.debug("Mail queue disabled, not sending {} to {}", template, recipient);
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(model);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Mail model for " + template + " is not serializable", e);
+        }
+        mailQueueRepository.save(MailQueueEntry.builder()
+                .recipient(recipient)
+                .template(template.name())
+                .model(json)
+                .digestKey(digestKey)
+                .nextAttemptAt(sendAt)
+                .build());
+    }
+}
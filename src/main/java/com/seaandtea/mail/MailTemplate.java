@@ -0,0 +1,34 @@
+package com.seaandtea.mail;
+
+/**
+ * Plain-text email templates under {@code classpath:mail/}. Each file starts with a
+ * {@code Subject:} line, then a blank line and the body; {@code {{name}}} placeholders are filled
+ * from the model. Templates with a digest variant are coalesced per digest key: when several are
+ * queued for the same key, one email is rendered from the digest template instead.
+ */
+public enum MailTemplate {
+
+    BOOKING_CONFIRMATION("booking-confirmation", null),
+    REVIEW_PROMPT("review-prompt", null),
+    NEW_MESSAGE("new-message", "new-messages-digest");
+
+    private final String resourceName;
+    private final String digestResourceName;
+
+    MailTemplate(String resourceName, String digestResourceName) {
+        this.resourceName = resourceName;
+        this.digestResourceName = digestResourceName;
+    }
+
+    public String resourceName() {
+        return resourceName;
+    }
+
+    /**
+     * Template used when more than one entry shares a digest key, or null when this template is
+     * always sent one email per entry
+     */
+    public String digestResourceName() {
+        return digestResourceName;
+    }
+}
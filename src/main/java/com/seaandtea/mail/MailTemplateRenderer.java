@@ -0,0 +1,60 @@
+package com.seaandtea.mail;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Renders the {@link MailTemplate} files. Templates are read once and kept; a placeholder missing
+ * from the model renders as an empty string.
+ */
+@Component
+public class MailTemplateRenderer {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{\\s*([\\w.]+)\\s*}}");
+    private static final String SUBJECT_PREFIX = "Subject:";
+
+    public record RenderedMail(String subject, String body) {
+    }
+
+    private final Map<String, String> templates = new ConcurrentHashMap<>();
+
+    public RenderedMail render(String resourceName, Map<String, ?> model) {
+        String template = templates.computeIfAbsent(resourceName, MailTemplateRenderer::load);
+        int bodyStart = template.indexOf("\n\n");
+        String header = bodyStart < 0 ? template : template.substring(0, bodyStart);
+        if (!header.startsWith(SUBJECT_PREFIX)) {
+            throw new IllegalStateException("Mail template " + resourceName + " must start with a Subject: line");
+        }
+        String subject = fill(header.substring(SUBJECT_PREFIX.length()).trim(), model);
+        String body = bodyStart < 0 ? "" : fill(template.substring(bodyStart + 2), model);
+        return new RenderedMail(subject, body);
+    }
+
+    private static String fill(String text, Map<String, ?> model) {
+        Matcher matcher = PLACEHOLDER.matcher(text);
+        StringBuilder out = new StringBuilder();
+        while (matcher.find()) {
+            Object value = model.get(matcher.group(1));
+            matcher.appendReplacement(out, Matcher.quoteReplacement(value != null ? value.toString() : ""));
+        }
+        matcher.appendTail(out);
+        return out.toString();
+    }
+
+    private static String load(String resourceName) {
+        try (InputStream in = new ClassPathResource("mail/" + resourceName + ".txt").getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).replace("\r\n", "\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Mail template " + resourceName + " not found", e);
+        }
+    }
+}
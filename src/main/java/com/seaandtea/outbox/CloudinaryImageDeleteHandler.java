@@ -0,0 +1,49 @@
+package com.seaandtea.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seaandtea.service.FileUploadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Removes an image from Cloudinary after the row that referenced it has been deleted. Deleting an
+ * image that is already gone is reported as "not found" and treated as done.
+ */
+@Component
+@RequiredArgsConstructor
+public class CloudinaryImageDeleteHandler implements OutboxHandler {
+
+    public static final String TYPE = "cloudinary.image.delete";
+
+    private final FileUploadService fileUploadService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${outbox.cloudinary-delete.concurrency:2}")
+    private int concurrency;
+
+    public static Map<String, String> payload(String imageUrl) {
+        return Map.of("imageUrl", imageUrl);
+    }
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public int maxConcurrency() {
+        return concurrency;
+    }
+
+    @Override
+    public void handle(String payload) throws Exception {
+        String imageUrl = objectMapper.readTree(payload).path("imageUrl").asText("");
+        if (imageUrl.isBlank()) {
+            throw new IllegalArgumentException("Missing imageUrl in " + payload);
+        }
+        fileUploadService.deleteImage(imageUrl);
+    }
+}
@@ -0,0 +1,210 @@
+package com.seaandtea.outbox;
+
+import com.seaandtea.entity.OutboxEvent;
+import com.seaandtea.repository.OutboxEventRepository;
+import com.seaandtea.util.Backoff;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls the outbox and hands due events to their {@link OutboxHandler} on a private pool, outside
+ * any database transaction, so a slow Cloudinary, SMTP or Stripe call never holds one of the few
+ * pooled connections. Each batch is leased to this instance for {@code outbox.lease-seconds};
+ * events of one type run at most {@link OutboxHandler#maxConcurrency()} at a time.
+ *
+ * A handled event is deleted. A failed one is retried with exponential backoff, and after
+ * {@code outbox.max-attempts} it is marked {@code DEAD} and left for an operator. An event of a type
+ * this instance has no handler for, e.g. one added by a newer version during a rolling deploy, is
+ * handed back without counting an attempt. Outcomes are counted in {@code seaandtea.outbox.events}
+ * by type.
+ *
+ * A poll drains at most {@code outbox.max-batches-per-poll} full batches, so a backlog does not keep
+ * a scheduler thread from the other background jobs for long.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository repository;
+    private final List<OutboxHandler> handlers;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${outbox.max-batches-per-poll:10}")
+    private int maxBatchesPerPoll;
+
+    @Value("${outbox.threads:4}")
+    private int threads;
+
+    @Value("${outbox.lease-seconds:120}")
+    private long leaseSeconds;
+
+    @Value("${outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${outbox.backoff.initial-ms:5000}")
+    private long initialBackoffMs;
+
+    @Value("${outbox.backoff.max-ms:3600000}")
+    private long maxBackoffMs;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<String, OutboxHandler> handlersByType = new HashMap<>();
+    private final Map<String, Semaphore> permits = new HashMap<>();
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void init() {
+        for (OutboxHandler handler : handlers) {
+            if (handlersByType.putIfAbsent(handler.type(), handler) != null) {
+                throw new IllegalStateException("Two outbox handlers for type " + handler.type());
+            }
+            permits.put(handler.type(), new Semaphore(Math.max(1, handler.maxConcurrency())));
+        }
+        // Never more queued than one batch, since the poller waits for each batch to finish
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("outbox-"));
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Scheduled(initialDelayString = "${outbox.initial-delay-ms:10000}",
+            fixedDelayString = "${outbox.poll-interval-ms:2000}")
+    public void poll() {
+        // Keep going while batches come back full so a backlog drains without waiting for the next tick
+        for (int batch = 1; dispatchBatch() == batchSize && !Thread.currentThread().isInterrupted(); batch++) {
+            if (batch >= maxBatchesPerPoll) {
+                log.debug("Outbox backlog left after {} batches, continuing next poll", batch);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Leases and handles one batch of due events; returns how many were leased
+     */
+    int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> dueIds = repository.findDueIds(now, PageRequest.of(0, batchSize));
+        if (dueIds.isEmpty() || repository.lease(dueIds, instanceId, now, now.plusSeconds(leaseSeconds)) == 0) {
+            return 0;
+        }
+        List<OutboxEvent> events = repository.findLeased(dueIds, instanceId);
+
+        List<Future<?>> running = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            OutboxHandler handler = handlersByType.get(event.getType());
+            if (handler == null) {
+                release(event);
+                continue;
+            }
+            Semaphore permit = permits.get(event.getType());
+            permit.acquireUninterruptibly();
+            try {
+                running.add(executor.submit(() -> {
+                    try {
+                        handle(event, handler);
+                    } finally {
+                        permit.release();
+                    }
+                }));
+            } catch (RuntimeException e) {
+                permit.release();
+                throw e;
+            }
+        }
+        for (Future<?> task : running) {
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                log.error("Outbox task failed unexpectedly", e.getCause());
+            }
+        }
+        return events.size();
+    }
+
+    private void handle(OutboxEvent event, OutboxHandler handler) {
+        try {
+            handler.handle(event.getPayload());
+        } catch (Exception e) {
+            String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            fail(event, error, event.getAttempts() + 1 >= maxAttempts);
+            return;
+        }
+        repository.deleteHandled(event.getId(), instanceId);
+        count(event.getType(), "success");
+    }
+
+    private void release(OutboxEvent event) {
+        LocalDateTime nextAttemptAt = LocalDateTime.now().plus(initialBackoffMs, ChronoUnit.MILLIS);
+        repository.release(event.getId(), instanceId, nextAttemptAt, "No handler for outbox event type " + event.getType());
+        log.warn("No handler for outbox event {} of type {}, leaving it for another instance", event.getId(),
+                event.getType());
+        count(event.getType(), "unhandled");
+    }
+
+    private void fail(OutboxEvent event, String error, boolean dead) {
+        String truncated = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        if (dead) {
+            repository.markDead(event.getId(), instanceId, truncated);
+            log.error("Outbox event {} ({}) is dead after {} attempts: {}", event.getId(), event.getType(),
+                    event.getAttempts() + 1, truncated);
+            count(event.getType(), "dead");
+            return;
+        }
+        int attempt = event.getAttempts() + 1;
+        LocalDateTime nextAttemptAt = LocalDateTime.now().plus(Backoff.exponential(attempt, initialBackoffMs, maxBackoffMs),
+                ChronoUnit.MILLIS);
+        repository.scheduleRetry(event.getId(), instanceId, nextAttemptAt, truncated);
+        log.warn("Outbox event {} ({}) failed attempt {}, retrying at {}: {}", event.getId(), event.getType(),
+                attempt, nextAttemptAt, truncated);
+        count(event.getType(), "retry");
+    }
+
+    private void count(String type, String outcome) {
+        Counter.builder("seaandtea.outbox.events")
+                .description("Outbox events by handling outcome")
+                .tag("type", type)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
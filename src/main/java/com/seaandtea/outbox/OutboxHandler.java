@@ -0,0 +1,23 @@
+package com.seaandtea.outbox;
+
+/**
+ * Carries out one type of outbox event. Delivery is at least once: an event can be handled again
+ * after a crash or an expired lease, so handlers must be idempotent. Throwing schedules a retry
+ * with backoff until {@code outbox.max-attempts}, after which the event is left as dead.
+ */
+public interface OutboxHandler {
+
+    /**
+     * Event type this handler consumes, as passed to {@link OutboxPublisher#publish}
+     */
+    String type();
+
+    void handle(String payload) throws Exception;
+
+    /**
+     * Events of this type handled at the same time, across one dispatcher instance
+     */
+    default int maxConcurrency() {
+        return 1;
+    }
+}
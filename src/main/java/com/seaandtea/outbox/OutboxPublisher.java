@@ -0,0 +1,37 @@
+package com.seaandtea.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seaandtea.entity.OutboxEvent;
+import com.seaandtea.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records a side effect in the caller's transaction, so it happens if and only if the business
+ * change commits, and runs later on the {@link OutboxDispatcher} instead of inside the transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxPublisher {
+
+    private final OutboxEventRepository repository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param type    an {@link OutboxHandler#type()}
+     * @param payload serialized to JSON for the handler
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(String type, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Outbox payload for " + type + " is not serializable", e);
+        }
+        repository.save(OutboxEvent.builder().type(type).payload(json).build());
+    }
+}
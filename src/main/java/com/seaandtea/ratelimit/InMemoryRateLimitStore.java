@@ -0,0 +1,111 @@
+package com.seaandtea.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Buckets in a local map. Updates lock one of a fixed set of stripes chosen by key hash, so
+ * unrelated clients rarely contend and no lock is allocated per key. Once the map grows past
+ * {@code rate-limit.memory.max-keys}, buckets that have refilled completely are dropped, since
+ * recreating them gives the same result.
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private static final int STRIPES = 64;
+
+    private final Object[] locks = new Object[STRIPES];
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final LongSupplier clockMillis;
+
+    @Value("${rate-limit.memory.max-keys:100000}")
+    private int maxKeys;
+
+    private static final class Bucket {
+        private final RateLimitPolicy policy;
+        private double tokens;
+        private long updatedAt;
+
+        Bucket(RateLimitPolicy policy, long now) {
+            this.policy = policy;
+            this.tokens = policy.capacity();
+            this.updatedAt = now;
+        }
+
+        void refill(long now) {
+            tokens = Math.min(policy.capacity(), tokens + (now - updatedAt) * policy.refillPerMilli());
+            updatedAt = now;
+        }
+
+        boolean isFullAt(long now) {
+            return tokens + (now - updatedAt) * policy.refillPerMilli() >= policy.capacity();
+        }
+    }
+
+    public InMemoryRateLimitStore() {
+        this(() -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime()));
+    }
+
+    InMemoryRateLimitStore(LongSupplier clockMillis) {
+        this.clockMillis = clockMillis;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @Override
+    public RateLimitDecision tryConsume(String key, RateLimitPolicy policy) {
+        long now = clockMillis.getAsLong();
+        RateLimitDecision decision;
+        synchronized (lockFor(key)) {
+            Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(policy, now));
+            bucket.refill(now);
+            boolean allowed = bucket.tokens >= 1;
+            if (allowed) {
+                bucket.tokens -= 1;
+            }
+            long retryAfter = allowed ? 0 : (long) Math.ceil((1 - bucket.tokens) / policy.refillPerMilli());
+            long reset = (long) Math.ceil((policy.capacity() - bucket.tokens) / policy.refillPerMilli());
+            decision = new RateLimitDecision(allowed, (long) bucket.tokens, retryAfter, reset);
+        }
+        if (buckets.size() > maxKeys) {
+            evictFullBuckets(now);
+        }
+        return decision;
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private void evictFullBuckets(long now) {
+        // One sweep at a time; other callers carry on rather than queue behind it
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            for (Map.Entry<String, Bucket> entry : buckets.entrySet()) {
+                synchronized (lockFor(entry.getKey())) {
+                    if (entry.getValue().isFullAt(now)) {
+                        buckets.remove(entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private Object lockFor(String key) {
+        return locks[Math.floorMod(key.hashCode(), STRIPES)];
+    }
+}
@@ -0,0 +1,8 @@
+package com.seaandtea.ratelimit;
+
+/**
+ * Outcome of taking one token: whether the request may proceed, the whole tokens left, how long
+ * until the next token ({@code retryAfterMillis}, zero when allowed) and until the bucket is full again
+ */
+public record RateLimitDecision(boolean allowed, long remaining, long retryAfterMillis, long resetMillis) {
+}
@@ -0,0 +1,18 @@
+package com.seaandtea.ratelimit;
+
+/**
+ * Token bucket settings: up to {@code capacity} requests in a burst, refilled continuously at
+ * {@code refillPerMinute}
+ */
+public record RateLimitPolicy(String name, long capacity, double refillPerMinute) {
+
+    public RateLimitPolicy {
+        if (capacity < 1 || refillPerMinute <= 0) {
+            throw new IllegalArgumentException("Rate limit policy " + name + " needs a positive capacity and refill rate");
+        }
+    }
+
+    double refillPerMilli() {
+        return refillPerMinute / 60_000;
+    }
+}
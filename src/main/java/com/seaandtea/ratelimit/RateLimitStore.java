@@ -0,0 +1,13 @@
+package com.seaandtea.ratelimit;
+
+/**
+ * Holds the token buckets. {@link InMemoryRateLimitStore} limits each instance separately;
+ * {@link RedisRateLimitStore} shares buckets between instances. Selected with {@code rate-limit.store}.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Refills the bucket for {@code key} and takes one token from it if available
+     */
+    RateLimitDecision tryConsume(String key, RateLimitPolicy policy);
+}
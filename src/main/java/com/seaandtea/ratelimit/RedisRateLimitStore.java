@@ -0,0 +1,61 @@
+package com.seaandtea.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Buckets shared by all instances in Redis ({@code spring.data.redis.*}). Refill and take run in a
+ * single Lua script using the Redis clock, so concurrent requests on different nodes can't both
+ * take the last token and node clock skew doesn't matter. Keys expire once the bucket would be full.
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.store", havingValue = "redis")
+@RequiredArgsConstructor
+public class RedisRateLimitStore implements RateLimitStore {
+
+    private static final String KEY_PREFIX = "seaandtea:ratelimit:";
+
+    private static final RedisScript<List> TOKEN_BUCKET = RedisScript.of("""
+            local capacity = tonumber(ARGV[1])
+            local rate = tonumber(ARGV[2])
+            local clock = redis.call('TIME')
+            local now = tonumber(clock[1]) * 1000 + math.floor(tonumber(clock[2]) / 1000)
+            local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'updated')
+            local tokens = tonumber(bucket[1]) or capacity
+            local updated = tonumber(bucket[2]) or now
+            tokens = math.min(capacity, tokens + math.max(0, now - updated) * rate)
+            local allowed = 0
+            local retry = 0
+            if tokens >= 1 then
+              tokens = tokens - 1
+              allowed = 1
+            else
+              retry = math.ceil((1 - tokens) / rate)
+            end
+            local reset = math.ceil((capacity - tokens) / rate)
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'updated', tostring(now))
+            redis.call('PEXPIRE', KEYS[1], reset + 1000)
+            return {allowed, math.floor(tokens), retry, reset}
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public RateLimitDecision tryConsume(String key, RateLimitPolicy policy) {
+        List<?> result = redisTemplate.execute(TOKEN_BUCKET, List.of(KEY_PREFIX + key),
+                String.valueOf(policy.capacity()), String.valueOf(policy.refillPerMilli()));
+        if (result == null || result.size() != 4) {
+            throw new IllegalStateException("Unexpected rate limit script result: " + result);
+        }
+        return new RateLimitDecision(
+                ((Number) result.get(0)).longValue() == 1,
+                ((Number) result.get(1)).longValue(),
+                ((Number) result.get(2)).longValue(),
+                ((Number) result.get(3)).longValue());
+    }
+}
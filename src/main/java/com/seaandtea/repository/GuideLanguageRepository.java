@@ -2,8 +2,11 @@ package com.seaandtea.repository;
 
 import com.seaandtea.entity.GuideLanguage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -14,6 +17,12 @@ public interface GuideLanguageRepository extends JpaRepository<GuideLanguage, Lo
      */
     List<GuideLanguage> findByGuideId(Long guideId);
     
+    /**
+     * Find all languages for a set of guides in one query (batch loading for guide lists)
+     */
+    @Query("SELECT l FROM GuideLanguage l WHERE l.guide.id IN :guideIds ORDER BY l.id")
+    List<GuideLanguage> findByGuideIdIn(@Param("guideIds") Collection<Long> guideIds);
+    
     /**
      * Delete all languages for a specific guide
      */
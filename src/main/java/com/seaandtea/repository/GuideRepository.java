@@ -3,6 +3,8 @@ package com.seaandtea.repository;
 import com.seaandtea.entity.Guide;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -33,13 +35,42 @@ public interface GuideRepository extends JpaRepository<Guide, Long> {
                              Pageable pageable);
     
     /**
-     * Find guides by verification status
+     * Find guides by verification status with pagination, user loaded in the same query
      */
-    List<Guide> findByVerificationStatus(Guide.VerificationStatus verificationStatus);
+    @EntityGraph(attributePaths = "user")
+    Page<Guide> findByVerificationStatus(Guide.VerificationStatus verificationStatus, Pageable pageable);
     
     /**
-     * Find guides by verification status with pagination
+     * Find all guides with pagination, user loaded in the same query
      */
-    Page<Guide> findByVerificationStatus(Guide.VerificationStatus verificationStatus, Pageable pageable);
+    @EntityGraph(attributePaths = "user")
+    @Query("SELECT g FROM Guide g")
+    Page<Guide> findAllWithUser(Pageable pageable);
+    
+    /**
+     * Find every guide with a verification status, user loaded in the same query
+     */
+    @EntityGraph(attributePaths = "user")
+    List<Guide> findByVerificationStatus(Guide.VerificationStatus verificationStatus, Sort sort);
+    
+    /**
+     * Find every guide, user loaded in the same query
+     */
+    @EntityGraph(attributePaths = "user")
+    @Query("SELECT g FROM Guide g")
+    List<Guide> findAllWithUser(Sort sort);
+    
+    /**
+     * Everything the guide profile response depends on, for its ETag. Specialties and languages are
+     * replaced rather than edited, so their count and highest id change on every update. Reviews are
+     * folded in the same way the tour version does, so the rating shown never lags a new or removed review.
+     */
+    @Query("SELECT g.updatedAt, u.updatedAt, " +
+           "(SELECT COUNT(s) FROM GuideSpecialty s WHERE s.guide = g), (SELECT MAX(s2.id) FROM GuideSpecialty s2 WHERE s2.guide = g), " +
+           "(SELECT COUNT(l) FROM GuideLanguage l WHERE l.guide = g), (SELECT MAX(l2.id) FROM GuideLanguage l2 WHERE l2.guide = g), " +
+           "(SELECT COUNT(r) FROM Review r WHERE r.guide = g), (SELECT MAX(r2.id) FROM Review r2 WHERE r2.guide = g), " +
+           "(SELECT SUM(r3.rating) FROM Review r3 WHERE r3.guide = g) " +
+           "FROM Guide g JOIN g.user u WHERE g.id = :id")
+    List<Object[]> findVersionRowById(@Param("id") Long id);
 }
 
@@ -2,8 +2,11 @@ package com.seaandtea.repository;
 
 import com.seaandtea.entity.GuideSpecialty;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -14,6 +17,12 @@ public interface GuideSpecialtyRepository extends JpaRepository<GuideSpecialty,
      */
     List<GuideSpecialty> findByGuideId(Long guideId);
     
+    /**
+     * Find all specialties for a set of guides in one query (batch loading for guide lists)
+     */
+    @Query("SELECT s FROM GuideSpecialty s WHERE s.guide.id IN :guideIds ORDER BY s.id")
+    List<GuideSpecialty> findByGuideIdIn(@Param("guideIds") Collection<Long> guideIds);
+    
     /**
      * Delete all specialties for a specific guide
      */
@@ -0,0 +1,75 @@
+package com.seaandtea.repository;
+
+import com.seaandtea.entity.MailQueueEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MailQueueRepository extends JpaRepository<MailQueueEntry, Long> {
+
+    /** Oldest pending entries that are due and not leased by a live dispatcher. */
+    @Query("SELECT m.id FROM MailQueueEntry m WHERE m.status = com.seaandtea.entity.MailQueueEntry.Status.PENDING " +
+           "AND m.nextAttemptAt <= :now AND (m.lockedUntil IS NULL OR m.lockedUntil < :now) ORDER BY m.id")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /** Leases the given entries to {@code owner}; the lease condition is re-checked so only one instance wins. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE MailQueueEntry m SET m.lockedBy = :owner, m.lockedUntil = :until " +
+           "WHERE m.id IN :ids AND m.status = com.seaandtea.entity.MailQueueEntry.Status.PENDING " +
+           "AND (m.lockedUntil IS NULL OR m.lockedUntil < :now)")
+    int lease(@Param("ids") Collection<Long> ids, @Param("owner") String owner,
+              @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    /**
+     * Also leases pending entries of the same digests that are not due yet, so they go out in the
+     * digest being sent now rather than as a second email shortly after.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE MailQueueEntry m SET m.lockedBy = :owner, m.lockedUntil = :until " +
+           "WHERE m.digestKey IN :digestKeys AND m.status = com.seaandtea.entity.MailQueueEntry.Status.PENDING " +
+           "AND (m.lockedUntil IS NULL OR m.lockedUntil < :now)")
+    int leaseDigests(@Param("digestKeys") Collection<String> digestKeys, @Param("owner") String owner,
+                     @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    @Query("SELECT m FROM MailQueueEntry m WHERE m.lockedBy = :owner " +
+           "AND m.status = com.seaandtea.entity.MailQueueEntry.Status.PENDING ORDER BY m.id")
+    List<MailQueueEntry> findLeased(@Param("owner") String owner);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM MailQueueEntry m WHERE m.id IN :ids AND m.lockedBy = :owner")
+    int deleteSent(@Param("ids") Collection<Long> ids, @Param("owner") String owner);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE MailQueueEntry m SET m.attempts = m.attempts + 1, m.nextAttemptAt = :nextAttemptAt, " +
+           "m.lastError = :error, m.lockedBy = NULL, m.lockedUntil = NULL WHERE m.id IN :ids AND m.lockedBy = :owner")
+    int scheduleRetry(@Param("ids") Collection<Long> ids, @Param("owner") String owner,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE MailQueueEntry m SET m.attempts = m.attempts + 1, " +
+           "m.status = com.seaandtea.entity.MailQueueEntry.Status.DEAD, m.lastError = :error, " +
+           "m.lockedBy = NULL, m.lockedUntil = NULL WHERE m.id IN :ids AND m.lockedBy = :owner")
+    int markDead(@Param("ids") Collection<Long> ids, @Param("owner") String owner, @Param("error") String error);
+
+    /** Hands leased entries back untouched, e.g. when the send rate limit is used up. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE MailQueueEntry m SET m.nextAttemptAt = :nextAttemptAt, m.lockedBy = NULL, m.lockedUntil = NULL " +
+           "WHERE m.id IN :ids AND m.lockedBy = :owner")
+    int release(@Param("ids") Collection<Long> ids, @Param("owner") String owner,
+                @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+}
@@ -1,20 +1,28 @@
 package com.seaandtea.repository;
 
 import com.seaandtea.entity.NewsPostComment;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Repository
 public interface NewsPostCommentRepository extends JpaRepository<NewsPostComment, Long> {
 
-    @Query(value = "SELECT c FROM NewsPostComment c JOIN FETCH c.user WHERE c.post.id = :postId ORDER BY c.createdAt ASC",
-           countQuery = "SELECT COUNT(c) FROM NewsPostComment c WHERE c.post.id = :postId")
-    Page<NewsPostComment> findByPostIdOrderByCreatedAtAsc(@Param("postId") Long postId, Pageable pageable);
+    /** First comments of a post, oldest first, with their authors; the pageable only limits the rows. */
+    @Query("SELECT c FROM NewsPostComment c JOIN FETCH c.user WHERE c.post.id = :postId ORDER BY c.createdAt ASC, c.id ASC")
+    List<NewsPostComment> findFirstByPostId(@Param("postId") Long postId, Pageable pageable);
+
+    /** Comments after the keyset position {@code (createdAt, id)}, served by idx_news_post_comments_post_created. */
+    @Query("SELECT c FROM NewsPostComment c JOIN FETCH c.user WHERE c.post.id = :postId "
+            + "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) "
+            + "ORDER BY c.createdAt ASC, c.id ASC")
+    List<NewsPostComment> findByPostIdAfter(@Param("postId") Long postId, @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") Long id, Pageable pageable);
 
     long countByPostId(Long postId);
 
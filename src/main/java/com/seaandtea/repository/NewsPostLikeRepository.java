@@ -2,21 +2,39 @@ package com.seaandtea.repository;
 
 import com.seaandtea.entity.NewsPostLike;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface NewsPostLikeRepository extends JpaRepository<NewsPostLike, Long> {
 
     boolean existsByPostIdAndUserId(Long postId, Long userId);
 
-    Optional<NewsPostLike> findByPostIdAndUserId(Long postId, Long userId);
-
     long countByPostId(Long postId);
 
-    @org.springframework.data.jpa.repository.Modifying
+    /** Which of the given posts the user has liked, in one query for a whole page. */
+    @Query("SELECT l.post.id FROM NewsPostLike l WHERE l.user.id = :userId AND l.post.id IN :postIds")
+    List<Long> findLikedPostIds(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
+
+    /**
+     * Inserts the like unless the user already likes the post, as one statement so concurrent
+     * double-taps can't both pass an exists check. Returns 1 when a row was added, 0 otherwise.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO news_post_likes (post_id, user_id, created_at) "
+            + "VALUES (:postId, :userId, CURRENT_TIMESTAMP) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("postId") Long postId, @Param("userId") Long userId);
+
+    /** Removes the like if present. Returns the number of rows deleted (0 or 1). */
+    @Modifying
+    @Query("DELETE FROM NewsPostLike l WHERE l.post.id = :postId AND l.user.id = :userId")
+    int deleteByPostIdAndUserIdReturningCount(@Param("postId") Long postId, @Param("userId") Long userId);
+
+    @Modifying
     void deleteByPostId(Long postId);
 }
@@ -1,9 +1,11 @@
 package com.seaandtea.repository;
 
+import com.seaandtea.dto.NewsPostListResponse;
 import com.seaandtea.entity.NewsPost;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -11,12 +13,45 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface NewsPostRepository extends JpaRepository<NewsPost, Long> {
 
-    @Query("SELECT p FROM NewsPost p LEFT JOIN FETCH p.author WHERE p.isPublished = true ORDER BY p.createdAt DESC")
-    Page<NewsPost> findPublishedOrderByCreatedAtDesc(Pageable pageable);
+    // Only the columns a list item shows; the body stays in the DB
+    String LIST_ITEM_SELECT_JPQL = "SELECT new com.seaandtea.dto.NewsPostListResponse(" +
+            "p.id, p.title, p.summary, a.id, CONCAT(a.firstName, ' ', a.lastName), " +
+            "p.isPublished, p.createdAt, p.likeCount, p.commentCount) " +
+            "FROM NewsPost p JOIN p.author a ";
 
-    @Query("SELECT p FROM NewsPost p LEFT JOIN FETCH p.author ORDER BY p.createdAt DESC")
-    Page<NewsPost> findAllOrderByCreatedAtDesc(Pageable pageable);
+    @Query(value = LIST_ITEM_SELECT_JPQL + "WHERE p.isPublished = true ORDER BY p.createdAt DESC",
+           countQuery = "SELECT COUNT(p) FROM NewsPost p WHERE p.isPublished = true")
+    Page<NewsPostListResponse> findPublishedListItems(Pageable pageable);
+
+    @Query(value = LIST_ITEM_SELECT_JPQL + "ORDER BY p.createdAt DESC",
+           countQuery = "SELECT COUNT(p) FROM NewsPost p")
+    Page<NewsPostListResponse> findAllListItems(Pageable pageable);
 
     @Query("SELECT p FROM NewsPost p LEFT JOIN FETCH p.author WHERE p.id = :id")
     java.util.Optional<NewsPost> findByIdWithAuthor(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE NewsPost p SET p.likeCount = p.likeCount + :delta WHERE p.id = :id AND p.likeCount + :delta >= 0")
+    int incrementLikeCount(@Param("id") Long id, @Param("delta") long delta);
+
+    @Modifying
+    @Query("UPDATE NewsPost p SET p.commentCount = p.commentCount + :delta WHERE p.id = :id AND p.commentCount + :delta >= 0")
+    int incrementCommentCount(@Param("id") Long id, @Param("delta") long delta);
+
+    /** Resets both counters from the like and comment tables where they have drifted; returns the posts fixed. */
+    @Modifying
+    @Query(value = "UPDATE news_posts SET " +
+            "like_count = (SELECT COUNT(*) FROM news_post_likes l WHERE l.post_id = news_posts.id), " +
+            "comment_count = (SELECT COUNT(*) FROM news_post_comments c WHERE c.post_id = news_posts.id) " +
+            "WHERE like_count <> (SELECT COUNT(*) FROM news_post_likes l WHERE l.post_id = news_posts.id) " +
+            "OR comment_count <> (SELECT COUNT(*) FROM news_post_comments c WHERE c.post_id = news_posts.id)",
+            nativeQuery = true)
+    int reconcileCounters();
+
+    /** Fills in summaries for posts written before the column existed; returns the posts updated. */
+    @Modifying
+    @Query("UPDATE NewsPost p SET p.summary = CASE WHEN LENGTH(p.body) > " + NewsPost.SUMMARY_MAX_LENGTH +
+            " THEN CONCAT(SUBSTRING(p.body, 1, " + NewsPost.SUMMARY_MAX_LENGTH + "), '...') ELSE p.body END " +
+            "WHERE p.summary IS NULL")
+    int backfillSummaries();
 }
@@ -0,0 +1,65 @@
+package com.seaandtea.repository;
+
+import com.seaandtea.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /** Oldest pending events that are due and not leased by a live dispatcher. */
+    @Query("SELECT e.id FROM OutboxEvent e WHERE e.status = com.seaandtea.entity.OutboxEvent.Status.PENDING " +
+           "AND e.nextAttemptAt <= :now AND (e.lockedUntil IS NULL OR e.lockedUntil < :now) ORDER BY e.id")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Leases the given events to {@code owner}. The lease condition is re-checked on update, so when
+     * two instances race for the same event only one of them gets it.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxEvent e SET e.lockedBy = :owner, e.lockedUntil = :until " +
+           "WHERE e.id IN :ids AND e.status = com.seaandtea.entity.OutboxEvent.Status.PENDING " +
+           "AND (e.lockedUntil IS NULL OR e.lockedUntil < :now)")
+    int lease(@Param("ids") Collection<Long> ids, @Param("owner") String owner,
+              @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    @Query("SELECT e FROM OutboxEvent e WHERE e.id IN :ids AND e.lockedBy = :owner ORDER BY e.id")
+    List<OutboxEvent> findLeased(@Param("ids") Collection<Long> ids, @Param("owner") String owner);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OutboxEvent e WHERE e.id = :id AND e.lockedBy = :owner")
+    int deleteHandled(@Param("id") Long id, @Param("owner") String owner);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.nextAttemptAt = :nextAttemptAt, " +
+           "e.lastError = :error, e.lockedBy = NULL, e.lockedUntil = NULL WHERE e.id = :id AND e.lockedBy = :owner")
+    int scheduleRetry(@Param("id") Long id, @Param("owner") String owner,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+
+    /** Hands an event back untouched, without counting an attempt, e.g. when this version has no handler for it. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxEvent e SET e.nextAttemptAt = :nextAttemptAt, e.lastError = :error, " +
+           "e.lockedBy = NULL, e.lockedUntil = NULL WHERE e.id = :id AND e.lockedBy = :owner")
+    int release(@Param("id") Long id, @Param("owner") String owner,
+                @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, " +
+           "e.status = com.seaandtea.entity.OutboxEvent.Status.DEAD, e.lastError = :error, " +
+           "e.lockedBy = NULL, e.lockedUntil = NULL WHERE e.id = :id AND e.lockedBy = :owner")
+    int markDead(@Param("id") Long id, @Param("owner") String owner, @Param("error") String error);
+}
@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -29,4 +30,14 @@ public interface ProductRepository extends JpaRepository<Product, Long>, Product
 
     @Query("SELECT p FROM Product p WHERE p.isActive = true AND p.category = :category")
     Page<Product> findActiveByCategory(@Param("category") ProductCategory category, Pageable pageable);
+
+    /**
+     * Everything the product detail response depends on, for its ETag; no row when the product is not active.
+     * The image count and highest id cover added and removed images. Images have no timestamp of their own,
+     * so in-place edits (primary flag, sort order, alt text) bump the product's updatedAt instead.
+     */
+    @Query("SELECT p.updatedAt, " +
+           "(SELECT COUNT(i) FROM ProductImage i WHERE i.product = p), (SELECT MAX(i2.id) FROM ProductImage i2 WHERE i2.product = p) " +
+           "FROM Product p WHERE p.id = :id AND p.isActive = true")
+    List<Object[]> findActiveVersionRowById(@Param("id") Long id);
 }
@@ -14,16 +14,12 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TourRepository extends JpaRepository<Tour, Long> {
+public interface TourRepository extends JpaRepository<Tour, Long>, TourRepositoryCustom {
     
     // Find tours by guide
     @Query("SELECT t FROM Tour t WHERE t.guide.id = :guideId AND t.isActive = true")
     List<Tour> findActiveByGuideId(@Param("guideId") Long guideId);
     
-    // Find tours by category
-    @Query("SELECT t FROM Tour t WHERE t.category = :category AND t.isActive = true")
-    Page<Tour> findActiveByCategoryOrderByCreatedAtDesc(@Param("category") TourCategory category, Pageable pageable);
-    
     // Search tours by title or description
     @Query("SELECT t FROM Tour t WHERE t.isActive = true AND " +
            "(LOWER(t.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
@@ -48,30 +44,6 @@ public interface TourRepository extends JpaRepository<Tour, Long> {
         Pageable pageable
     );
     
-    // Find tours with filters
-    @Query("SELECT t FROM Tour t WHERE t.isActive = true " +
-           "AND (:category IS NULL OR t.category = :category) " +
-           "AND (:minPrice IS NULL OR t.pricePerPerson >= :minPrice) " +
-           "AND (:maxPrice IS NULL OR t.pricePerPerson <= :maxPrice) " +
-           "AND (:minDuration IS NULL OR t.durationHours >= :minDuration) " +
-           "AND (:maxDuration IS NULL OR t.durationHours <= :maxDuration) " +
-           "AND (:searchTerm IS NULL OR " +
-           "     LOWER(t.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "     LOWER(t.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
-    Page<Tour> findActiveToursWithFilters(
-        @Param("category") TourCategory category,
-        @Param("minPrice") BigDecimal minPrice,
-        @Param("maxPrice") BigDecimal maxPrice,
-        @Param("minDuration") Integer minDuration,
-        @Param("maxDuration") Integer maxDuration,
-        @Param("searchTerm") String searchTerm,
-        Pageable pageable
-    );
-    
-    // Find active tours with their images
-    @Query("SELECT DISTINCT t FROM Tour t LEFT JOIN FETCH t.images WHERE t.isActive = true")
-    Page<Tour> findActiveToursWithImages(Pageable pageable);
-    
     // Find tour by id with images
     @Query("SELECT t FROM Tour t LEFT JOIN FETCH t.images WHERE t.id = :id AND t.isActive = true")
     Optional<Tour> findActiveByIdWithImages(@Param("id") Long id);
@@ -95,12 +67,13 @@ public interface TourRepository extends JpaRepository<Tour, Long> {
         Pageable pageable
     );
     
-    // Get popular tours (most booked)
-    @Query("SELECT t FROM Tour t LEFT JOIN Booking b ON t.id = b.tour.id " +
+    // Ids of popular tours (most booked), for TourRepositoryCustom#findActiveTourCardsByIds
+    @Query(value = "SELECT t.id FROM Tour t LEFT JOIN Booking b ON t.id = b.tour.id " +
            "WHERE t.isActive = true " +
            "GROUP BY t.id " +
-           "ORDER BY COUNT(b.id) DESC")
-    Page<Tour> findMostPopularActiveTours(Pageable pageable);
+           "ORDER BY COUNT(b.id) DESC, t.id",
+           countQuery = "SELECT COUNT(t) FROM Tour t WHERE t.isActive = true")
+    Page<Long> findMostPopularActiveTourIds(Pageable pageable);
     
     // Find all tours including inactive (for admin)
     @Query("SELECT t FROM Tour t ORDER BY t.createdAt DESC")
@@ -114,9 +87,44 @@ public interface TourRepository extends JpaRepository<Tour, Long> {
     @Query("SELECT t FROM Tour t WHERE t.isActive = true AND t.guide.verificationStatus = 'VERIFIED' ORDER BY t.createdAt DESC")
     Page<Tour> findActiveToursFromVerifiedGuides(Pageable pageable);
     
-    // Find active tours from verified guides with images
-    @Query("SELECT DISTINCT t FROM Tour t LEFT JOIN FETCH t.images WHERE t.isActive = true AND t.guide.verificationStatus = 'VERIFIED' ORDER BY t.createdAt DESC")
-    Page<Tour> findActiveToursFromVerifiedGuidesWithImages(Pageable pageable);
+    // Facet columns of every active tour: id, category, pricePerPerson, durationHours, instantBooking, languages, highlights
+    @Query("SELECT t.id, t.category, t.pricePerPerson, t.durationHours, t.instantBooking, t.languages, t.highlights " +
+           "FROM Tour t WHERE t.isActive = true")
+    List<Object[]> findActiveFacetRows();
+    
+    // Ids of active tours whose title or description matches a lower-case LIKE pattern
+    @Query("SELECT t.id FROM Tour t WHERE t.isActive = true AND " +
+           "(LOWER(t.title) LIKE :pattern OR LOWER(t.description) LIKE :pattern)")
+    List<Long> findActiveIdsMatching(@Param("pattern") String pattern);
+    
+    // Everything the tour detail response depends on, for its ETag; no row when the tour is not active
+    @Query("SELECT t.updatedAt, g.updatedAt, u.updatedAt, " +
+           "(SELECT COUNT(i) FROM TourImage i WHERE i.tour = t), (SELECT MAX(i2.id) FROM TourImage i2 WHERE i2.tour = t), " +
+           "(SELECT COUNT(r) FROM Review r WHERE r.tour = t), (SELECT SUM(r2.rating) FROM Review r2 WHERE r2.tour = t) " +
+           "FROM Tour t JOIN t.guide g JOIN g.user u WHERE t.id = :id AND t.isActive = true")
+    List<Object[]> findActiveVersionRowById(@Param("id") Long id);
+    
+    // Coordinates of every active tour that has them: id, latitude, longitude
+    @Query("SELECT t.id, t.latitude, t.longitude FROM Tour t " +
+           "WHERE t.isActive = true AND t.latitude IS NOT NULL AND t.longitude IS NOT NULL")
+    List<Object[]> findActiveGeoRows();
+    
+    // Coordinates of a single tour if it is active and has them: id, latitude, longitude
+    @Query("SELECT t.id, t.latitude, t.longitude FROM Tour t " +
+           "WHERE t.id = :id AND t.isActive = true AND t.latitude IS NOT NULL AND t.longitude IS NOT NULL")
+    List<Object[]> findActiveGeoRowById(@Param("id") Long id);
+    
+    // Coordinates of active tours inside a bounding box: id, latitude, longitude
+    @Query("SELECT t.id, t.latitude, t.longitude FROM Tour t WHERE t.isActive = true " +
+           "AND t.latitude BETWEEN :minLatitude AND :maxLatitude " +
+           "AND t.longitude BETWEEN :minLongitude AND :maxLongitude")
+    List<Object[]> findActiveGeoRowsWithin(
+        @Param("minLatitude") Double minLatitude,
+        @Param("maxLatitude") Double maxLatitude,
+        @Param("minLongitude") Double minLongitude,
+        @Param("maxLongitude") Double maxLongitude
+    );
+
 }
 
 
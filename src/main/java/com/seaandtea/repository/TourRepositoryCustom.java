@@ -0,0 +1,34 @@
+package com.seaandtea.repository;
+
+import com.seaandtea.dto.TourFilterRequest;
+import com.seaandtea.dto.TourListResponse;
+import com.seaandtea.entity.Tour;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TourRepositoryCustom {
+
+    /**
+     * Active tours of verified guides with images, guide and guide user loaded. Paginates on tour ids
+     * in SQL first, then fetch-joins only the tours on the requested page.
+     */
+    Page<Tour> findActiveToursFromVerifiedGuidesWithImages(Pageable pageable);
+
+    /**
+     * Tour list cards projected straight from SQL: truncated description, primary image via subquery,
+     * guide name/avatar via join and review stats via correlated subqueries. No entities are hydrated.
+     *
+     * @param filter optional filters; {@code null} or empty fields mean no restriction
+     * @param verifiedGuidesOnly restrict to tours whose guide is verified
+     */
+    Page<TourListResponse> findActiveTourCards(TourFilterRequest filter, boolean verifiedGuidesOnly, Pageable pageable);
+
+    /**
+     * Tour list cards for the given ids, projected the same way as {@link #findActiveTourCards}.
+     * Inactive and unknown ids are skipped; the result is in no particular order.
+     */
+    List<TourListResponse> findActiveTourCardsByIds(Collection<Long> ids);
+}
@@ -0,0 +1,245 @@
+package com.seaandtea.repository;
+
+import com.seaandtea.config.JsonFunctionContributor;
+import com.seaandtea.dto.TourFilterRequest;
+import com.seaandtea.dto.TourListResponse;
+import com.seaandtea.entity.Guide;
+import com.seaandtea.entity.Tour;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Two-phase pagination for tours that need their images. Fetch-joining a collection together with
+ * LIMIT/OFFSET makes Hibernate load every matching row and paginate in memory (HHH90003004), so the
+ * page of ids is selected first and only those tours are loaded with images, guide and user.
+ * List cards skip entities entirely and are projected into {@link TourListResponse}.
+ */
+@Repository
+public class TourRepositoryImpl implements TourRepositoryCustom {
+
+    private static final String ACTIVE_WHERE = " WHERE t.isActive = true";
+    private static final String VERIFIED_GUIDE_WHERE = ACTIVE_WHERE + " AND t.guide.verificationStatus = :verificationStatus";
+
+    private static final String FETCH_BY_IDS_JPQL = "SELECT DISTINCT t FROM Tour t " +
+            "JOIN FETCH t.guide g " +
+            "JOIN FETCH g.user " +
+            "LEFT JOIN FETCH t.images " +
+            "WHERE t.id IN :ids";
+
+    private static final int CARD_DESCRIPTION_LENGTH = 150;
+
+    // Only the columns a list card shows; languages, included/excluded items and the full description stay in the DB
+    private static final String CARD_SELECT_JPQL = "SELECT new com.seaandtea.dto.TourListResponse(" +
+            "t.id, t.title, " +
+            "CASE WHEN LENGTH(t.description) > " + CARD_DESCRIPTION_LENGTH +
+            " THEN CONCAT(SUBSTRING(t.description, 1, " + CARD_DESCRIPTION_LENGTH + "), '...') ELSE t.description END, " +
+            "t.category, t.durationHours, t.maxGroupSize, t.pricePerPerson, t.instantBooking, " +
+            "(SELECT i.imageUrl FROM TourImage i WHERE i.id = COALESCE(" +
+            "(SELECT MIN(pi.id) FROM TourImage pi WHERE pi.tour = t AND pi.isPrimary = true), " +
+            "(SELECT MIN(fi.id) FROM TourImage fi WHERE fi.tour = t))), " +
+            "t.createdAt, CONCAT(u.firstName, ' ', u.lastName), u.profilePictureUrl, g.averageRating, u.isVerified, " +
+            "(SELECT AVG(r.rating) FROM Review r WHERE r.tour = t), " +
+            "(SELECT COUNT(r2) FROM Review r2 WHERE r2.tour = t), " +
+            "t.highlights) " +
+            "FROM Tour t JOIN t.guide g JOIN g.user u";
+
+    private static final Set<String> ALLOWED_SORT_PROPERTIES = Set.of(
+            "id", "title", "category", "durationHours", "maxGroupSize", "pricePerPerson",
+            "instantBooking", "createdAt", "updatedAt");
+
+    private final EntityManager entityManager;
+
+    public TourRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Page<Tour> findActiveToursFromVerifiedGuidesWithImages(Pageable pageable) {
+        return findPageWithImages(VERIFIED_GUIDE_WHERE, true, pageable);
+    }
+
+    @Override
+    public Page<TourListResponse> findActiveTourCards(TourFilterRequest filter, boolean verifiedGuidesOnly,
+                                                      Pageable pageable) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        String whereClause = buildCardWhereClause(filter, verifiedGuidesOnly, params);
+
+        TypedQuery<TourListResponse> query = entityManager.createQuery(
+                CARD_SELECT_JPQL + whereClause + toOrderClause(pageable.getSort()), TourListResponse.class);
+        params.forEach(query::setParameter);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<TourListResponse> content = query.getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            TypedQuery<Long> countQuery = entityManager.createQuery(
+                    "SELECT COUNT(t) FROM Tour t JOIN t.guide g" + whereClause, Long.class);
+            params.forEach(countQuery::setParameter);
+            return countQuery.getSingleResult();
+        });
+    }
+
+    @Override
+    public List<TourListResponse> findActiveTourCardsByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return entityManager.createQuery(CARD_SELECT_JPQL + ACTIVE_WHERE + " AND t.id IN :ids", TourListResponse.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    private static String buildCardWhereClause(TourFilterRequest filter, boolean verifiedGuidesOnly,
+                                               Map<String, Object> params) {
+        StringBuilder where = new StringBuilder(ACTIVE_WHERE);
+        if (verifiedGuidesOnly) {
+            where.append(" AND g.verificationStatus = :verificationStatus");
+            params.put("verificationStatus", Guide.VerificationStatus.VERIFIED);
+        }
+        if (filter == null) {
+            return where.toString();
+        }
+        if (filter.getCategory() != null) {
+            where.append(" AND t.category = :category");
+            params.put("category", filter.getCategory());
+        }
+        if (filter.getMinPrice() != null) {
+            where.append(" AND t.pricePerPerson >= :minPrice");
+            params.put("minPrice", filter.getMinPrice());
+        }
+        if (filter.getMaxPrice() != null) {
+            where.append(" AND t.pricePerPerson <= :maxPrice");
+            params.put("maxPrice", filter.getMaxPrice());
+        }
+        if (filter.getMinDuration() != null) {
+            where.append(" AND t.durationHours >= :minDuration");
+            params.put("minDuration", filter.getMinDuration());
+        }
+        if (filter.getMaxDuration() != null) {
+            where.append(" AND t.durationHours <= :maxDuration");
+            params.put("maxDuration", filter.getMaxDuration());
+        }
+        if (filter.getInstantBooking() != null) {
+            where.append(" AND t.instantBooking = :instantBooking");
+            params.put("instantBooking", filter.getInstantBooking());
+        }
+        if (filter.getSearchTerm() != null && !filter.getSearchTerm().trim().isEmpty()) {
+            where.append(" AND (LOWER(t.title) LIKE :searchPattern OR LOWER(t.description) LIKE :searchPattern)");
+            params.put("searchPattern", "%" + filter.getSearchTerm().trim().toLowerCase() + "%");
+        }
+        // JSON array containment, one predicate per value so that every requested language must be offered.
+        // Case-insensitive, like the language facet counts in TourFacetIndex
+        if (filter.getLanguages() != null) {
+            int index = 0;
+            for (String language : filter.getLanguages()) {
+                if (language == null || language.isBlank()) {
+                    continue;
+                }
+                String param = "language" + index++;
+                appendJsonArrayContains(where, JsonFunctionContributor.JSON_ARRAY_CONTAINS_IGNORE_CASE, "t.languages", param);
+                params.put(param, language.trim());
+            }
+        }
+        if (filter.getHighlightKeyword() != null && !filter.getHighlightKeyword().isBlank()) {
+            appendJsonArrayContains(where, JsonFunctionContributor.JSON_ARRAY_CONTAINS, "t.highlights", "highlight");
+            params.put("highlight", filter.getHighlightKeyword().trim());
+        }
+        return where.toString();
+    }
+
+    private static void appendJsonArrayContains(StringBuilder where, String function, String path, String param) {
+        where.append(" AND ").append(function)
+                .append("(").append(path).append(", :").append(param).append(") = true");
+    }
+
+    private Page<Tour> findPageWithImages(String whereClause, boolean verifiedOnly, Pageable pageable) {
+        TypedQuery<Long> idQuery = entityManager.createQuery(
+                "SELECT t.id FROM Tour t" + whereClause + toOrderClause(pageable.getSort()), Long.class);
+        bindVerificationStatus(idQuery, verifiedOnly);
+        if (pageable.isPaged()) {
+            idQuery.setFirstResult((int) pageable.getOffset());
+            idQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<Long> ids = idQuery.getResultList();
+
+        List<Tour> content = fetchWithImagesInOrder(ids);
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            TypedQuery<Long> countQuery = entityManager.createQuery(
+                    "SELECT COUNT(t) FROM Tour t" + whereClause, Long.class);
+            bindVerificationStatus(countQuery, verifiedOnly);
+            return countQuery.getSingleResult();
+        });
+    }
+
+    private List<Tour> fetchWithImagesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Tour> tours = entityManager.createQuery(FETCH_BY_IDS_JPQL, Tour.class)
+                .setParameter("ids", ids)
+                .getResultList();
+
+        // IN (...) does not preserve the order of the id page
+        Map<Long, Tour> byId = new HashMap<>(tours.size() * 2);
+        for (Tour tour : tours) {
+            byId.put(tour.getId(), tour);
+        }
+        List<Tour> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Tour tour = byId.get(id);
+            if (tour != null) {
+                ordered.add(tour);
+            }
+        }
+        return ordered;
+    }
+
+    private void bindVerificationStatus(TypedQuery<?> query, boolean verifiedOnly) {
+        if (verifiedOnly) {
+            query.setParameter("verificationStatus", Guide.VerificationStatus.VERIFIED);
+        }
+    }
+
+    private static String toOrderClause(Sort sort) {
+        StringBuilder sb = new StringBuilder(" ORDER BY ");
+        boolean first = true;
+        boolean hasId = false;
+        if (sort != null) {
+            for (Sort.Order order : sort) {
+                String property = order.getProperty();
+                if (!ALLOWED_SORT_PROPERTIES.contains(property)) {
+                    continue;
+                }
+                if (!first) sb.append(", ");
+                sb.append("t.").append(property).append(" ").append(order.getDirection().name());
+                hasId |= "id".equals(property);
+                first = false;
+            }
+        }
+        if (first) {
+            sb.append("t.createdAt DESC");
+        }
+        // Tie-breaker so that pages stay stable when many tours share a sort value
+        if (!hasId) {
+            sb.append(", t.id DESC");
+        }
+        return sb.toString();
+    }
+}
@@ -44,6 +44,10 @@ public class JwtService {
         return generateToken(claims, userDetails);
     }
     
+    public long getJwtExpiration() {
+        return jwtExpiration;
+    }
+    
     public boolean isTokenValid(String token, UserDetails userDetails) {
         final String username = extractUsername(token);
         return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
@@ -1,9 +1,18 @@
 package com.seaandtea.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -34,12 +43,46 @@ public class SecurityConfig {
             "https://*.railway.app"
     );
 
+    /**
+     * Prometheus can't follow the rotating refresh flow, so the scrape endpoint takes HTTP basic auth with
+     * a dedicated credential instead of an ADMIN bearer token. Without one configured it stays closed.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain prometheusScrapeFilterChain(
+            HttpSecurity http,
+            @Value("${management.prometheus-scrape.username:}") String username,
+            @Value("${management.prometheus-scrape.password:}") String password) throws Exception {
+        http
+            .securityMatcher("/actuator/prometheus")
+            .csrf(csrf -> csrf.disable())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+        if (username.isBlank() || password.isBlank()) {
+            http.authorizeHttpRequests(auth -> auth.anyRequest().denyAll());
+        } else {
+            DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+            provider.setPasswordEncoder(PasswordEncoderFactories.createDelegatingPasswordEncoder());
+            provider.setUserDetailsService(new InMemoryUserDetailsManager(User.withUsername(username)
+                    .password("{noop}" + password)
+                    .roles("METRICS")
+                    .build()));
+            http
+                .authenticationManager(new ProviderManager(provider))
+                .httpBasic(Customizer.withDefaults())
+                .authorizeHttpRequests(auth -> auth.anyRequest().hasRole("METRICS"));
+        }
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .authorizeHttpRequests(auth -> auth
+                // Metrics reveal traffic, query and pool internals; only health and info are public
+                .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/info").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .anyRequest().permitAll()  // Method-level @PreAuthorize still enforces role checks
             )
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
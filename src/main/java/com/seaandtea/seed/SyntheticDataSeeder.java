@@ -0,0 +1,438 @@
+package com.seaandtea.seed;
+
+import com.seaandtea.entity.Booking;
+import com.seaandtea.entity.Guide;
+import com.seaandtea.entity.GuideLanguage;
+import com.seaandtea.entity.Product;
+import com.seaandtea.entity.Tour;
+import com.seaandtea.entity.User;
+import com.seaandtea.event.CatalogChangedEvent;
+import com.seaandtea.seed.TableLoader.Column;
+import com.seaandtea.seed.TableLoader.Json;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Generates a synthetic dataset of configurable size for load and scale testing and streams it into
+ * the database with {@link TableLoader} (COPY on PostgreSQL, JDBC batches on H2), bypassing JPA.
+ *
+ * Popularity follows a long tail: a few guides own many tours, a few tours collect most bookings and
+ * reviews, a few users send most messages and a few products carry most product reviews. Rows are
+ * appended after existing data, so it can run against a database that already has sample rows.
+ *
+ * Run as a one-off command, which exits when done:
+ * {@code java -jar seaandtea-backend.jar --spring.profiles.active=seed --seed.users=2000000 --seed.messages=5000000}
+ */
+@Component
+@Profile("seed")
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataSeeder implements ApplicationRunner {
+
+    private static final String[] FIRST_NAMES = {"Nimal", "Kamala", "Sunil", "Dilani", "Ruwan", "Ishara", "Tharindu",
+            "Anjali", "Kasun", "Nadeesha", "Emma", "Liam", "Sofia", "Noah", "Mia", "Lukas", "Chloe", "Hiroshi",
+            "Priya", "Arjun", "Olivia", "Mateo", "Hannah", "Yuki"};
+    private static final String[] LAST_NAMES = {"Perera", "Fernando", "Silva", "Jayasinghe", "Bandara", "Wickramasinghe",
+            "Rajapaksa", "Dissanayake", "Smith", "Müller", "Rossi", "Dubois", "Tanaka", "Kumar", "Johnson", "García"};
+    private static final String[] NATIONALITIES = {"Sri Lankan", "British", "German", "Indian", "Australian", "French",
+            "American", "Chinese", "Japanese", "Dutch", "Italian", "Russian"};
+    private static final String[] LANGUAGES = {"English", "Sinhala", "Tamil", "German", "French", "Japanese",
+            "Chinese", "Russian", "Italian", "Spanish"};
+    private static final String[] SPECIALTIES = {"Tea estates", "Hiking", "Wildlife", "History", "Surfing",
+            "Bird watching", "Food", "Photography", "Diving", "Temples"};
+    private static final String[] HIGHLIGHTS = {"Tea tasting", "Factory visit", "Waterfall swim", "Sunrise viewpoint",
+            "Elephant sighting", "Local lunch", "Temple visit", "Boat ride", "Spice garden", "Village walk",
+            "Whale watching", "Train ride", "Cooking class", "Leopard safari"};
+    private static final String[] INCLUDED = {"Hotel pickup", "Lunch", "Entrance fees", "Bottled water",
+            "Tea samples", "Safari jeep", "Snorkel gear"};
+    private static final String[] EXCLUDED = {"Tips", "Drinks", "Travel insurance", "Personal expenses"};
+    private static final String[] TOUR_THEMES = {"Sunrise walk", "Full day safari", "Heritage trail",
+            "Tea plantation experience", "Street food evening", "Jungle trek", "Lagoon kayak", "Whale watching cruise",
+            "Cycling tour", "Photography walk"};
+    private static final String[] PRODUCT_KINDS = {"Black tea", "Green tea", "Cinnamon sticks", "Batik sarong",
+            "Coconut shell bowl", "Wooden elephant", "Herbal balm", "Handloom scarf", "Curry powder", "Moonstone pendant"};
+    private static final String[] MESSAGE_TEXTS = {"Hi, is this tour available next week?",
+            "Yes, we still have space for your group.", "What time is pickup from Kandy?",
+            "Pickup is at 6:30 from your hotel lobby.", "Can we add a stop at the spice garden?",
+            "Of course, I will adjust the route.", "Thank you, see you then!", "Is lunch vegetarian friendly?"};
+    private static final Place[] PLACES = {
+            new Place("Kandy", 7.2906, 80.6337), new Place("Ella", 6.8667, 81.0466),
+            new Place("Nuwara Eliya", 6.9497, 80.7891), new Place("Galle", 6.0535, 80.2210),
+            new Place("Sigiriya", 7.9570, 80.7603), new Place("Mirissa", 5.9483, 80.4716),
+            new Place("Colombo", 6.9271, 79.8612), new Place("Trincomalee", 8.5874, 81.2152),
+            new Place("Arugam Bay", 6.8400, 81.8368), new Place("Yala", 6.3726, 81.5190),
+            new Place("Anuradhapura", 8.3114, 80.4037), new Place("Haputale", 6.7680, 80.9582)};
+    private static final Product.ProductCategory[] PRODUCT_CATEGORIES = Arrays.stream(Product.ProductCategory.values())
+            .filter(category -> category != Product.ProductCategory.ALL)
+            .toArray(Product.ProductCategory[]::new);
+
+    private final DataSource dataSource;
+    private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ApplicationContext applicationContext;
+
+    @Value("${seed.users:100000}")
+    private int users;
+
+    @Value("${seed.guide-percent:5}")
+    private int guidePercent;
+
+    @Value("${seed.tours:20000}")
+    private int tours;
+
+    @Value("${seed.bookings:100000}")
+    private int bookings;
+
+    @Value("${seed.reviews:50000}")
+    private int reviews;
+
+    @Value("${seed.messages:500000}")
+    private int messages;
+
+    @Value("${seed.products:5000}")
+    private int products;
+
+    @Value("${seed.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${seed.random-seed:42}")
+    private long randomSeed;
+
+    @Value("${seed.exit-on-completion:true}")
+    private boolean exitOnCompletion;
+
+    private Random random;
+    private LocalDateTime now;
+
+    private record Place(String name, double latitude, double longitude) {
+    }
+
+    @FunctionalInterface
+    private interface RowGenerator {
+        void generate(TableLoader loader) throws SQLException;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        int guides = Math.max(1, users * guidePercent / 100);
+        if (users <= guides) {
+            throw new IllegalArgumentException("seed.users must leave room for tourists after " + guides + " guides");
+        }
+        reviews = Math.min(reviews, bookings);
+        random = new Random(randomSeed);
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        log.info("Seeding {} users ({} guides), {} tours, {} bookings, {} reviews, {} messages, {} products",
+                users, guides, tours, bookings, reviews, messages, products);
+
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            seed(connection, guides);
+        }
+        log.info("Seeding finished in {} s", (System.nanoTime() - start) / 1_000_000_000);
+
+        for (CatalogChangedEvent.Catalog catalog : CatalogChangedEvent.Catalog.values()) {
+            eventPublisher.publishEvent(new CatalogChangedEvent(catalog, null));
+        }
+        if (exitOnCompletion) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    private void seed(Connection connection, int guides) throws SQLException {
+        long userBase = nextId(connection, "users");
+        long guideBase = nextId(connection, "guides");
+        long tourBase = nextId(connection, "tours");
+        long bookingBase = nextId(connection, "bookings");
+        long productBase = nextId(connection, "products");
+        String passwordHash = passwordEncoder.encode("password");
+
+        // Tour ownership and the tour attributes bookings depend on are decided up front
+        int[] tourGuide = new int[tours];
+        int[] toursPerGuide = new int[guides];
+        int[] tourPriceCents = new int[tours];
+        int[] tourHours = new int[tours];
+        for (int t = 0; t < tours; t++) {
+            tourGuide[t] = skewed(guides);
+            toursPerGuide[tourGuide[t]]++;
+            tourPriceCents[t] = 1500 + (int) Math.min(50_000, Math.round(Math.exp(random.nextGaussian() * 0.6 + 8.2)));
+            tourHours[t] = 1 + random.nextInt(random.nextInt(10) == 0 ? 72 : 10);
+        }
+
+        load(connection, "users", columns("id", "email", "password_hash", "first_name", "last_name", "phone",
+                "nationality", "is_verified", "is_active", "role", "created_at", "updated_at"), loader -> {
+            for (int u = 0; u < users; u++) {
+                long id = userBase + u;
+                LocalDateTime createdAt = pastTime(730);
+                loader.row(id, "seed" + id + "@seed.seaandtea.test", passwordHash, pick(FIRST_NAMES), pick(LAST_NAMES),
+                        "+947" + (10_000_000 + random.nextInt(89_999_999)), pick(NATIONALITIES),
+                        random.nextInt(10) < 7, random.nextInt(100) != 0,
+                        (u < guides ? User.UserRole.GUIDE : User.UserRole.USER).name(), createdAt, createdAt);
+            }
+        });
+
+        load(connection, "guides", columns("id", "user_id", "bio", "hourly_rate", "daily_rate", "response_time_hours",
+                "is_available", "total_tours", "average_rating", "total_reviews", "verification_status", "created_at",
+                "updated_at"), loader -> {
+            for (int g = 0; g < guides; g++) {
+                LocalDateTime createdAt = pastTime(700);
+                BigDecimal hourlyRate = BigDecimal.valueOf(8 + random.nextInt(40));
+                Guide.VerificationStatus status = random.nextInt(10) < 8 ? Guide.VerificationStatus.VERIFIED
+                        : random.nextBoolean() ? Guide.VerificationStatus.PENDING : Guide.VerificationStatus.REJECTED;
+                loader.row(guideBase + g, userBase + g,
+                        "Licensed guide specialising in " + pick(SPECIALTIES).toLowerCase() + " around " + pick(PLACES).name(),
+                        hourlyRate, hourlyRate.multiply(BigDecimal.valueOf(7)), 1 + random.nextInt(48),
+                        random.nextInt(10) != 0, toursPerGuide[g], rating(), random.nextInt(200),
+                        status.name(), createdAt, createdAt);
+            }
+        });
+
+        load(connection, "guide_languages", columns("guide_id", "language", "proficiency_level", "created_at"), loader -> {
+            GuideLanguage.ProficiencyLevel[] levels = GuideLanguage.ProficiencyLevel.values();
+            for (int g = 0; g < guides; g++) {
+                for (String language : distinct(LANGUAGES, 1 + random.nextInt(3))) {
+                    loader.row(guideBase + g, language, levels[random.nextInt(levels.length)].name(), now);
+                }
+            }
+        });
+
+        load(connection, "guide_specialties", columns("guide_id", "specialty", "years_experience", "created_at"), loader -> {
+            for (int g = 0; g < guides; g++) {
+                for (String specialty : distinct(SPECIALTIES, 1 + random.nextInt(2))) {
+                    loader.row(guideBase + g, specialty, 1 + random.nextInt(20), now);
+                }
+            }
+        });
+
+        List<Column> tourColumns = new ArrayList<>(columns("id", "guide_id", "title", "description", "category",
+                "duration_hours", "max_group_size", "price_per_person", "instant_booking", "secure_payment"));
+        tourColumns.addAll(List.of(Column.json("languages"), Column.json("highlights"),
+                Column.json("included_items"), Column.json("excluded_items")));
+        tourColumns.addAll(columns("meeting_point", "latitude", "longitude", "cancellation_policy", "is_active",
+                "created_at", "updated_at"));
+        load(connection, "tours", tourColumns, loader -> {
+            Tour.TourCategory[] categories = Tour.TourCategory.values();
+            for (int t = 0; t < tours; t++) {
+                Place place = pick(PLACES);
+                String theme = pick(TOUR_THEMES);
+                LocalDateTime createdAt = pastTime(600);
+                loader.row(tourBase + t, guideBase + tourGuide[t], theme + " in " + place.name(),
+                        theme + " starting from " + place.name() + ". " + String.join(", ", distinct(HIGHLIGHTS, 3))
+                                + " with a local guide who knows the area well.",
+                        categories[skewed(categories.length)].name(), tourHours[t], 2 + random.nextInt(19),
+                        BigDecimal.valueOf(tourPriceCents[t], 2), random.nextInt(3) == 0, true,
+                        jsonArray(distinct(LANGUAGES, 1 + random.nextInt(3))),
+                        jsonArray(distinct(HIGHLIGHTS, 2 + random.nextInt(4))),
+                        jsonArray(distinct(INCLUDED, 1 + random.nextInt(4))),
+                        jsonArray(distinct(EXCLUDED, 1 + random.nextInt(2))),
+                        place.name() + " town centre",
+                        place.latitude() + (random.nextDouble() - 0.5) * 0.2,
+                        place.longitude() + (random.nextDouble() - 0.5) * 0.2,
+                        "Free cancellation up to 24 hours before the start", random.nextInt(20) != 0, createdAt, createdAt);
+            }
+        });
+
+        load(connection, "tour_images", columns("tour_id", "image_url", "is_primary", "alt_text", "created_at"), loader -> {
+            for (int t = 0; t < tours; t++) {
+                int images = 1 + random.nextInt(5);
+                for (int i = 0; i < images; i++) {
+                    loader.row(tourBase + t, "https://img.seed.seaandtea.test/tours/" + (tourBase + t) + "/" + i + ".webp",
+                            i == 0, "Tour photo " + (i + 1), now);
+                }
+            }
+        });
+
+        // Only the first `reviews` bookings are completed and reviewed, so their tour and tourist are kept
+        int[] reviewedTour = new int[reviews];
+        int[] reviewedTourist = new int[reviews];
+        int tourists = users - guides;
+        load(connection, "bookings", columns("id", "tour_id", "tourist_id", "guide_id", "booking_date", "start_time",
+                "end_time", "number_of_people", "total_amount", "status", "payment_status", "created_at", "updated_at"), loader -> {
+            Booking.BookingStatus[] openStatuses = {Booking.BookingStatus.PENDING, Booking.BookingStatus.CONFIRMED,
+                    Booking.BookingStatus.CANCELLED, Booking.BookingStatus.COMPLETED};
+            for (int b = 0; b < bookings; b++) {
+                int tour = skewed(tours);
+                int tourist = guides + random.nextInt(tourists);
+                boolean reviewed = b < reviews;
+                if (reviewed) {
+                    reviewedTour[b] = tour;
+                    reviewedTourist[b] = tourist;
+                }
+                Booking.BookingStatus status = reviewed ? Booking.BookingStatus.COMPLETED
+                        : openStatuses[random.nextInt(openStatuses.length)];
+                int people = 1 + random.nextInt(6);
+                LocalDateTime createdAt = pastTime(540);
+                LocalTime startTime = LocalTime.of(6 + random.nextInt(8), random.nextBoolean() ? 0 : 30);
+                loader.row(bookingBase + b, tourBase + tour, userBase + tourist, guideBase + tourGuide[tour],
+                        createdAt.toLocalDate().plusDays(1 + random.nextInt(60)), startTime,
+                        startTime.plusHours(Math.min(tourHours[tour], 12)), people,
+                        BigDecimal.valueOf((long) tourPriceCents[tour] * people, 2), status.name(),
+                        (status == Booking.BookingStatus.PENDING ? Booking.PaymentStatus.PENDING
+                                : status == Booking.BookingStatus.CANCELLED ? Booking.PaymentStatus.REFUNDED
+                                : Booking.PaymentStatus.PAID).name(),
+                        createdAt, createdAt);
+            }
+        });
+
+        load(connection, "reviews", columns("booking_id", "tourist_id", "guide_id", "tour_id", "rating", "comment",
+                "is_verified", "created_at"), loader -> {
+            for (int r = 0; r < reviews; r++) {
+                int stars = stars();
+                loader.row(bookingBase + r, userBase + reviewedTourist[r], guideBase + tourGuide[reviewedTour[r]],
+                        tourBase + reviewedTour[r], stars,
+                        stars >= 4 ? "Wonderful day, our guide was fantastic." : "Nice views but the schedule felt rushed.",
+                        random.nextBoolean(), pastTime(365));
+            }
+        });
+
+        load(connection, "messages", columns("sender_id", "receiver_id", "message", "is_read", "created_at"), loader -> {
+            int written = 0;
+            while (written < messages) {
+                // A conversation between an active tourist and a popular guide, alternating senders
+                long tourist = userBase + guides + skewed(tourists);
+                long guide = userBase + skewed(guides);
+                int length = Math.min(messages - written, 1 + (int) (-Math.log(1 - random.nextDouble()) * 6));
+                LocalDateTime sentAt = pastTime(365);
+                for (int m = 0; m < length; m++) {
+                    boolean fromTourist = m % 2 == 0;
+                    sentAt = sentAt.plusMinutes(1 + random.nextInt(240));
+                    loader.row(fromTourist ? tourist : guide, fromTourist ? guide : tourist, pick(MESSAGE_TEXTS),
+                            m < length - 2 || random.nextBoolean(), sentAt);
+                }
+                written += length;
+            }
+        });
+
+        load(connection, "products", columns("id", "name", "description", "current_price", "original_price", "category",
+                "rating", "review_count", "is_best_seller", "is_active", "created_at", "updated_at"), loader -> {
+            for (int p = 0; p < products; p++) {
+                BigDecimal price = BigDecimal.valueOf(300 + Math.round(Math.exp(random.nextGaussian() * 0.8 + 7.0)), 2);
+                boolean discounted = random.nextInt(4) == 0;
+                // Rank in the catalog drives popularity: review counts fall off steeply after the first few products
+                int reviewCount = (int) (2_000 / Math.pow(p + 1, 0.9) * random.nextDouble());
+                LocalDateTime createdAt = pastTime(900);
+                loader.row(productBase + p, pick(PRODUCT_KINDS) + " #" + (productBase + p),
+                        "Handpicked in Sri Lanka and packed by a family business.", price,
+                        discounted ? price.multiply(BigDecimal.valueOf(1.25)).setScale(2, RoundingMode.HALF_UP) : null,
+                        PRODUCT_CATEGORIES[skewed(PRODUCT_CATEGORIES.length)].name(),
+                        reviewCount > 0 ? rating() : null, reviewCount, p < Math.max(1, products / 50),
+                        random.nextInt(25) != 0, createdAt, createdAt);
+            }
+        });
+
+        load(connection, "product_images", columns("product_id", "image_url", "is_primary", "alt_text", "sort_order",
+                "created_at"), loader -> {
+            for (int p = 0; p < products; p++) {
+                int images = 1 + random.nextInt(4);
+                for (int i = 0; i < images; i++) {
+                    loader.row(productBase + p, "https://img.seed.seaandtea.test/products/" + (productBase + p) + "/" + i + ".webp",
+                            i == 0, "Product photo " + (i + 1), i, now);
+                }
+            }
+        });
+
+        for (String table : List.of("users", "guides", "tours", "bookings", "products")) {
+            restartIdentity(connection, table);
+        }
+    }
+
+    private void load(Connection connection, String table, List<Column> columns, RowGenerator generator)
+            throws SQLException {
+        long start = System.nanoTime();
+        long rows;
+        try (TableLoader loader = TableLoader.open(connection, table, columns, batchSize)) {
+            generator.generate(loader);
+            rows = loader.rowCount();
+        }
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        log.info("Seeded {} rows into {} in {} ms ({} rows/s)", rows, table, millis, rows * 1000 / millis);
+    }
+
+    private static long nextId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    // Rows were inserted with explicit ids, so move the id generator past them
+    private static void restartIdentity(Connection connection, String table) throws SQLException {
+        long next = nextId(connection, table);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+        } catch (SQLException e) {
+            // Tables created by the SQL migrations use serial columns rather than identity columns
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), " + (next - 1) + ")");
+            }
+        }
+    }
+
+    private static List<Column> columns(String... names) {
+        return Arrays.stream(names).map(Column::of).collect(Collectors.toList());
+    }
+
+    /**
+     * Index in [0, n) where index i is drawn with probability roughly proportional to 1 / (i + 1)
+     */
+    private int skewed(int n) {
+        int index = (int) (Math.pow(n + 1.0, random.nextDouble()) - 1);
+        return Math.min(index, n - 1);
+    }
+
+    private <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private List<String> distinct(String[] values, int count) {
+        List<String> shuffled = new ArrayList<>(Arrays.asList(values));
+        Collections.shuffle(shuffled, random);
+        return shuffled.subList(0, Math.min(count, shuffled.size()));
+    }
+
+    private static Json jsonArray(List<String> values) {
+        return new Json(values.stream()
+                .map(value -> "\"" + value.replace("\"", "\\\"") + "\"")
+                .collect(Collectors.joining(",", "[", "]")));
+    }
+
+    private LocalDateTime pastTime(int maxDaysAgo) {
+        return now.minusSeconds(random.nextLong(maxDaysAgo * 86_400L));
+    }
+
+    private BigDecimal rating() {
+        return BigDecimal.valueOf(300 + random.nextInt(201), 2);
+    }
+
+    // Review stars skew positive, as on most travel sites
+    private int stars() {
+        int roll = random.nextInt(100);
+        return roll < 55 ? 5 : roll < 83 ? 4 : roll < 93 ? 3 : roll < 97 ? 2 : 1;
+    }
+}
@@ -0,0 +1,186 @@
+package com.seaandtea.seed;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Streams generated rows into one table without going through JPA: {@code COPY ... FROM STDIN} on
+ * PostgreSQL, JDBC batches everywhere else (H2). Values may be strings, numbers, booleans, java.time
+ * values or {@link Json}; nulls are written as SQL NULL.
+ */
+abstract class TableLoader implements AutoCloseable {
+
+    /** Text to store in a JSON column */
+    record Json(String text) {
+    }
+
+    /** A column name, flagged when it is a JSON column that needs a typed placeholder */
+    record Column(String name, boolean json) {
+
+        static Column of(String name) {
+            return new Column(name, false);
+        }
+
+        static Column json(String name) {
+            return new Column(name, true);
+        }
+    }
+
+    protected final String table;
+    private long rows;
+
+    protected TableLoader(String table) {
+        this.table = table;
+    }
+
+    static TableLoader open(Connection connection, String table, List<Column> columns, int batchSize)
+            throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName();
+        if ("PostgreSQL".equals(product)) {
+            return new CopyTableLoader(connection, table, columns);
+        }
+        return new BatchTableLoader(connection, table, columns, batchSize, "H2".equals(product));
+    }
+
+    void row(Object... values) throws SQLException {
+        write(values);
+        rows++;
+    }
+
+    long rowCount() {
+        return rows;
+    }
+
+    protected abstract void write(Object[] values) throws SQLException;
+
+    @Override
+    public abstract void close() throws SQLException;
+
+    private static final class CopyTableLoader extends TableLoader {
+
+        private static final int FLUSH_CHARS = 1 << 16;
+
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(FLUSH_CHARS + 1024);
+
+        CopyTableLoader(Connection connection, String table, List<Column> columns) throws SQLException {
+            super(table);
+            String columnList = columns.stream().map(Column::name).collect(Collectors.joining(", "));
+            copyIn = connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn("COPY " + table + " (" + columnList + ") FROM STDIN WITH (FORMAT csv)");
+        }
+
+        @Override
+        protected void write(Object[] values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                appendCsv(values[i]);
+            }
+            buffer.append('\n');
+            if (buffer.length() >= FLUSH_CHARS) {
+                flush();
+            }
+        }
+
+        // Unquoted empty is NULL in CSV COPY; text is always quoted so empty strings survive
+        private void appendCsv(Object value) {
+            if (value == null) {
+                return;
+            }
+            if (value instanceof Boolean bool) {
+                buffer.append(bool ? 't' : 'f');
+            } else if (value instanceof Number) {
+                buffer.append(value);
+            } else {
+                String text = value instanceof Json json ? json.text() : value.toString();
+                buffer.append('"').append(text.replace("\"", "\"\"")).append('"');
+            }
+        }
+
+        private void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (!copyIn.isActive()) {
+                return;
+            }
+            try {
+                flush();
+                copyIn.endCopy();
+            } catch (SQLException e) {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+                throw e;
+            }
+        }
+    }
+
+    private static final class BatchTableLoader extends TableLoader {
+
+        private final Connection connection;
+        private final PreparedStatement statement;
+        private final int batchSize;
+        private final boolean previousAutoCommit;
+        private int pending;
+
+        BatchTableLoader(Connection connection, String table, List<Column> columns, int batchSize, boolean h2)
+                throws SQLException {
+            super(table);
+            this.connection = connection;
+            this.batchSize = batchSize;
+            String columnList = columns.stream().map(Column::name).collect(Collectors.joining(", "));
+            // H2 would store a plain string parameter as a JSON string literal rather than parse it
+            String placeholders = columns.stream()
+                    .map(column -> column.json() && h2 ? "? FORMAT JSON" : "?")
+                    .collect(Collectors.joining(", "));
+            previousAutoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            statement = connection.prepareStatement(
+                    "INSERT INTO " + table + " (" + columnList + ") VALUES (" + placeholders + ")");
+        }
+
+        @Override
+        protected void write(Object[] values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i] instanceof Json json ? json.text() : values[i];
+                statement.setObject(i + 1, value);
+            }
+            statement.addBatch();
+            if (++pending == batchSize) {
+                executeBatch();
+            }
+        }
+
+        private void executeBatch() throws SQLException {
+            if (pending > 0) {
+                statement.executeBatch();
+                connection.commit();
+                pending = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                executeBatch();
+            } finally {
+                statement.close();
+                connection.setAutoCommit(previousAutoCommit);
+            }
+        }
+    }
+}
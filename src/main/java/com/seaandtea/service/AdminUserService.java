@@ -28,6 +28,7 @@ public class AdminUserService {
     private final TourRepository tourRepository;
     private final GuideSpecialtyRepository guideSpecialtyRepository;
     private final GuideLanguageRepository guideLanguageRepository;
+    private final RefreshTokenService refreshTokenService;
 
     public Page<AdminUserResponse> listUsers(User.UserRole roleFilter, Boolean isActiveFilter, Pageable pageable) {
         Page<User> users = userRepository.findAllForAdmin(roleFilter, isActiveFilter, pageable);
@@ -48,6 +49,8 @@ public class AdminUserService {
         }
         user.setIsActive(false);
         User saved = userRepository.save(user);
+        // Access tokens still run out on their own; refreshing stops now
+        refreshTokenService.deleteAllForUser(id);
         return mapToAdminResponse(saved);
     }
 
@@ -101,7 +104,8 @@ public class AdminUserService {
             guideRepository.delete(guide);
         }
 
-        // 5. User
+        // 5. Refresh tokens, then user
+        refreshTokenService.deleteAllForUser(userId);
         userRepository.delete(user);
     }
 
@@ -2,24 +2,48 @@ package com.seaandtea.service;
 
 import com.seaandtea.dto.AuthResponse;
 import com.seaandtea.dto.LoginRequest;
+import com.seaandtea.dto.RefreshTokenRequest;
 import com.seaandtea.dto.RegisterRequest;
 import com.seaandtea.entity.User;
+import com.seaandtea.exception.ServiceBusyException;
 import com.seaandtea.repository.UserRepository;
 import com.seaandtea.security.JwtService;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * Registration and login hash or verify a password on the bounded hashing pool, which can take
+ * seconds under load, so neither runs in a transaction: only the short writes afterwards do, and
+ * no pooled database connection waits on BCrypt. The auth routes are also left out of
+ * open-session-in-view (see {@link com.seaandtea.config.WebMvcConfig}), which would otherwise hold
+ * the connection from the user lookup to the end of the request.
+ */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class AuthService {
     
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final RefreshTokenService refreshTokenService;
+    private final PlatformTransactionManager transactionManager;
+    
+    private TransactionTemplate transaction;
+    
+    @PostConstruct
+    void init() {
+        transaction = new TransactionTemplate(transactionManager);
+    }
     
     public AuthResponse register(RegisterRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
@@ -37,32 +61,64 @@ public class AuthService {
                 .role(User.UserRole.USER)
                 .build();
         
-        User savedUser = userRepository.save(user);
-        
-        String jwtToken = jwtService.generateTokenWithUserId(savedUser, savedUser.getId());
-        
-        return AuthResponse.builder()
-                .accessToken(jwtToken)
-                .refreshToken(jwtToken) // In production, implement proper refresh token
-                .expiresIn(86400000L) // 24 hours
-                .user(mapToUserDto(savedUser))
-                .build();
+        return transaction.execute(status -> {
+            User savedUser = userRepository.save(user);
+            return buildAuthResponse(savedUser, refreshTokenService.issue(savedUser));
+        });
     }
     
     public AuthResponse login(LoginRequest request) {
-        authenticationManager.authenticate(
+        // The authenticated principal is the user loaded for the password check, so no second lookup
+        Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
         );
+        User user = authentication.getPrincipal() instanceof User principal
+                ? principal
+                : userRepository.findByEmail(request.getEmail()).orElseThrow(() -> new RuntimeException("User not found"));
+        String upgradedHash = rehashIfCostChanged(user, request.getPassword());
         
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        String jwtToken = jwtService.generateTokenWithUserId(user, user.getId());
-        
+        return transaction.execute(status -> {
+            if (upgradedHash != null) {
+                userRepository.updatePassword(user.getId(), upgradedHash);
+                user.setPassword(upgradedHash);
+            }
+            return buildAuthResponse(user, refreshTokenService.issue(user));
+        });
+    }
+    
+    // Only at login is the raw password available, so that's when hashes move to the configured cost.
+    // Returns the new hash to store, or null to keep the current one.
+    private String rehashIfCostChanged(User user, String rawPassword) {
+        if (!passwordEncoder.upgradeEncoding(user.getPassword())) {
+            return null;
+        }
+        try {
+            return passwordEncoder.encode(rawPassword);
+        } catch (ServiceBusyException e) {
+            log.debug("Skipping password rehash for user {}: {}", user.getId(), e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Exchanges a refresh token for a new access token and a rotated refresh token without
+     * touching the password hash.
+     */
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        return buildAuthResponse(rotation.user(), rotation.refreshToken());
+    }
+    
+    public void logout(RefreshTokenRequest request) {
+        refreshTokenService.revoke(request.getRefreshToken());
+    }
+    
+    private AuthResponse buildAuthResponse(User user, String refreshToken) {
         return AuthResponse.builder()
-                .accessToken(jwtToken)
-                .refreshToken(jwtToken) // In production, implement proper refresh token
-                .expiresIn(86400000L) // 24 hours
+                .accessToken(jwtService.generateTokenWithUserId(user, user.getId()))
+                .refreshToken(refreshToken)
+                .tokenType("Bearer")
+                .expiresIn(jwtService.getJwtExpiration())
                 .user(mapToUserDto(user))
                 .build();
     }
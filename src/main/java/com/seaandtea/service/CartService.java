@@ -1,5 +1,6 @@
 package com.seaandtea.service;
 
+import com.seaandtea.config.MetricsConfig;
 import com.seaandtea.dto.*;
 import com.seaandtea.entity.Cart;
 import com.seaandtea.entity.CartItem;
@@ -11,6 +12,7 @@ import com.seaandtea.repository.CartRepository;
 import com.seaandtea.repository.ProductImageRepository;
 import com.seaandtea.repository.ProductRepository;
 import com.seaandtea.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -23,6 +25,7 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class CartService {
 
     private final CartRepository cartRepository;
@@ -100,7 +103,7 @@ public class CartService {
         return getOrCreateCart(userEmail);
     }
 
-    private CartResponse toCartResponse(Cart cart) {
+    CartResponse toCartResponse(Cart cart) {
         List<CartItem> itemsWithProduct = cartItemRepository.findByCartIdWithProduct(cart.getId());
         List<CartItemResponse> itemResponses = itemsWithProduct.stream()
                 .map(this::toCartItemResponse)
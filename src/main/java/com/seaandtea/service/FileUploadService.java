@@ -2,6 +2,10 @@ package com.seaandtea.service;
 
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
+import com.seaandtea.config.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -19,9 +23,11 @@ import java.util.UUID;
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class FileUploadService {
     
     private final Cloudinary cloudinary;
+    private final MeterRegistry meterRegistry;
     
     @Value("${cloudinary.folder:seaandtea}")
     private String baseFolder;
@@ -51,7 +57,7 @@ public class FileUploadService {
                 "crop", "limit" // Don't upscale, only downscale if larger
             );
             
-            Map<String, Object> uploadResult = cloudinary.uploader().upload(file.getBytes(), uploadParams);
+            Map<String, Object> uploadResult = timedCloudinaryCall("upload", () -> cloudinary.uploader().upload(file.getBytes(), uploadParams));
             String imageUrl = (String) uploadResult.get("secure_url");
             
             log.info("Image uploaded successfully to Cloudinary: {} by user: {}", imageUrl, uploaderEmail);
@@ -83,7 +89,7 @@ public class FileUploadService {
                 "gravity", "face" // Focus on face if detected
             );
             
-            Map<String, Object> uploadResult = cloudinary.uploader().upload(file.getBytes(), uploadParams);
+            Map<String, Object> uploadResult = timedCloudinaryCall("upload", () -> cloudinary.uploader().upload(file.getBytes(), uploadParams));
             String imageUrl = (String) uploadResult.get("secure_url");
             
             log.info("Profile picture uploaded successfully to Cloudinary: {} for user: {}", imageUrl, userEmail);
@@ -114,7 +120,7 @@ public class FileUploadService {
                 "crop", "limit"
             );
 
-            Map<String, Object> uploadResult = cloudinary.uploader().upload(file.getBytes(), uploadParams);
+            Map<String, Object> uploadResult = timedCloudinaryCall("upload", () -> cloudinary.uploader().upload(file.getBytes(), uploadParams));
             String imageUrl = (String) uploadResult.get("secure_url");
 
             log.info("Homepage slider image uploaded to Cloudinary: {} by user: {}", imageUrl, uploaderEmail);
@@ -134,7 +140,7 @@ public class FileUploadService {
                 "resource_type", "image"
             );
             
-            Map<String, Object> deleteResult = cloudinary.uploader().destroy(publicId, deleteParams);
+            Map<String, Object> deleteResult = timedCloudinaryCall("destroy", () -> cloudinary.uploader().destroy(publicId, deleteParams));
             String result = (String) deleteResult.get("result");
             
             if ("ok".equals(result)) {
@@ -149,6 +155,23 @@ public class FileUploadService {
         }
     }
     
+    @FunctionalInterface
+    private interface CloudinaryCall {
+        Map<String, Object> execute() throws IOException;
+    }
+    
+    private Map<String, Object> timedCloudinaryCall(String operation, CloudinaryCall call) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            Map<String, Object> result = call.execute();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(meterRegistry.timer(MetricsConfig.CLOUDINARY_TIMER, "operation", operation, "outcome", outcome));
+        }
+    }
+    
     private void validateImageFile(MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("File cannot be empty");
@@ -201,7 +224,7 @@ public class FileUploadService {
                 "crop", "limit"
             );
 
-            Map<String, Object> uploadResult = cloudinary.uploader().upload(file.getBytes(), uploadParams);
+            Map<String, Object> uploadResult = timedCloudinaryCall("upload", () -> cloudinary.uploader().upload(file.getBytes(), uploadParams));
             String imageUrl = (String) uploadResult.get("secure_url");
 
             log.info("Product image uploaded to Cloudinary: {} for product {} by user: {}", imageUrl, productId, uploaderEmail);
@@ -0,0 +1,79 @@
+package com.seaandtea.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Offline geocoder backed by a small gazetteer of Sri Lankan tour destinations. Returns the first
+ * known place name found as whole words in the text, so "Ella railway station" resolves to Ella while
+ * "Bellanwila" does not. Unknown places are left without coordinates.
+ */
+@Component
+@Slf4j
+public class GazetteerGeocoder implements Geocoder {
+    
+    private static final Map<String, GeoPoint> PLACES = new LinkedHashMap<>();
+    
+    static {
+        // Multi-word names first so that they win over shorter names in the same text
+        PLACES.put("horton plains", new GeoPoint(6.8020, 80.8060));
+        PLACES.put("adam's peak", new GeoPoint(6.8096, 80.4994));
+        PLACES.put("nuwara eliya", new GeoPoint(6.9497, 80.7891));
+        PLACES.put("anuradhapura", new GeoPoint(8.3114, 80.4037));
+        PLACES.put("polonnaruwa", new GeoPoint(7.9403, 81.0188));
+        PLACES.put("trincomalee", new GeoPoint(8.5874, 81.2152));
+        PLACES.put("arugam bay", new GeoPoint(6.8400, 81.8368));
+        PLACES.put("batticaloa", new GeoPoint(7.7310, 81.6747));
+        PLACES.put("hikkaduwa", new GeoPoint(6.1395, 80.1063));
+        PLACES.put("unawatuna", new GeoPoint(6.0097, 80.2486));
+        PLACES.put("tangalle", new GeoPoint(6.0243, 80.7941));
+        PLACES.put("sigiriya", new GeoPoint(7.9570, 80.7603));
+        PLACES.put("dambulla", new GeoPoint(7.8742, 80.6511));
+        PLACES.put("haputale", new GeoPoint(6.7682, 80.9587));
+        PLACES.put("negombo", new GeoPoint(7.2008, 79.8737));
+        PLACES.put("bentota", new GeoPoint(6.4210, 79.9980));
+        PLACES.put("mirissa", new GeoPoint(5.9483, 80.4716));
+        PLACES.put("colombo", new GeoPoint(6.9271, 79.8612));
+        PLACES.put("hatton", new GeoPoint(6.8916, 80.5955));
+        PLACES.put("kandy", new GeoPoint(7.2906, 80.6337));
+        PLACES.put("galle", new GeoPoint(6.0535, 80.2210));
+        PLACES.put("jaffna", new GeoPoint(9.6615, 80.0255));
+        PLACES.put("ella", new GeoPoint(6.8667, 81.0466));
+        PLACES.put("yala", new GeoPoint(6.3725, 81.5185));
+    }
+    
+    @Override
+    public Optional<GeoPoint> geocode(String place) {
+        if (place == null || place.isBlank()) {
+            return Optional.empty();
+        }
+        String normalized = place.toLowerCase(Locale.ROOT);
+        for (Map.Entry<String, GeoPoint> entry : PLACES.entrySet()) {
+            if (containsWord(normalized, entry.getKey())) {
+                return Optional.of(entry.getValue());
+            }
+        }
+        log.debug("No gazetteer match for place: {}", place);
+        return Optional.empty();
+    }
+    
+    private static boolean containsWord(String text, String name) {
+        int from = 0;
+        int index;
+        while ((index = text.indexOf(name, from)) >= 0) {
+            int end = index + name.length();
+            boolean startsWord = index == 0 || !Character.isLetter(text.charAt(index - 1));
+            boolean endsWord = end == text.length() || !Character.isLetter(text.charAt(end));
+            if (startsWord && endsWord) {
+                return true;
+            }
+            from = index + 1;
+        }
+        return false;
+    }
+}
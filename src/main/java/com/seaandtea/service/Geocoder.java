@@ -0,0 +1,16 @@
+package com.seaandtea.service;
+
+import java.util.Optional;
+
+/**
+ * Resolves a free-text place (a tour meeting point) to coordinates. The default implementation is the
+ * offline {@link GazetteerGeocoder}; a remote geocoding service can replace it by declaring a
+ * {@code @Primary} bean.
+ */
+public interface Geocoder {
+    
+    Optional<GeoPoint> geocode(String place);
+    
+    record GeoPoint(double latitude, double longitude) {
+    }
+}
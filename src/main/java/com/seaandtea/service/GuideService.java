@@ -7,17 +7,30 @@ import com.seaandtea.entity.Guide;
 import com.seaandtea.entity.GuideLanguage;
 import com.seaandtea.entity.GuideSpecialty;
 import com.seaandtea.entity.User;
+import com.seaandtea.event.CatalogChangedEvent;
+import com.seaandtea.repository.GuideLanguageRepository;
 import com.seaandtea.repository.GuideRepository;
+import com.seaandtea.repository.GuideSpecialtyRepository;
 import com.seaandtea.repository.UserRepository;
+import com.seaandtea.util.ResourceVersion;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,9 +39,24 @@ import java.util.stream.Collectors;
 @Transactional
 public class GuideService {
     
+    /**
+     * Upper bound for any guide list page, public or admin
+     */
+    public static final int MAX_PAGE_SIZE = 100;
+    
+    /**
+     * Guide ids per specialty/language batch when mapping a full list, keeping IN lists well below driver limits
+     */
+    private static final int CHILD_BATCH_SIZE = 500;
+    
+    private static final Sort LIST_ORDER = Sort.by("id").ascending();
+    
     private final GuideRepository guideRepository;
+    private final GuideSpecialtyRepository guideSpecialtyRepository;
+    private final GuideLanguageRepository guideLanguageRepository;
     private final UserRepository userRepository;
     private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * Create a new guide profile for a user
@@ -205,10 +233,21 @@ public class GuideService {
         // Save the updated guide
         final Guide updatedGuide = guideRepository.save(guide);
         
+        publishGuideChanged(updatedGuide.getId());
         log.info("Successfully updated guide profile with ID: {}", updatedGuide.getId());
         return mapToResponse(updatedGuide);
     }
     
+    /**
+     * Conditional GET validator for {@link #getGuideProfile}; empty when the guide does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> getGuideProfileVersion(Long guideId) {
+        return guideRepository.findVersionRowById(guideId).stream()
+                .findFirst()
+                .map(row -> ResourceVersion.of("guide-" + guideId, row));
+    }
+    
     /**
      * Get guide profile by ID
      */
@@ -254,59 +293,62 @@ public class GuideService {
         }
         
         guideRepository.deleteById(guideId);
+        publishGuideChanged(guideId);
         log.info("Successfully deleted guide profile with ID: {}", guideId);
     }
     
     /**
-     * Get guides by verification status
+     * Get every guide with a verification status, e.g. the admin PENDING queue
      */
     @Transactional(readOnly = true)
     public List<GuideProfileResponse> getGuidesByVerificationStatus(Guide.VerificationStatus status) {
         log.info("Fetching guides with verification status: {}", status);
         
-        List<Guide> guides = guideRepository.findByVerificationStatus(status);
-        return guides.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return mapListToResponse(guideRepository.findByVerificationStatus(status, LIST_ORDER));
     }
     
     /**
-     * Get guides by verification status with pagination
+     * Get every guide (admin)
      */
     @Transactional(readOnly = true)
-    public Page<GuideProfileResponse> getGuidesByVerificationStatusPaginated(
-            Guide.VerificationStatus status, Pageable pageable) {
-        log.info("Fetching guides with verification status: {} (page: {}, size: {})", 
-                status, pageable.getPageNumber(), pageable.getPageSize());
+    public List<GuideProfileResponse> getAllGuides() {
+        log.info("Fetching all guides");
         
-        Page<Guide> guides = guideRepository.findByVerificationStatus(status, pageable);
-        return guides.map(this::mapToResponse);
+        return mapListToResponse(guideRepository.findAllWithUser(LIST_ORDER));
     }
     
     /**
-     * Get all guides
+     * Get every verified guide (public endpoint)
      */
     @Transactional(readOnly = true)
-    public List<GuideProfileResponse> getAllGuides() {
-        log.info("Fetching all guides");
+    public List<GuideProfileResponse> getAllVerifiedGuides() {
+        log.info("Fetching all verified guides for public endpoint");
         
-        List<Guide> guides = guideRepository.findAll();
-        return guides.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return getGuidesByVerificationStatus(Guide.VerificationStatus.VERIFIED);
     }
     
     /**
-     * Get all verified guides (public endpoint)
+     * Get guides by verification status with pagination
      */
     @Transactional(readOnly = true)
-    public List<GuideProfileResponse> getAllVerifiedGuides() {
-        log.info("Fetching all verified guides for public endpoint");
+    public Page<GuideProfileResponse> getGuidesByVerificationStatusPaginated(
+            Guide.VerificationStatus status, Pageable pageable) {
+        log.info("Fetching guides with verification status: {} (page: {}, size: {})", 
+                status, pageable.getPageNumber(), pageable.getPageSize());
         
-        List<Guide> verifiedGuides = guideRepository.findByVerificationStatus(Guide.VerificationStatus.VERIFIED);
-        return verifiedGuides.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        Page<Guide> guides = guideRepository.findByVerificationStatus(status, capPageSize(pageable));
+        return mapPageToResponse(guides);
+    }
+    
+    /**
+     * Get all guides with pagination (admin)
+     */
+    @Transactional(readOnly = true)
+    public Page<GuideProfileResponse> getAllGuides(Pageable pageable) {
+        log.info("Fetching all guides (page: {}, size: {})", pageable.getPageNumber(), pageable.getPageSize());
+        
+        Page<Guide> guides = guideRepository.findAllWithUser(capPageSize(pageable));
+        return mapPageToResponse(guides);
     }
     
     /**
@@ -317,8 +359,7 @@ public class GuideService {
         log.info("Fetching verified guides with pagination: page {}, size {}", 
                 pageable.getPageNumber(), pageable.getPageSize());
         
-        Page<Guide> verifiedGuides = guideRepository.findByVerificationStatus(Guide.VerificationStatus.VERIFIED, pageable);
-        return verifiedGuides.map(this::mapToResponse);
+        return getGuidesByVerificationStatusPaginated(Guide.VerificationStatus.VERIFIED, pageable);
     }
     
     /**
@@ -337,6 +378,7 @@ public class GuideService {
         guide.setVerificationStatus(Guide.VerificationStatus.VERIFIED);
         Guide updatedGuide = guideRepository.save(guide);
         
+        publishGuideChanged(guideId);
         log.info("Successfully verified guide profile with ID: {}", guideId);
         return mapToResponse(updatedGuide);
     }
@@ -358,14 +400,66 @@ public class GuideService {
         // You could add a rejection reason field to the Guide entity if needed
         Guide updatedGuide = guideRepository.save(guide);
         
+        publishGuideChanged(guideId);
         log.info("Successfully rejected guide profile with ID: {}", guideId);
         return mapToResponse(updatedGuide);
     }
     
+    private void publishGuideChanged(Long guideId) {
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Catalog.GUIDES, guideId));
+    }
+    
+    private static Pageable capPageSize(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return PageRequest.of(0, MAX_PAGE_SIZE);
+        }
+        if (pageable.getPageSize() > MAX_PAGE_SIZE) {
+            return PageRequest.of(pageable.getPageNumber(), MAX_PAGE_SIZE, pageable.getSort());
+        }
+        return pageable;
+    }
+    
+    /**
+     * Map a page of guides (user already loaded) with specialties and languages batch-loaded by guide id,
+     * so the page costs a fixed number of queries regardless of its size
+     */
+    private Page<GuideProfileResponse> mapPageToResponse(Page<Guide> guides) {
+        return new PageImpl<>(mapListToResponse(guides.getContent()), guides.getPageable(), guides.getTotalElements());
+    }
+    
+    /**
+     * Map guides (user already loaded) with specialties and languages batch-loaded CHILD_BATCH_SIZE guide ids
+     * at a time, so a full list costs two queries per batch rather than per guide
+     */
+    private List<GuideProfileResponse> mapListToResponse(List<Guide> guides) {
+        Map<Long, List<GuideSpecialty>> specialtiesByGuideId = new HashMap<>();
+        Map<Long, List<GuideLanguage>> languagesByGuideId = new HashMap<>();
+        for (int from = 0; from < guides.size(); from += CHILD_BATCH_SIZE) {
+            List<Long> guideIds = guides.subList(from, Math.min(from + CHILD_BATCH_SIZE, guides.size())).stream()
+                    .map(Guide::getId)
+                    .collect(Collectors.toList());
+            guideSpecialtyRepository.findByGuideIdIn(guideIds).forEach(specialty -> specialtiesByGuideId
+                    .computeIfAbsent(specialty.getGuide().getId(), id -> new ArrayList<>()).add(specialty));
+            guideLanguageRepository.findByGuideIdIn(guideIds).forEach(language -> languagesByGuideId
+                    .computeIfAbsent(language.getGuide().getId(), id -> new ArrayList<>()).add(language));
+        }
+        
+        return guides.stream()
+                .map(guide -> mapToResponse(guide,
+                        specialtiesByGuideId.getOrDefault(guide.getId(), Collections.emptyList()),
+                        languagesByGuideId.getOrDefault(guide.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
+    }
+    
     /**
      * Map Guide entity to GuideProfileResponse DTO
      */
     private GuideProfileResponse mapToResponse(Guide guide) {
+        return mapToResponse(guide, guide.getSpecialties(), guide.getLanguages());
+    }
+    
+    private GuideProfileResponse mapToResponse(Guide guide, List<GuideSpecialty> specialties,
+                                               List<GuideLanguage> languages) {
         return GuideProfileResponse.builder()
                 .id(guide.getId())
                 .userId(guide.getUser().getId())
@@ -385,10 +479,10 @@ public class GuideService {
                 .verificationDocuments(guide.getVerificationDocuments())
                 .createdAt(guide.getCreatedAt())
                 .updatedAt(guide.getUpdatedAt())
-                .specialties(guide.getSpecialties().stream()
+                .specialties(specialties.stream()
                         .map(this::mapSpecialtyToResponse)
                         .collect(Collectors.toList()))
-                .languages(guide.getLanguages().stream()
+                .languages(languages.stream()
                         .map(this::mapLanguageToResponse)
                         .collect(Collectors.toList()))
                 .build();
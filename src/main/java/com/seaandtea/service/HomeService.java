@@ -0,0 +1,136 @@
+package com.seaandtea.service;
+
+import com.seaandtea.dto.HomeResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Composes the homepage payload from the slider, tour, product and news services in parallel. Each
+ * section runs in its own read-only transaction on a small bounded pool and gets
+ * {@code home.section-timeout-ms} to finish; sections that fail, time out or cannot be scheduled are
+ * left out and listed in {@link HomeResponse#getUnavailableSections()}.
+ *
+ * The pool is shared by all homepage requests and its threads are the only ones holding a section
+ * transaction, so it caps the database connections the homepage can take at once. It is kept at
+ * most half the connection pool, whatever {@code home.executor-threads} says, so concurrent
+ * homepage calls queue for it instead of starving every other endpoint. A timeout only drops the
+ * section from the response: its query keeps running, holding its thread and connection, until it
+ * finishes.
+ *
+ * The pool is private to this service rather than a bean: declaring an Executor bean would replace
+ * Spring Boot's default task executor used by {@code @Async}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HomeService {
+    
+    static final int SECTION_SIZE = 8;
+    
+    private final HomepageSliderService homepageSliderService;
+    private final TourService tourService;
+    private final ProductService productService;
+    private final NewsPostService newsPostService;
+    private final PlatformTransactionManager transactionManager;
+    
+    @Value("${home.section-timeout-ms:1500}")
+    private long sectionTimeoutMs;
+    
+    @Value("${home.executor-threads:2}")
+    private int executorThreads;
+    
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int connectionPoolSize;
+    
+    @Value("${home.queue-capacity:40}")
+    private int queueCapacity;
+    
+    private ThreadPoolExecutor executor;
+    private TransactionTemplate readOnlyTransaction;
+    
+    @PostConstruct
+    void init() {
+        int threads = Math.min(executorThreads, Math.max(1, connectionPoolSize / 2));
+        if (threads < executorThreads) {
+            log.warn("home.executor-threads {} exceeds half the connection pool, using {}", executorThreads, threads);
+        }
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("home-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    public HomeResponse getHome() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sectionTimeoutMs);
+        
+        var slider = submit(homepageSliderService::getAll);
+        var popularTours = submit(() -> tourService.getPopularTours(0, SECTION_SIZE).getContent());
+        var verifiedTours = submit(() -> tourService.getVerifiedTours(
+            PageRequest.of(0, SECTION_SIZE, Sort.by(Sort.Direction.DESC, "createdAt"))).getContent());
+        var bestSellers = submit(() -> productService.getBestSellers(0, SECTION_SIZE).getContent());
+        var latestNews = submit(() -> newsPostService.getPublishedPosts(
+            PageRequest.of(0, SECTION_SIZE, Sort.by(Sort.Direction.DESC, "createdAt")), null).getContent());
+        
+        List<String> unavailable = new ArrayList<>();
+        return HomeResponse.builder()
+            .slider(await("slider", slider, deadline, unavailable))
+            .popularTours(await("popularTours", popularTours, deadline, unavailable))
+            .verifiedTours(await("verifiedTours", verifiedTours, deadline, unavailable))
+            .bestSellers(await("bestSellers", bestSellers, deadline, unavailable))
+            .latestNews(await("latestNews", latestNews, deadline, unavailable))
+            .unavailableSections(unavailable)
+            .build();
+    }
+    
+    private <T> CompletableFuture<T> submit(Supplier<T> section) {
+        try {
+            return CompletableFuture.supplyAsync(() -> readOnlyTransaction.execute(status -> section.get()), executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    // All sections start together, so waiting until the shared deadline gives each the full timeout
+    private <T> T await(String name, CompletableFuture<T> section, long deadline, List<String> unavailable) {
+        try {
+            return section.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Drops the section; a query already running is not interrupted and finishes on its own
+            section.cancel(false);
+            log.warn("Home section {} timed out after {} ms", name, sectionTimeoutMs);
+        } catch (ExecutionException e) {
+            log.warn("Home section {} failed: {}", name, e.getCause().toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        unavailable.add(name);
+        return null;
+    }
+}
@@ -1,29 +1,109 @@
 package com.seaandtea.service;
 
+import com.seaandtea.cache.CacheInvalidationChannel;
 import com.seaandtea.dto.HomepageSliderImageResponse;
 import com.seaandtea.entity.HomepageSliderImage;
+import com.seaandtea.event.CatalogChangedEvent;
 import com.seaandtea.exception.ResourceNotFoundException;
+import com.seaandtea.outbox.CloudinaryImageDeleteHandler;
+import com.seaandtea.outbox.OutboxPublisher;
 import com.seaandtea.repository.HomepageSliderImageRepository;
+import com.seaandtea.util.ResourceVersion;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Slider images change a few times a month but are read on every homepage view, so reads are
+ * served from an immutable in-memory snapshot. A committed add or delete publishes an
+ * invalidation on the {@link CacheInvalidationChannel}, and every instance (this one included)
+ * then rebuilds its snapshot from the database and swaps it in atomically.
+ *
+ * Each invalidation bumps a generation; a snapshot loaded for an older generation is never served,
+ * so a rebuild racing a later change can't leave stale images behind.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class HomepageSliderService {
 
+    static final String INVALIDATION_TOPIC = "homepage-slider";
+
     private final HomepageSliderImageRepository repository;
-    private final FileUploadService fileUploadService;
+    private final OutboxPublisher outboxPublisher;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheInvalidationChannel invalidationChannel;
+
+    private record Snapshot(long generation, List<HomepageSliderImageResponse> images, ResourceVersion version) {
+    }
+
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    @PostConstruct
+    void subscribe() {
+        invalidationChannel.subscribe(INVALIDATION_TOPIC, this::refresh);
+    }
 
+    /**
+     * Conditional GET validator for {@link #getAll()}, hashed from the snapshot's content so every
+     * instance serving the same images returns the same ETag
+     */
+    public ResourceVersion getVersion() {
+        return current().version();
+    }
+
+    /**
+     * Slider images in display order; the returned list is shared and unmodifiable
+     */
     public List<HomepageSliderImageResponse> getAll() {
-        return repository.findAllByOrderBySortOrderAsc().stream()
+        return current().images();
+    }
+
+    /**
+     * Marks the snapshot stale and rebuilds it. Runs on every instance when the slider changes.
+     */
+    public void refresh() {
+        generation.incrementAndGet();
+        current();
+    }
+
+    private Snapshot current() {
+        Snapshot cached = snapshot.get();
+        if (cached != null && cached.generation() == generation.get()) {
+            return cached;
+        }
+        Snapshot loaded = load(generation.get());
+        // Keep whichever snapshot was loaded for the newer generation
+        return snapshot.accumulateAndGet(loaded,
+                (existing, fresh) -> existing != null && existing.generation() > fresh.generation() ? existing : fresh);
+    }
+
+    private Snapshot load(long forGeneration) {
+        List<HomepageSliderImageResponse> images = repository.findAllByOrderBySortOrderAsc().stream()
             .map(this::toResponse)
-            .collect(Collectors.toList());
+            .toList();
+        Object[] parts = images.stream()
+            .map(image -> image.getId() + ":" + image.getSortOrder() + ":" + image.getImageUrl() + ":" + image.getAltText())
+            .toArray();
+        log.debug("Loaded homepage slider snapshot: {} images, generation {}", images.size(), forGeneration);
+        return new Snapshot(forGeneration, images, ResourceVersion.of("homepage-slider", parts));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.getCatalog() == CatalogChangedEvent.Catalog.HOMEPAGE_SLIDER) {
+            invalidationChannel.publish(INVALIDATION_TOPIC);
+        }
     }
 
     @Transactional
@@ -35,6 +115,7 @@ public class HomepageSliderService {
             .altText(altText)
             .build();
         entity = repository.save(entity);
+        publishSliderChanged(entity.getId());
         log.info("Homepage slider image added: id={}", entity.getId());
         return toResponse(entity);
     }
@@ -43,15 +124,17 @@ public class HomepageSliderService {
     public void deleteById(Long id) {
         HomepageSliderImage image = repository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("HomepageSliderImage", id));
-        try {
-            fileUploadService.deleteImage(image.getImageUrl());
-        } catch (Exception e) {
-            log.warn("Could not delete image from Cloudinary: {}", image.getImageUrl(), e);
-        }
         repository.delete(image);
+        // Removed from Cloudinary after commit, outside this transaction
+        outboxPublisher.publish(CloudinaryImageDeleteHandler.TYPE, CloudinaryImageDeleteHandler.payload(image.getImageUrl()));
+        publishSliderChanged(id);
         log.info("Homepage slider image deleted: id={}", id);
     }
 
+    private void publishSliderChanged(Long imageId) {
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Catalog.HOMEPAGE_SLIDER, imageId));
+    }
+
     private HomepageSliderImageResponse toResponse(HomepageSliderImage entity) {
         return HomepageSliderImageResponse.builder()
             .id(entity.getId())
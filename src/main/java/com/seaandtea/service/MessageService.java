@@ -1,5 +1,6 @@
 package com.seaandtea.service;
 
+import com.seaandtea.config.MetricsConfig;
 import com.seaandtea.dto.ConversationResponse;
 import com.seaandtea.dto.MessageCreateRequest;
 import com.seaandtea.dto.MessageResponse;
@@ -7,9 +8,12 @@ import com.seaandtea.entity.Booking;
 import com.seaandtea.entity.Message;
 import com.seaandtea.entity.User;
 import com.seaandtea.exception.ResourceNotFoundException;
+import com.seaandtea.mail.MailService;
+import com.seaandtea.mail.MailTemplate;
 import com.seaandtea.repository.BookingRepository;
 import com.seaandtea.repository.MessageRepository;
 import com.seaandtea.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -23,15 +27,18 @@ import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class MessageService {
 
     private final MessageRepository messageRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
+    private final MailService mailService;
 
     @Transactional
     public MessageResponse sendMessage(MessageCreateRequest request, String senderEmail) {
@@ -58,6 +65,11 @@ public class MessageService {
                 .isRead(false)
                 .build();
         message = messageRepository.save(message);
+        // Several messages in a row reach the receiver as one "you have N new messages" email
+        mailService.enqueueDigest(MailTemplate.NEW_MESSAGE, receiver.getEmail(), Map.of(
+                "recipientName", receiver.getFirstName(),
+                "senderName", sender.getFirstName() + " " + sender.getLastName(),
+                "preview", mailPreview(message.getMessage())), "new-messages:" + receiver.getId());
 
         log.info("Message sent from user {} to user {}", sender.getId(), receiver.getId());
         return toMessageResponse(message);
@@ -151,4 +163,8 @@ public class MessageService {
                 .createdAt(m.getCreatedAt())
                 .build();
     }
+
+    private static String mailPreview(String text) {
+        return text.length() > 140 ? text.substring(0, 137) + "..." : text;
+    }
 }
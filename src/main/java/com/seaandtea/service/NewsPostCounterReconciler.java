@@ -0,0 +1,32 @@
+package com.seaandtea.service;
+
+import com.seaandtea.repository.NewsPostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Periodically recounts likes and comments and rewrites {@code news_posts.like_count} /
+ * {@code comment_count} where they disagree, e.g. after manual SQL or a write that raced this job.
+ * Only drifted rows are updated, so a healthy run changes nothing.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NewsPostCounterReconciler {
+
+    private final NewsPostRepository newsPostRepository;
+
+    @Scheduled(initialDelayString = "${news.counter-reconcile.initial-delay-ms:60000}",
+            fixedDelayString = "${news.counter-reconcile.interval-ms:3600000}")
+    @Transactional
+    public int reconcile() {
+        int fixed = newsPostRepository.reconcileCounters();
+        if (fixed > 0) {
+            log.warn("Corrected like/comment counters on {} news posts", fixed);
+        }
+        return fixed;
+    }
+}
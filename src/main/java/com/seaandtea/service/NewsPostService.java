@@ -3,22 +3,27 @@ package com.seaandtea.service;
 import com.seaandtea.dto.*;
 import com.seaandtea.entity.NewsPost;
 import com.seaandtea.entity.NewsPostComment;
-import com.seaandtea.entity.NewsPostLike;
 import com.seaandtea.entity.User;
 import com.seaandtea.entity.User.UserRole;
+import com.seaandtea.event.CatalogChangedEvent;
 import com.seaandtea.exception.ResourceNotFoundException;
 import com.seaandtea.repository.NewsPostCommentRepository;
 import com.seaandtea.repository.NewsPostLikeRepository;
 import com.seaandtea.repository.NewsPostRepository;
 import com.seaandtea.repository.UserRepository;
+import com.seaandtea.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,12 +31,14 @@ import java.util.stream.Collectors;
 @Slf4j
 public class NewsPostService {
 
-    private static final int BODY_SUMMARY_MAX_LENGTH = 200;
+    private static final int DETAIL_COMMENT_LIMIT = 10;
+    private static final int MAX_COMMENT_PAGE_SIZE = 100;
 
     private final NewsPostRepository newsPostRepository;
     private final NewsPostLikeRepository likeRepository;
     private final NewsPostCommentRepository commentRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public NewsPostResponse createPost(NewsPostCreateRequest request, String authorEmail) {
@@ -40,10 +47,12 @@ public class NewsPostService {
         NewsPost post = NewsPost.builder()
                 .title(request.getTitle())
                 .body(request.getBody())
+                .summary(NewsPost.summarize(request.getBody()))
                 .author(author)
                 .isPublished(request.getIsPublished() != null ? request.getIsPublished() : true)
                 .build();
         post = newsPostRepository.save(post);
+        publishNewsChanged(post.getId());
         log.info("News post created: id={} by {}", post.getId(), authorEmail);
         return toPostResponse(post, null);
     }
@@ -57,11 +66,13 @@ public class NewsPostService {
         }
         if (request.getBody() != null) {
             post.setBody(request.getBody());
+            post.setSummary(NewsPost.summarize(request.getBody()));
         }
         if (request.getIsPublished() != null) {
             post.setIsPublished(request.getIsPublished());
         }
         post = newsPostRepository.save(post);
+        publishNewsChanged(id);
         log.info("News post updated: id={}", id);
         return toPostResponse(post, null);
     }
@@ -74,17 +85,19 @@ public class NewsPostService {
         likeRepository.deleteByPostId(id);
         commentRepository.deleteByPostId(id);
         newsPostRepository.deleteById(id);
+        publishNewsChanged(id);
         log.info("News post deleted: id={}", id);
     }
 
     public Page<NewsPostListResponse> getPublishedPosts(Pageable pageable, Long currentUserId) {
-        return newsPostRepository.findPublishedOrderByCreatedAtDesc(pageable)
-                .map(p -> toListResponse(p, currentUserId));
+        Page<NewsPostListResponse> posts = newsPostRepository.findPublishedListItems(pageable);
+        Set<Long> likedPostIds = likedPostIds(posts.getContent(), currentUserId);
+        posts.forEach(p -> p.setLikedByCurrentUser(likedPostIds.contains(p.getId())));
+        return posts;
     }
 
     public Page<NewsPostListResponse> getAllPostsAdmin(Pageable pageable) {
-        return newsPostRepository.findAllOrderByCreatedAtDesc(pageable)
-                .map(p -> toListResponse(p, null));
+        return newsPostRepository.findAllListItems(pageable);
     }
 
     public NewsPostResponse getPostById(Long id, Long currentUserId, boolean isAdmin) {
@@ -93,21 +106,26 @@ public class NewsPostService {
         if (Boolean.FALSE.equals(post.getIsPublished()) && !isAdmin) {
             throw new ResourceNotFoundException("NewsPost", id);
         }
-        List<NewsPostComment> comments = commentRepository.findByPostIdOrderByCreatedAtAsc(id, Pageable.unpaged()).getContent();
-        return toPostResponseWithComments(post, currentUserId, comments);
+        NewsPostCommentPage comments = commentPage(id, null, DETAIL_COMMENT_LIMIT);
+        NewsPostResponse response = toPostResponse(post, currentUserId);
+        response.setComments(comments.getComments());
+        response.setCommentsNextCursor(comments.getNextCursor());
+        return response;
     }
 
     @Transactional
     public void likePost(Long postId, String userEmail) {
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
-        NewsPost post = newsPostRepository.findById(postId)
-                .orElseThrow(() -> new ResourceNotFoundException("NewsPost", postId));
-        if (likeRepository.existsByPostIdAndUserId(postId, user.getId())) {
-            throw new IllegalStateException("You have already liked this post");
+        if (!newsPostRepository.existsById(postId)) {
+            throw new ResourceNotFoundException("NewsPost", postId);
+        }
+        // Liking twice is a no-op; only a row that was actually inserted moves the counter
+        if (likeRepository.insertIfAbsent(postId, user.getId()) == 0) {
+            return;
         }
-        NewsPostLike like = NewsPostLike.builder().post(post).user(user).build();
-        likeRepository.save(like);
+        newsPostRepository.incrementLikeCount(postId, 1);
+        publishNewsChanged(postId);
         log.debug("Post {} liked by user {}", postId, userEmail);
     }
 
@@ -115,9 +133,11 @@ public class NewsPostService {
     public void unlikePost(Long postId, String userEmail) {
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
-        NewsPostLike like = likeRepository.findByPostIdAndUserId(postId, user.getId())
-                .orElseThrow(() -> new IllegalStateException("You have not liked this post"));
-        likeRepository.delete(like);
+        if (likeRepository.deleteByPostIdAndUserIdReturningCount(postId, user.getId()) == 0) {
+            return;
+        }
+        newsPostRepository.incrementLikeCount(postId, -1);
+        publishNewsChanged(postId);
         log.debug("Post {} unliked by user {}", postId, userEmail);
     }
 
@@ -136,6 +156,8 @@ public class NewsPostService {
                 .text(request.getText())
                 .build();
         comment = commentRepository.save(comment);
+        newsPostRepository.incrementCommentCount(postId, 1);
+        publishNewsChanged(postId);
         log.info("Comment added to post {} by {}", postId, userEmail);
         return toCommentResponse(comment);
     }
@@ -154,51 +176,60 @@ public class NewsPostService {
             throw new IllegalStateException("You can only delete your own comment");
         }
         commentRepository.delete(comment);
+        newsPostRepository.incrementCommentCount(postId, -1);
+        publishNewsChanged(postId);
         log.info("Comment {} deleted from post {} by {}", commentId, postId, userEmail);
     }
 
-    public Page<NewsPostCommentResponse> getComments(Long postId, Pageable pageable) {
+    /**
+     * Comments oldest first, continuing after {@code cursor} (a previous page's {@code nextCursor};
+     * null or blank for the first page).
+     */
+    public NewsPostCommentPage getComments(Long postId, String cursor, int size) {
         if (!newsPostRepository.existsById(postId)) {
             throw new ResourceNotFoundException("NewsPost", postId);
         }
-        return commentRepository.findByPostIdOrderByCreatedAtAsc(postId, pageable)
-                .map(this::toCommentResponse);
+        KeysetCursor after = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+        return commentPage(postId, after, Math.max(1, Math.min(size, MAX_COMMENT_PAGE_SIZE)));
+    }
+
+    private NewsPostCommentPage commentPage(Long postId, KeysetCursor after, int size) {
+        // One extra row tells whether another page follows, without a count query
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<NewsPostComment> rows = after == null
+                ? commentRepository.findFirstByPostId(postId, limit)
+                : commentRepository.findByPostIdAfter(postId, after.createdAt(), after.id(), limit);
+        boolean hasMore = rows.size() > size;
+        List<NewsPostComment> page = hasMore ? rows.subList(0, size) : rows;
+        NewsPostComment last = page.isEmpty() ? null : page.get(page.size() - 1);
+        return NewsPostCommentPage.builder()
+                .comments(page.stream().map(this::toCommentResponse).collect(Collectors.toList()))
+                .nextCursor(hasMore ? new KeysetCursor(last.getCreatedAt(), last.getId()).encode() : null)
+                .hasMore(hasMore)
+                .build();
     }
 
     private String authorDisplayName(User author) {
         return author.getFirstName() + " " + author.getLastName();
     }
 
-    private String bodySummary(String body) {
-        if (body == null) return "";
-        if (body.length() <= BODY_SUMMARY_MAX_LENGTH) return body;
-        return body.substring(0, BODY_SUMMARY_MAX_LENGTH) + "...";
+    private static long countOf(Long counter) {
+        return counter != null ? counter : 0;
     }
 
     private boolean isLikedByUser(Long postId, Long userId) {
         return userId != null && likeRepository.existsByPostIdAndUserId(postId, userId);
     }
 
-    private NewsPostListResponse toListResponse(NewsPost post, Long currentUserId) {
-        long likeCount = likeRepository.countByPostId(post.getId());
-        long commentCount = commentRepository.countByPostId(post.getId());
-        return NewsPostListResponse.builder()
-                .id(post.getId())
-                .title(post.getTitle())
-                .bodySummary(bodySummary(post.getBody()))
-                .authorId(post.getAuthor().getId())
-                .authorDisplayName(authorDisplayName(post.getAuthor()))
-                .isPublished(Boolean.TRUE.equals(post.getIsPublished()))
-                .createdAt(post.getCreatedAt())
-                .likeCount(likeCount)
-                .commentCount(commentCount)
-                .likedByCurrentUser(isLikedByUser(post.getId(), currentUserId))
-                .build();
+    private Set<Long> likedPostIds(List<NewsPostListResponse> posts, Long userId) {
+        if (userId == null || posts.isEmpty()) {
+            return Set.of();
+        }
+        List<Long> postIds = posts.stream().map(NewsPostListResponse::getId).toList();
+        return new HashSet<>(likeRepository.findLikedPostIds(userId, postIds));
     }
 
     private NewsPostResponse toPostResponse(NewsPost post, Long currentUserId) {
-        long likeCount = likeRepository.countByPostId(post.getId());
-        long commentCount = commentRepository.countByPostId(post.getId());
         return NewsPostResponse.builder()
                 .id(post.getId())
                 .title(post.getTitle())
@@ -208,19 +239,13 @@ public class NewsPostService {
                 .isPublished(Boolean.TRUE.equals(post.getIsPublished()))
                 .createdAt(post.getCreatedAt())
                 .updatedAt(post.getUpdatedAt())
-                .likeCount(likeCount)
-                .commentCount(commentCount)
+                .likeCount(countOf(post.getLikeCount()))
+                .commentCount(countOf(post.getCommentCount()))
                 .likedByCurrentUser(isLikedByUser(post.getId(), currentUserId))
                 .comments(null)
                 .build();
     }
 
-    private NewsPostResponse toPostResponseWithComments(NewsPost post, Long currentUserId, List<NewsPostComment> comments) {
-        NewsPostResponse resp = toPostResponse(post, currentUserId);
-        resp.setComments(comments.stream().map(this::toCommentResponse).collect(Collectors.toList()));
-        return resp;
-    }
-
     private NewsPostCommentResponse toCommentResponse(NewsPostComment c) {
         return NewsPostCommentResponse.builder()
                 .id(c.getId())
@@ -0,0 +1,31 @@
+package com.seaandtea.service;
+
+import com.seaandtea.repository.NewsPostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * On startup, fills in {@code news_posts.summary} for posts written before summaries were stored.
+ * Posts that already have one are left alone, so later restarts change nothing.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NewsPostSummaryBackfill {
+
+    private final NewsPostRepository newsPostRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public int backfillSummaries() {
+        int filled = newsPostRepository.backfillSummaries();
+        if (filled > 0) {
+            log.info("Backfilled summaries on {} news posts", filled);
+        }
+        return filled;
+    }
+}
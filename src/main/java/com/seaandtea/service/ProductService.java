@@ -4,11 +4,16 @@ import com.seaandtea.dto.*;
 import com.seaandtea.entity.Product;
 import com.seaandtea.entity.ProductImage;
 import com.seaandtea.entity.Product.ProductCategory;
+import com.seaandtea.event.CatalogChangedEvent;
 import com.seaandtea.exception.ResourceNotFoundException;
+import com.seaandtea.outbox.CloudinaryImageDeleteHandler;
+import com.seaandtea.outbox.OutboxPublisher;
 import com.seaandtea.repository.ProductImageRepository;
 import com.seaandtea.repository.ProductRepository;
+import com.seaandtea.util.ResourceVersion;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -16,10 +21,12 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,7 +36,8 @@ public class ProductService {
 
     private final ProductRepository productRepository;
     private final ProductImageRepository productImageRepository;
-    private final FileUploadService fileUploadService;
+    private final OutboxPublisher outboxPublisher;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ProductResponse createProduct(ProductCreateRequest request) {
@@ -52,6 +60,7 @@ public class ProductService {
         if (request.getImageUrls() != null && !request.getImageUrls().isEmpty()) {
             addImagesToProduct(product, request.getImageUrls(), request.getPrimaryImageIndex() != null ? request.getPrimaryImageIndex() : 0);
         }
+        publishProductChanged(product.getId());
         log.info("Product created with ID: {}", product.getId());
         return toProductResponse(loadProductWithImages(product.getId()));
     }
@@ -83,6 +92,7 @@ public class ProductService {
             }
         }
         product = productRepository.save(product);
+        publishProductChanged(id);
         return toProductResponse(loadProductWithImages(product.getId()));
     }
 
@@ -93,6 +103,7 @@ public class ProductService {
             throw new ResourceNotFoundException("Product", id);
         }
         productRepository.deleteById(id);
+        publishProductChanged(id);
     }
 
     @Transactional(readOnly = true)
@@ -111,6 +122,14 @@ public class ProductService {
         return toProductResponse(product);
     }
 
+    /** Conditional GET validator for {@link #getActiveById}; empty when the product is not active. */
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> getActiveVersion(Long id) {
+        return productRepository.findActiveVersionRowById(id).stream()
+                .findFirst()
+                .map(row -> ResourceVersion.of("product-" + id, row));
+    }
+
     @Transactional(readOnly = true)
     public Page<ProductListResponse> getActiveProducts(ProductCategory category, String searchTerm,
                                                        int page, int size, String sortBy, String sortDirection) {
@@ -167,10 +186,11 @@ public class ProductService {
                 .altText(altText)
                 .build();
         productImageRepository.save(img);
+        publishProductChanged(productId);
         return toProductResponse(loadProductWithImages(productId));
     }
 
-    /** Remove a single image from a product. Deletes from DB and from storage. Admin only. */
+    /** Remove a single image from a product. Deletes from DB; storage is cleaned up via the outbox after commit. Admin only. */
     @Transactional
     public ProductResponse removeImageFromProduct(Long productId, Long imageId) {
         ProductImage image = productImageRepository.findById(imageId)
@@ -180,11 +200,8 @@ public class ProductService {
         }
         String imageUrl = image.getImageUrl();
         productImageRepository.delete(image);
-        try {
-            fileUploadService.deleteImage(imageUrl);
-        } catch (Exception e) {
-            log.warn("Could not delete image from storage: {}", imageUrl, e);
-        }
+        outboxPublisher.publish(CloudinaryImageDeleteHandler.TYPE, CloudinaryImageDeleteHandler.payload(imageUrl));
+        publishProductChanged(productId);
         return toProductResponse(loadProductWithImages(productId));
     }
 
@@ -204,9 +221,16 @@ public class ProductService {
         if (request.getSortOrder() != null) image.setSortOrder(request.getSortOrder());
         if (request.getAltText() != null) image.setAltText(request.getAltText());
         productImageRepository.save(image);
+        // Image edits are not visible in the version row, so bump the product's updatedAt to change its ETag
+        image.getProduct().setUpdatedAt(LocalDateTime.now());
+        publishProductChanged(productId);
         return toProductResponse(loadProductWithImages(productId));
     }
 
+    private void publishProductChanged(Long productId) {
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Catalog.PRODUCTS, productId));
+    }
+
     private Product loadProductWithImages(Long productId) {
         return productRepository.findByIdWithImages(productId).orElse(null);
     }
@@ -0,0 +1,132 @@
+package com.seaandtea.service;
+
+import com.seaandtea.entity.RefreshToken;
+import com.seaandtea.entity.User;
+import com.seaandtea.exception.InvalidRefreshTokenException;
+import com.seaandtea.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Issues and rotates opaque refresh tokens. Clients get 256 random bits; only their SHA-256 hash is
+ * stored, so a database leak doesn't leak usable tokens, and a slow password hash isn't needed
+ * because the tokens can't be guessed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${jwt.refresh-expiration-days:30}")
+    private long refreshExpirationDays;
+
+    /** A user and the new refresh token that replaced the presented one */
+    public record Rotation(User user, String refreshToken) {
+    }
+
+    /**
+     * Starts a new token family for a login or registration
+     */
+    @Transactional
+    public String issue(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        // Expired tokens go at the next login or refresh, so no cleanup job is needed
+        refreshTokenRepository.deleteExpiredByUserId(user.getId(), now);
+        return create(user, UUID.randomUUID().toString(), now);
+    }
+
+    /**
+     * Spends the presented token and returns its successor. A token that was already used or
+     * revoked revokes its whole family, logging out both the legitimate client and whoever copied it.
+     * Spent tokens are kept until they expire so that any earlier token of the family, not just the
+     * last one, is recognised when it is replayed.
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotation rotate(String rawToken) {
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken token = refreshTokenRepository.findByTokenHashWithUser(hash(rawToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token"));
+
+        // Reuse is checked before expiry so a replayed token revokes its family even once it has expired
+        if (token.getRevokedAt() != null || token.getUsedAt() != null) {
+            throw reuseDetected(token, now);
+        }
+        if (token.getExpiresAt().isBefore(now)) {
+            throw new InvalidRefreshTokenException("Refresh token has expired");
+        }
+        // Conditional update so two concurrent refreshes with one token can't both succeed
+        if (refreshTokenRepository.markUsed(token.getId(), now) == 0) {
+            throw reuseDetected(token, now);
+        }
+        refreshTokenRepository.deleteExpiredInFamily(token.getFamilyId(), now);
+        User user = token.getUser();
+        if (Boolean.FALSE.equals(user.getIsActive())) {
+            refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+            throw new InvalidRefreshTokenException("Account is disabled");
+        }
+        return new Rotation(user, create(user, token.getFamilyId(), now));
+    }
+
+    /**
+     * Logs out the session the token belongs to. Unknown tokens are ignored so logout is idempotent.
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHashWithUser(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    }
+
+    /**
+     * Drops every session of a user, e.g. when an admin bans or removes the account
+     */
+    @Transactional
+    public void deleteAllForUser(Long userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    private InvalidRefreshTokenException reuseDetected(RefreshToken token, LocalDateTime now) {
+        int revoked = refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+        log.warn("Refresh token reuse for user {}; revoked {} tokens in family {}",
+                token.getUser().getId(), revoked, token.getFamilyId());
+        return new InvalidRefreshTokenException("Refresh token has already been used");
+    }
+
+    private String create(User user, String familyId, LocalDateTime now) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(RefreshToken.builder()
+                .user(user)
+                .tokenHash(hash(rawToken))
+                .familyId(familyId)
+                .expiresAt(now.plusDays(refreshExpirationDays))
+                .build());
+        return rawToken;
+    }
+
+    static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
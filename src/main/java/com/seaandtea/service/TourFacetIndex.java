@@ -0,0 +1,334 @@
+package com.seaandtea.service;
+
+import com.seaandtea.dto.TourFacetsResponse;
+import com.seaandtea.dto.TourFacetsResponse.FacetBucket;
+import com.seaandtea.dto.TourFilterRequest;
+import com.seaandtea.entity.Tour.TourCategory;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable bitset index over the facet columns of active tours. Each tour gets a position; every
+ * facet value keeps a {@link BitSet} of positions, so a filter is a handful of AND operations and a
+ * facet count is a cardinality. Built in one pass from {@link Row}s and replaced as a whole.
+ */
+final class TourFacetIndex {
+
+    static final int LANGUAGE_FACET_LIMIT = 20;
+
+    // Price bands: lower bound inclusive, upper bound exclusive, last band open-ended
+    private static final String[] PRICE_BAND_KEYS = {"UNDER_25", "25_TO_50", "50_TO_100", "100_TO_200", "200_PLUS"};
+    private static final long[] PRICE_BAND_UPPER_CENTS = {2_500, 5_000, 10_000, 20_000};
+
+    // Duration bands in whole hours, both bounds inclusive, last band open-ended
+    private static final String[] DURATION_BAND_KEYS = {"UP_TO_2H", "HALF_DAY", "FULL_DAY", "MULTI_DAY"};
+    private static final int[] DURATION_BAND_UPPER_HOURS = {2, 4, 8};
+
+    record Row(Long id, TourCategory category, BigDecimal pricePerPerson, Integer durationHours,
+               Boolean instantBooking, List<String> languages, List<String> highlights) {
+    }
+
+    private final long version;
+    private final Instant builtAt;
+    private final int size;
+    private final Map<Long, Integer> positionById;
+    private final long[] priceCents;
+    private final int[] durationHours;
+    private final Map<TourCategory, BitSet> byCategory = new EnumMap<>(TourCategory.class);
+    private final BitSet instantBooking = new BitSet();
+    private final Map<String, BitSet> byLanguage = new HashMap<>();
+    private final Map<String, String> languageLabels = new HashMap<>();
+    private final Map<String, BitSet> byHighlight = new HashMap<>();
+
+    private TourFacetIndex(long version, List<Row> rows) {
+        this.version = version;
+        this.builtAt = Instant.now();
+        this.size = rows.size();
+        this.positionById = new HashMap<>(size * 2);
+        this.priceCents = new long[size];
+        this.durationHours = new int[size];
+        for (TourCategory category : TourCategory.values()) {
+            byCategory.put(category, new BitSet(size));
+        }
+        for (int position = 0; position < size; position++) {
+            Row row = rows.get(position);
+            positionById.put(row.id(), position);
+            priceCents[position] = row.pricePerPerson() != null ? toCents(row.pricePerPerson(), RoundingMode.HALF_UP) : 0L;
+            durationHours[position] = row.durationHours() != null ? row.durationHours() : 0;
+            if (row.category() != null) {
+                byCategory.get(row.category()).set(position);
+            }
+            if (Boolean.TRUE.equals(row.instantBooking())) {
+                instantBooking.set(position);
+            }
+            if (row.languages() != null) {
+                for (String language : row.languages()) {
+                    if (language == null || language.isBlank()) {
+                        continue;
+                    }
+                    String key = languageKey(language);
+                    byLanguage.computeIfAbsent(key, k -> new BitSet(size)).set(position);
+                    languageLabels.putIfAbsent(key, language.trim());
+                }
+            }
+            if (row.highlights() != null) {
+                for (String highlight : row.highlights()) {
+                    if (highlight != null && !highlight.isBlank()) {
+                        byHighlight.computeIfAbsent(highlight.trim(), k -> new BitSet(size)).set(position);
+                    }
+                }
+            }
+        }
+    }
+
+    static TourFacetIndex build(long version, List<Row> rows) {
+        return new TourFacetIndex(version, rows);
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    Instant getBuiltAt() {
+        return builtAt;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Positions of the given tour ids; ids that are not in the index (inactive, or newer than the index) are ignored
+     */
+    BitSet positionsOf(Collection<Long> tourIds) {
+        BitSet positions = new BitSet(size);
+        for (Long id : tourIds) {
+            Integer position = positionById.get(id);
+            if (position != null) {
+                positions.set(position);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Facet counts for a filter. The search term is not evaluated here; pass the positions matching it
+     * (see {@link #positionsOf}) or null when there is no search term.
+     */
+    TourFacetsResponse facets(TourFilterRequest filter, BitSet searchMatches) {
+        BitSet base = new BitSet(size);
+        base.set(0, size);
+        if (searchMatches != null) {
+            base.and(searchMatches);
+        }
+
+        BitSet category = filter.getCategory() != null ? byCategory.get(filter.getCategory()) : null;
+        BitSet price = priceMask(filter.getMinPrice(), filter.getMaxPrice());
+        BitSet duration = durationMask(filter.getMinDuration(), filter.getMaxDuration());
+        BitSet instant = instantBookingMask(filter.getInstantBooking());
+        BitSet languages = languagesMask(filter.getLanguages());
+        BitSet highlight = highlightMask(filter.getHighlightKeyword());
+        if (highlight != null) {
+            base.and(highlight);
+        }
+
+        // Languages are an all-of filter, so their counts include the current language selection
+        return TourFacetsResponse.builder()
+                .totalMatches(intersect(base, category, price, duration, instant, languages).cardinality())
+                .categories(categoryBuckets(intersect(base, price, duration, instant, languages)))
+                .priceBands(priceBandBuckets(intersect(base, category, duration, instant, languages)))
+                .durationBands(durationBandBuckets(intersect(base, category, price, instant, languages)))
+                .languages(languageBuckets(intersect(base, category, price, duration, instant, languages)))
+                .instantBooking(instantBookingBuckets(intersect(base, category, price, duration, languages)))
+                .build();
+    }
+
+    private List<FacetBucket> categoryBuckets(BitSet matches) {
+        List<FacetBucket> buckets = new ArrayList<>(byCategory.size());
+        byCategory.forEach((category, positions) ->
+                buckets.add(bucket(category.name(), andCardinality(matches, positions), null, null)));
+        return buckets;
+    }
+
+    private List<FacetBucket> priceBandBuckets(BitSet matches) {
+        long[] counts = new long[PRICE_BAND_KEYS.length];
+        for (int position = matches.nextSetBit(0); position >= 0; position = matches.nextSetBit(position + 1)) {
+            counts[priceBand(priceCents[position])]++;
+        }
+        List<FacetBucket> buckets = new ArrayList<>(counts.length);
+        for (int band = 0; band < counts.length; band++) {
+            BigDecimal from = band == 0 ? null : centsToAmount(PRICE_BAND_UPPER_CENTS[band - 1]);
+            BigDecimal to = band < PRICE_BAND_UPPER_CENTS.length ? centsToAmount(PRICE_BAND_UPPER_CENTS[band]) : null;
+            buckets.add(bucket(PRICE_BAND_KEYS[band], counts[band], from, to));
+        }
+        return buckets;
+    }
+
+    private List<FacetBucket> durationBandBuckets(BitSet matches) {
+        long[] counts = new long[DURATION_BAND_KEYS.length];
+        for (int position = matches.nextSetBit(0); position >= 0; position = matches.nextSetBit(position + 1)) {
+            counts[durationBand(durationHours[position])]++;
+        }
+        List<FacetBucket> buckets = new ArrayList<>(counts.length);
+        for (int band = 0; band < counts.length; band++) {
+            BigDecimal from = band == 0 ? null : BigDecimal.valueOf(DURATION_BAND_UPPER_HOURS[band - 1] + 1L);
+            BigDecimal to = band < DURATION_BAND_UPPER_HOURS.length ? BigDecimal.valueOf(DURATION_BAND_UPPER_HOURS[band]) : null;
+            buckets.add(bucket(DURATION_BAND_KEYS[band], counts[band], from, to));
+        }
+        return buckets;
+    }
+
+    private List<FacetBucket> languageBuckets(BitSet matches) {
+        List<FacetBucket> buckets = new ArrayList<>();
+        byLanguage.forEach((key, positions) -> {
+            long count = andCardinality(matches, positions);
+            if (count > 0) {
+                buckets.add(bucket(languageLabels.get(key), count, null, null));
+            }
+        });
+        buckets.sort(Comparator.comparingLong(FacetBucket::getCount).reversed()
+                .thenComparing(FacetBucket::getKey, String.CASE_INSENSITIVE_ORDER));
+        return buckets.size() > LANGUAGE_FACET_LIMIT ? new ArrayList<>(buckets.subList(0, LANGUAGE_FACET_LIMIT)) : buckets;
+    }
+
+    private List<FacetBucket> instantBookingBuckets(BitSet matches) {
+        long instant = andCardinality(matches, instantBooking);
+        return List.of(
+                bucket("true", instant, null, null),
+                bucket("false", matches.cardinality() - instant, null, null));
+    }
+
+    private BitSet priceMask(BigDecimal minPrice, BigDecimal maxPrice) {
+        if (minPrice == null && maxPrice == null) {
+            return null;
+        }
+        long min = minPrice != null ? toCents(minPrice, RoundingMode.CEILING) : Long.MIN_VALUE;
+        long max = maxPrice != null ? toCents(maxPrice, RoundingMode.FLOOR) : Long.MAX_VALUE;
+        BitSet mask = new BitSet(size);
+        for (int position = 0; position < size; position++) {
+            if (priceCents[position] >= min && priceCents[position] <= max) {
+                mask.set(position);
+            }
+        }
+        return mask;
+    }
+
+    private BitSet durationMask(Integer minDuration, Integer maxDuration) {
+        if (minDuration == null && maxDuration == null) {
+            return null;
+        }
+        int min = minDuration != null ? minDuration : Integer.MIN_VALUE;
+        int max = maxDuration != null ? maxDuration : Integer.MAX_VALUE;
+        BitSet mask = new BitSet(size);
+        for (int position = 0; position < size; position++) {
+            if (durationHours[position] >= min && durationHours[position] <= max) {
+                mask.set(position);
+            }
+        }
+        return mask;
+    }
+
+    private BitSet languagesMask(List<String> languages) {
+        if (languages == null) {
+            return null;
+        }
+        BitSet mask = null;
+        for (String language : languages) {
+            if (language == null || language.isBlank()) {
+                continue;
+            }
+            BitSet positions = byLanguage.getOrDefault(languageKey(language), new BitSet());
+            if (mask == null) {
+                mask = (BitSet) positions.clone();
+            } else {
+                mask.and(positions);
+            }
+        }
+        return mask;
+    }
+
+    private BitSet highlightMask(String highlight) {
+        if (highlight == null || highlight.isBlank()) {
+            return null;
+        }
+        return byHighlight.getOrDefault(highlight.trim(), new BitSet());
+    }
+
+    private BitSet instantBookingMask(Boolean instant) {
+        if (instant == null) {
+            return null;
+        }
+        if (instant) {
+            return instantBooking;
+        }
+        BitSet notInstant = (BitSet) instantBooking.clone();
+        notInstant.flip(0, size);
+        return notInstant;
+    }
+
+    static String languageKey(String language) {
+        return language.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static BitSet intersect(BitSet base, BitSet... masks) {
+        BitSet result = (BitSet) base.clone();
+        for (BitSet mask : masks) {
+            if (mask != null) {
+                result.and(mask);
+            }
+        }
+        return result;
+    }
+
+    private static long andCardinality(BitSet a, BitSet b) {
+        BitSet both = (BitSet) a.clone();
+        both.and(b);
+        return both.cardinality();
+    }
+
+    private static int priceBand(long cents) {
+        for (int band = 0; band < PRICE_BAND_UPPER_CENTS.length; band++) {
+            if (cents < PRICE_BAND_UPPER_CENTS[band]) {
+                return band;
+            }
+        }
+        return PRICE_BAND_UPPER_CENTS.length;
+    }
+
+    private static int durationBand(int hours) {
+        for (int band = 0; band < DURATION_BAND_UPPER_HOURS.length; band++) {
+            if (hours <= DURATION_BAND_UPPER_HOURS[band]) {
+                return band;
+            }
+        }
+        return DURATION_BAND_UPPER_HOURS.length;
+    }
+
+    private static long toCents(BigDecimal amount, RoundingMode roundingMode) {
+        return amount.movePointRight(2).setScale(0, roundingMode).longValue();
+    }
+
+    private static BigDecimal centsToAmount(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private static FacetBucket bucket(String key, long count, BigDecimal from, BigDecimal to) {
+        return FacetBucket.builder()
+                .key(key)
+                .count(count)
+                .from(from)
+                .to(to)
+                .build();
+    }
+}
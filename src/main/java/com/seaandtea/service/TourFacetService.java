@@ -0,0 +1,156 @@
+package com.seaandtea.service;
+
+import com.seaandtea.dto.TourFacetsResponse;
+import com.seaandtea.dto.TourFilterRequest;
+import com.seaandtea.entity.Tour.TourCategory;
+import com.seaandtea.event.CatalogChangedEvent;
+import com.seaandtea.repository.TourRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Facet counts for the tour filter sidebar, served from an in-memory {@link TourFacetIndex} of active
+ * tours. The index is rebuilt lazily after a committed tour write (or when older than
+ * {@code tours.facets.max-age-seconds}, which covers writes made by other instances), and results
+ * for recent filter combinations are kept in a small LRU cache tied to the index version.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TourFacetService {
+
+    private static final int RESULT_CACHE_SIZE = 256;
+
+    private final TourRepository tourRepository;
+
+    @Value("${tours.facets.max-age-seconds:300}")
+    private long maxAgeSeconds;
+
+    private final AtomicLong indexVersions = new AtomicLong();
+
+    private final Map<String, TourFacetsResponse> resultCache = Collections.synchronizedMap(
+            new LinkedHashMap<>(RESULT_CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, TourFacetsResponse> eldest) {
+                    return size() > RESULT_CACHE_SIZE;
+                }
+            });
+
+    private volatile TourFacetIndex index;
+    private volatile boolean stale = true;
+
+    @Transactional(readOnly = true)
+    public TourFacetsResponse getFacets(TourFilterRequest filter) {
+        TourFacetIndex current = currentIndex();
+        String searchTerm = normalizedSearchTerm(filter);
+        String cacheKey = current.getVersion() + "|" + filterKey(filter, searchTerm);
+
+        TourFacetsResponse cached = resultCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        BitSet searchMatches = null;
+        if (searchTerm != null) {
+            searchMatches = current.positionsOf(tourRepository.findActiveIdsMatching("%" + searchTerm + "%"));
+        }
+        TourFacetsResponse facets = current.facets(filter, searchMatches);
+        resultCache.put(cacheKey, facets);
+        return facets;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.getCatalog() == CatalogChangedEvent.Catalog.TOURS) {
+            log.debug("Tour catalog changed ({}), facet index marked stale", event);
+            stale = true;
+        }
+    }
+
+    private TourFacetIndex currentIndex() {
+        TourFacetIndex current = index;
+        if (isFresh(current)) {
+            return current;
+        }
+        synchronized (this) {
+            current = index;
+            if (isFresh(current)) {
+                return current;
+            }
+            // Cleared before loading so that a write committed during the rebuild triggers another one
+            stale = false;
+            List<TourFacetIndex.Row> rows = new ArrayList<>();
+            for (Object[] row : tourRepository.findActiveFacetRows()) {
+                rows.add(toRow(row));
+            }
+            current = TourFacetIndex.build(indexVersions.incrementAndGet(), rows);
+            index = current;
+            resultCache.clear();
+            log.info("Built tour facet index version {} with {} active tours", current.getVersion(), current.size());
+            return current;
+        }
+    }
+
+    private boolean isFresh(TourFacetIndex current) {
+        return current != null && !stale
+                && current.getBuiltAt().plusSeconds(maxAgeSeconds).isAfter(Instant.now());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TourFacetIndex.Row toRow(Object[] row) {
+        return new TourFacetIndex.Row(
+                (Long) row[0],
+                (TourCategory) row[1],
+                (BigDecimal) row[2],
+                (Integer) row[3],
+                (Boolean) row[4],
+                (List<String>) row[5],
+                (List<String>) row[6]);
+    }
+
+    private static String normalizedSearchTerm(TourFilterRequest filter) {
+        if (filter.getSearchTerm() == null || filter.getSearchTerm().trim().isEmpty()) {
+            return null;
+        }
+        return filter.getSearchTerm().trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String filterKey(TourFilterRequest filter, String searchTerm) {
+        return filter.getCategory() + "|" + stripped(filter.getMinPrice()) + "|" + stripped(filter.getMaxPrice()) + "|"
+                + filter.getMinDuration() + "|" + filter.getMaxDuration() + "|" + filter.getInstantBooking() + "|"
+                + languagesKey(filter.getLanguages()) + "|" + filter.getHighlightKeyword() + "|" + searchTerm;
+    }
+
+    private static String languagesKey(List<String> languages) {
+        if (languages == null) {
+            return null;
+        }
+        return languages.stream()
+                .filter(language -> language != null && !language.isBlank())
+                .map(TourFacetIndex::languageKey)
+                .sorted()
+                .distinct()
+                .collect(Collectors.joining(","));
+    }
+
+    private static String stripped(BigDecimal value) {
+        return value != null ? value.stripTrailingZeros().toPlainString() : null;
+    }
+}
@@ -0,0 +1,204 @@
+package com.seaandtea.service;
+
+import com.seaandtea.event.CatalogChangedEvent;
+import com.seaandtea.repository.TourRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory grid index over the meeting point coordinates of active tours. Tours are bucketed into
+ * cells of {@value #CELL_DEGREES} degrees; a nearby query scans only the cells overlapping the
+ * search circle's bounding box and ranks candidates by great-circle distance.
+ *
+ * The index is loaded in the background once the application is ready and then kept current from
+ * committed {@link CatalogChangedEvent}s. Until the first load finishes, queries fall back to a
+ * bounding box query against the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TourGeoIndex {
+
+    static final double CELL_DEGREES = 0.1;
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private final TourRepository tourRepository;
+
+    private volatile Grid grid = new Grid();
+    private volatile boolean ready;
+
+    public record Hit(Long tourId, double distanceKm) {
+    }
+
+    private record Point(double latitude, double longitude) {
+    }
+
+    /**
+     * Points and their cells, published together: a reload builds a new grid and swaps it in with one
+     * write, so readers never see it empty or half filled. Single-tour updates change the current
+     * grid in place under the index lock.
+     */
+    private record Grid(Map<Long, Point> points, Map<Long, Set<Long>> cells) {
+
+        Grid() {
+            this(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+
+        void put(Long id, Point point) {
+            points.put(id, point);
+            cells.computeIfAbsent(cellKey(cellOf(point.latitude()), cellOf(point.longitude())),
+                    key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+
+        void remove(Long id) {
+            Point previous = points.remove(id);
+            if (previous == null) {
+                return;
+            }
+            long key = cellKey(cellOf(previous.latitude()), cellOf(previous.longitude()));
+            Set<Long> ids = cells.get(key);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    cells.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Active tours within {@code radiusKm} of the given point, nearest first
+     */
+    public List<Hit> findNearby(double latitude, double longitude, double radiusKm, int limit) {
+        BoundingBox box = BoundingBox.around(latitude, longitude, radiusKm);
+        List<Hit> hits = new ArrayList<>();
+
+        if (ready) {
+            Grid current = grid;
+            Map<Long, Point> currentPoints = current.points();
+            Map<Long, Set<Long>> currentCells = current.cells();
+            for (int latCell = cellOf(box.minLatitude()); latCell <= cellOf(box.maxLatitude()); latCell++) {
+                for (int lngCell = cellOf(box.minLongitude()); lngCell <= cellOf(box.maxLongitude()); lngCell++) {
+                    Set<Long> ids = currentCells.get(cellKey(latCell, lngCell));
+                    if (ids == null) {
+                        continue;
+                    }
+                    for (Long id : ids) {
+                        Point point = currentPoints.get(id);
+                        if (point != null) {
+                            addIfWithin(hits, id, point.latitude(), point.longitude(), latitude, longitude, radiusKm);
+                        }
+                    }
+                }
+            }
+        } else {
+            log.debug("Geo index not loaded yet, querying bounding box from the database");
+            for (Object[] row : tourRepository.findActiveGeoRowsWithin(
+                    box.minLatitude(), box.maxLatitude(), box.minLongitude(), box.maxLongitude())) {
+                addIfWithin(hits, (Long) row[0], (Double) row[1], (Double) row[2], latitude, longitude, radiusKm);
+            }
+        }
+
+        hits.sort(Comparator.comparingDouble(Hit::distanceKm).thenComparing(Hit::tourId));
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reload();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.getCatalog() != CatalogChangedEvent.Catalog.TOURS) {
+            return;
+        }
+        if (event.getEntityId() == null) {
+            reload();
+            return;
+        }
+        List<Object[]> rows = tourRepository.findActiveGeoRowById(event.getEntityId());
+        synchronized (this) {
+            grid.remove(event.getEntityId());
+            if (!rows.isEmpty()) {
+                Object[] row = rows.get(0);
+                grid.put((Long) row[0], new Point((Double) row[1], (Double) row[2]));
+            }
+        }
+    }
+
+    /**
+     * Replaces the whole index with the coordinates currently stored for active tours
+     */
+    public synchronized void reload() {
+        Grid loaded = new Grid();
+        for (Object[] row : tourRepository.findActiveGeoRows()) {
+            loaded.put((Long) row[0], new Point((Double) row[1], (Double) row[2]));
+        }
+        grid = loaded;
+        ready = true;
+        log.info("Loaded tour geo index with {} tours in {} cells", loaded.points().size(), loaded.cells().size());
+    }
+
+    private static void addIfWithin(List<Hit> hits, Long id, double latitude, double longitude,
+                                    double originLatitude, double originLongitude, double radiusKm) {
+        double distance = distanceKm(originLatitude, originLongitude, latitude, longitude);
+        if (distance <= radiusKm) {
+            hits.add(new Hit(id, distance));
+        }
+    }
+
+    /**
+     * Great-circle distance between two WGS84 points (haversine)
+     */
+    static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private static int cellOf(double degrees) {
+        return (int) Math.floor(degrees / CELL_DEGREES);
+    }
+
+    private static long cellKey(int latCell, int lngCell) {
+        return ((long) latCell << 32) | (lngCell & 0xffffffffL);
+    }
+
+    private record BoundingBox(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+
+        // Exact extent of the circle on a sphere; does not wrap around the antimeridian but is clamped instead
+        static BoundingBox around(double latitude, double longitude, double radiusKm) {
+            double angularRadius = radiusKm / EARTH_RADIUS_KM;
+            double latDelta = Math.toDegrees(angularRadius);
+            double sinRatio = Math.sin(angularRadius) / Math.cos(Math.toRadians(latitude));
+            double lngDelta = sinRatio < 1.0 ? Math.toDegrees(Math.asin(sinRatio)) : 180.0;
+            return new BoundingBox(
+                    Math.max(-90.0, latitude - latDelta),
+                    Math.min(90.0, latitude + latDelta),
+                    Math.max(-180.0, longitude - lngDelta),
+                    Math.min(180.0, longitude + lngDelta));
+        }
+    }
+}
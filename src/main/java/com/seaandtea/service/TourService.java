@@ -1,13 +1,19 @@
 package com.seaandtea.service;
 
+import com.seaandtea.config.MetricsConfig;
 import com.seaandtea.dto.*;
 import com.seaandtea.entity.*;
 import com.seaandtea.entity.Tour.TourCategory;
 import com.seaandtea.entity.User.UserRole;
+import com.seaandtea.event.CatalogChangedEvent;
 import com.seaandtea.repository.*;
+import com.seaandtea.util.ResourceVersion;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -23,13 +29,23 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class TourService {
     
+    static final double DEFAULT_NEARBY_RADIUS_KM = 25.0;
+    static final double MAX_NEARBY_RADIUS_KM = 200.0;
+    static final int DEFAULT_NEARBY_LIMIT = 20;
+    static final int MAX_NEARBY_LIMIT = 100;
+    
     private final TourRepository tourRepository;
     private final TourImageRepository tourImageRepository;
     private final GuideRepository guideRepository;
     private final UserRepository userRepository;
     private final ReviewRepository reviewRepository;
+    private final TourFacetService tourFacetService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Geocoder geocoder;
+    private final TourGeoIndex tourGeoIndex;
     
     @Transactional
     public TourResponse createTour(TourCreateRequest request, String userEmail) {
@@ -61,6 +77,7 @@ public class TourService {
             .includedItems(request.getIncludedItems())
             .excludedItems(request.getExcludedItems())
             .build();
+        applyCoordinates(tour, request.getLatitude(), request.getLongitude(), true);
         
         // Save tour
         tour = tourRepository.save(tour);
@@ -75,6 +92,7 @@ public class TourService {
         guide.setTotalTours(currentTotal + 1);
         guideRepository.save(guide);
         
+        publishTourChanged(tour.getId());
         log.info("Tour created successfully with ID: {}", tour.getId());
         return convertToTourResponse(tour);
     }
@@ -120,9 +138,12 @@ public class TourService {
         if (request.getSecurePayment() != null) {
             tour.setSecurePayment(request.getSecurePayment());
         }
+        boolean meetingPointChanged = request.getMeetingPoint() != null
+            && !request.getMeetingPoint().equals(tour.getMeetingPoint());
         if (request.getMeetingPoint() != null) {
             tour.setMeetingPoint(request.getMeetingPoint());
         }
+        applyCoordinates(tour, request.getLatitude(), request.getLongitude(), meetingPointChanged);
         if (request.getCancellationPolicy() != null) {
             tour.setCancellationPolicy(request.getCancellationPolicy());
         }
@@ -155,6 +176,7 @@ public class TourService {
         }
         
         tour = tourRepository.save(tour);
+        publishTourChanged(tourId);
         log.info("Tour {} updated successfully", tourId);
         return convertToTourResponse(tour);
     }
@@ -166,37 +188,76 @@ public class TourService {
         return convertToTourResponse(tour);
     }
     
+    /**
+     * Conditional GET validator for {@link #getTourById}; empty when the tour is not active
+     */
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> getTourVersion(Long tourId) {
+        return tourRepository.findActiveVersionRowById(tourId).stream()
+            .findFirst()
+            .map(row -> ResourceVersion.of("tour-" + tourId, row));
+    }
+    
     @Transactional(readOnly = true)
     public Page<TourListResponse> getToursWithFilters(TourFilterRequest filterRequest) {
-        Sort sort = Sort.by(
-            filterRequest.getSortDirection().equalsIgnoreCase("desc") ? 
-                Sort.Direction.DESC : Sort.Direction.ASC,
-            filterRequest.getSortBy()
-        );
+        return tourRepository.findActiveTourCards(filterRequest, false, toPageable(filterRequest));
+    }
+    
+    /**
+     * Filtered page of tours plus facet counts for the same filter
+     */
+    @Transactional(readOnly = true)
+    public TourSearchResponse searchTours(TourFilterRequest filterRequest) {
+        return TourSearchResponse.builder()
+            .results(getToursWithFilters(filterRequest))
+            .facets(tourFacetService.getFacets(filterRequest))
+            .build();
+    }
+    
+    /**
+     * Active tours whose meeting point lies within {@code radiusKm} of the given point, nearest first.
+     * Tours without coordinates are never returned.
+     */
+    @Transactional(readOnly = true)
+    public List<TourListResponse> getNearbyTours(Double latitude, Double longitude, Double radiusKm, Integer limit) {
+        if (latitude == null || latitude < -90 || latitude > 90) {
+            throw new IllegalArgumentException("Latitude must be between -90 and 90");
+        }
+        if (longitude == null || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Longitude must be between -180 and 180");
+        }
+        double radius = radiusKm != null ? radiusKm : DEFAULT_NEARBY_RADIUS_KM;
+        if (radius <= 0 || radius > MAX_NEARBY_RADIUS_KM) {
+            throw new IllegalArgumentException("Radius must be greater than 0 and at most " + (int) MAX_NEARBY_RADIUS_KM + " km");
+        }
+        int maxResults = limit != null ? Math.min(Math.max(limit, 1), MAX_NEARBY_LIMIT) : DEFAULT_NEARBY_LIMIT;
         
-        Pageable pageable = PageRequest.of(
-            filterRequest.getPage(), 
-            filterRequest.getSize(), 
-            sort
-        );
+        List<TourGeoIndex.Hit> hits = tourGeoIndex.findNearby(latitude, longitude, radius, maxResults);
+        if (hits.isEmpty()) {
+            return Collections.emptyList();
+        }
         
-        Page<Tour> tours;
+        Map<Long, TourListResponse> cardsById = cardsById(
+                hits.stream().map(TourGeoIndex.Hit::tourId).collect(Collectors.toList()));
         
-        if (hasFilters(filterRequest)) {
-            tours = tourRepository.findActiveToursWithFilters(
-                filterRequest.getCategory(),
-                filterRequest.getMinPrice(),
-                filterRequest.getMaxPrice(),
-                filterRequest.getMinDuration(),
-                filterRequest.getMaxDuration(),
-                filterRequest.getSearchTerm(),
-                pageable
-            );
-        } else {
-            tours = tourRepository.findActiveToursWithImages(pageable);
+        List<TourListResponse> nearby = new ArrayList<>(hits.size());
+        for (TourGeoIndex.Hit hit : hits) {
+            TourListResponse card = cardsById.get(hit.tourId());
+            // Missing when the tour was deactivated after the index was read
+            if (card != null) {
+                card.setDistanceKm(BigDecimal.valueOf(hit.distanceKm()).setScale(2, RoundingMode.HALF_UP).doubleValue());
+                nearby.add(card);
+            }
         }
-        
-        return tours.map(this::convertToTourListResponse);
+        return nearby;
+    }
+    
+    private Map<Long, TourListResponse> cardsById(List<Long> ids) {
+        Map<Long, TourListResponse> cardsById = new HashMap<>();
+        for (TourListResponse card : tourRepository.findActiveTourCardsByIds(ids)) {
+            cardsById.put(card.getId(), card);
+        }
+        return cardsById;
     }
     
     @Transactional(readOnly = true)
@@ -237,6 +298,7 @@ public class TourService {
         // Soft delete - set as inactive
         tour.setIsActive(false);
         tourRepository.save(tour);
+        publishTourChanged(tourId);
         
         log.info("Tour {} marked as inactive", tourId);
     }
@@ -272,6 +334,7 @@ public class TourService {
             .build();
         
         tourImageRepository.save(image);
+        publishTourChanged(tourId);
         
         return convertToTourResponse(tour);
     }
@@ -297,20 +360,26 @@ public class TourService {
         }
         
         tourImageRepository.delete(image);
+        publishTourChanged(tourId);
     }
     
     @Transactional(readOnly = true)
     public Page<TourListResponse> getPopularTours(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Tour> tours = tourRepository.findMostPopularActiveTours(pageable);
-        return tours.map(this::convertToTourListResponse);
+        // Rank ids by bookings, then project the cards for that page and put them back in rank order
+        Page<Long> ids = tourRepository.findMostPopularActiveTourIds(PageRequest.of(page, size));
+        Map<Long, TourListResponse> cardsById = cardsById(ids.getContent());
+        List<TourListResponse> cards = ids.getContent().stream()
+            .map(cardsById::get)
+            .filter(Objects::nonNull)
+            .toList();
+        return new PageImpl<>(cards, ids.getPageable(), ids.getTotalElements());
     }
     
     @Transactional(readOnly = true)
     public Page<TourListResponse> getToursByCategory(TourCategory category, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Tour> tours = tourRepository.findActiveByCategoryOrderByCreatedAtDesc(category, pageable);
-        return tours.map(this::convertToTourListResponse);
+        TourFilterRequest filter = TourFilterRequest.builder().category(category).build();
+        return tourRepository.findActiveTourCards(filter, false,
+                PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt")));
     }
     
     @Transactional(readOnly = true)
@@ -332,6 +401,41 @@ public class TourService {
     
     // Private helper methods
     
+    private Pageable toPageable(TourFilterRequest filterRequest) {
+        Sort sort = Sort.by(
+            filterRequest.getSortDirection().equalsIgnoreCase("desc") ? 
+                Sort.Direction.DESC : Sort.Direction.ASC,
+            filterRequest.getSortBy()
+        );
+        
+        return PageRequest.of(
+            filterRequest.getPage(), 
+            filterRequest.getSize(), 
+            sort
+        );
+    }
+    
+    /**
+     * Uses explicit coordinates when both are given, otherwise geocodes the meeting point if asked to.
+     * An unresolvable meeting point clears stale coordinates rather than keeping the old location.
+     */
+    private void applyCoordinates(Tour tour, Double latitude, Double longitude, boolean geocodeMeetingPoint) {
+        if (latitude != null && longitude != null) {
+            tour.setLatitude(latitude);
+            tour.setLongitude(longitude);
+        } else if (latitude != null || longitude != null) {
+            throw new IllegalArgumentException("Latitude and longitude must be provided together");
+        } else if (geocodeMeetingPoint) {
+            Optional<Geocoder.GeoPoint> point = geocoder.geocode(tour.getMeetingPoint());
+            tour.setLatitude(point.map(Geocoder.GeoPoint::latitude).orElse(null));
+            tour.setLongitude(point.map(Geocoder.GeoPoint::longitude).orElse(null));
+        }
+    }
+    
+    private void publishTourChanged(Long tourId) {
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Catalog.TOURS, tourId));
+    }
+    
     private void addImagesToTour(Tour tour, List<String> imageUrls, Integer primaryIndex) {
         for (int i = 0; i < imageUrls.size(); i++) {
             TourImage image = TourImage.builder()
@@ -343,17 +447,7 @@ public class TourService {
         }
     }
     
-    private boolean hasFilters(TourFilterRequest filterRequest) {
-        return filterRequest.getCategory() != null ||
-               filterRequest.getMinPrice() != null ||
-               filterRequest.getMaxPrice() != null ||
-               filterRequest.getMinDuration() != null ||
-               filterRequest.getMaxDuration() != null ||
-               (filterRequest.getSearchTerm() != null && !filterRequest.getSearchTerm().trim().isEmpty()) ||
-               filterRequest.getInstantBooking() != null;
-    }
-    
-    private TourResponse convertToTourResponse(Tour tour) {
+    TourResponse convertToTourResponse(Tour tour) {
         TourResponse.GuideBasicInfo guideInfo = TourResponse.GuideBasicInfo.builder()
             .id(tour.getGuide().getId())
             .firstName(tour.getGuide().getUser().getFirstName())
@@ -392,6 +486,8 @@ public class TourService {
             .includedItems(tour.getIncludedItems())
             .excludedItems(tour.getExcludedItems())
             .meetingPoint(tour.getMeetingPoint())
+            .latitude(tour.getLatitude())
+            .longitude(tour.getLongitude())
             .cancellationPolicy(tour.getCancellationPolicy())
             .isActive(tour.getIsActive())
             .createdAt(tour.getCreatedAt())
@@ -409,48 +505,6 @@ public class TourService {
         return avg != null ? BigDecimal.valueOf(avg).setScale(2, RoundingMode.HALF_UP) : BigDecimal.ZERO;
     }
 
-    private TourListResponse convertToTourListResponse(Tour tour) {
-        String primaryImageUrl = null;
-        if (tour.getImages() != null && !tour.getImages().isEmpty()) {
-            primaryImageUrl = tour.getImages().stream()
-                .filter(TourImage::getIsPrimary)
-                .findFirst()
-                .map(TourImage::getImageUrl)
-                .orElse(tour.getImages().get(0).getImageUrl());
-        }
-        
-        String highlightsPreview = "";
-        List<String> highlights = tour.getHighlights();
-        if (highlights != null && !highlights.isEmpty()) {
-            highlightsPreview = highlights.stream()
-                .limit(3)
-                .collect(Collectors.joining(", "));
-        }
-        
-        return TourListResponse.builder()
-            .id(tour.getId())
-            .title(tour.getTitle())
-            .description(tour.getDescription().length() > 150 ? 
-                tour.getDescription().substring(0, 150) + "..." : tour.getDescription())
-            .category(tour.getCategory())
-            .durationHours(tour.getDurationHours())
-            .maxGroupSize(tour.getMaxGroupSize())
-            .pricePerPerson(tour.getPricePerPerson())
-            .instantBooking(tour.getInstantBooking())
-            .primaryImageUrl(primaryImageUrl)
-            .createdAt(tour.getCreatedAt())
-            .guideName(tour.getGuide().getUser().getFirstName() + " " + 
-                      tour.getGuide().getUser().getLastName())
-            .guideProfilePicture(tour.getGuide().getUser().getProfilePictureUrl())
-            .guideAverageRating(tour.getGuide().getAverageRating())
-            .guideIsVerified(tour.getGuide().getUser().getIsVerified())
-            .averageRating(getTourAverageRating(tour.getId()))
-            .totalReviews(reviewRepository.countByTourId(tour.getId()))
-            .totalBookings(0L)
-            .highlightsPreview(highlightsPreview)
-            .build();
-    }
-    
     /**
      * Get all active tours from verified guides (public endpoint)
      */
@@ -458,8 +512,7 @@ public class TourService {
         log.info("Fetching verified tours with pagination: page {}, size {}", 
                 pageable.getPageNumber(), pageable.getPageSize());
         
-        Page<Tour> verifiedTours = tourRepository.findActiveToursFromVerifiedGuidesWithImages(pageable);
-        return verifiedTours.map(this::convertToTourListResponse);
+        return tourRepository.findActiveTourCards(null, true, pageable);
     }
     
     /**
@@ -0,0 +1,93 @@
+package com.seaandtea.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adaptive concurrency limit using additive increase / multiplicative decrease. A request that
+ * completes within the latency threshold while the limit was at least half used raises the limit by
+ * one; a slower or failed request multiplies it by the backoff ratio. Requests over the limit are
+ * rejected immediately instead of queueing for a database connection.
+ */
+public class AimdLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile int limit;
+    private volatile long lastRejectedNanos;
+    private volatile boolean everRejected;
+
+    public AimdLimit(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos, double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= max, got min " + minLimit + ", max " + maxLimit);
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1, got " + backoffRatio);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Takes a slot if one is free. Every successful acquire must be paired with {@link #release}.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.incrementAndGet();
+                lastRejectedNanos = System.nanoTime();
+                everRejected = true;
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Frees a slot and adjusts the limit from the request's outcome
+     *
+     * @param latencyNanos time the request held the slot
+     * @param failed       true when the request ended in an error that suggests overload
+     */
+    public void release(long latencyNanos, boolean failed) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (failed || latencyNanos > latencyThresholdNanos) {
+                limit = Math.max(minLimit, (int) (limit * backoffRatio));
+            } else if (inFlightBefore * 2 >= limit && limit < maxLimit) {
+                // Only grow while the current limit is actually being used
+                limit++;
+            }
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * Whether a request was rejected within the given window
+     */
+    public boolean rejectedWithin(long windowNanos) {
+        return everRejected && System.nanoTime() - lastRejectedNanos < windowNanos;
+    }
+}
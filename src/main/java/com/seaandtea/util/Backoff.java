@@ -0,0 +1,18 @@
+package com.seaandtea.util;
+
+/**
+ * Retry delays for the background senders (outbox, mail queue)
+ */
+public final class Backoff {
+
+    private Backoff() {
+    }
+
+    /**
+     * Delay before the next try after {@code attempt} failures: doubles from {@code initialMs}, capped at {@code maxMs}
+     */
+    public static long exponential(int attempt, long initialMs, long maxMs) {
+        int doublings = Math.min(Math.max(0, attempt - 1), 30);
+        return Math.min(maxMs, initialMs << doublings);
+    }
+}
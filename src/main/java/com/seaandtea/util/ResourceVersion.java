@@ -0,0 +1,37 @@
+package com.seaandtea.util;
+
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Validators for a conditional GET: a strong ETag hashed from every value the response depends on,
+ * and the newest timestamp among those values for Last-Modified (-1 when there is none).
+ */
+public record ResourceVersion(String eTag, long lastModified) {
+    
+    public static ResourceVersion of(String resource, Object... parts) {
+        StringBuilder source = new StringBuilder(resource);
+        LocalDateTime newest = null;
+        for (Object part : parts) {
+            source.append('|').append(part);
+            if (part instanceof LocalDateTime timestamp && (newest == null || timestamp.isAfter(newest))) {
+                newest = timestamp;
+            }
+        }
+        String hash = DigestUtils.md5DigestAsHex(source.toString().getBytes(StandardCharsets.UTF_8));
+        long lastModified = newest != null ? newest.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+        return new ResourceVersion("\"" + resource + "-" + hash + "\"", lastModified);
+    }
+    
+    /**
+     * Evaluates If-None-Match / If-Modified-Since and sets ETag and Last-Modified on the response.
+     * When this returns true the response is already a 304 and the handler should return null.
+     */
+    public boolean checkNotModified(WebRequest request) {
+        return request.checkNotModified(eTag, lastModified);
+    }
+}
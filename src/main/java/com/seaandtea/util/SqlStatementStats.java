@@ -0,0 +1,94 @@
+package com.seaandtea.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * SQL statements executed by the current thread since {@link #start()}, recorded by the datasource
+ * proxy. Used per HTTP request by {@code SqlStatementCountFilter} and around service calls by tests.
+ *
+ * Statements are also grouped by shape (literals and IN lists collapsed) so that an N+1 loop shows
+ * up as one shape executed many times.
+ */
+public final class SqlStatementStats {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final SqlStatementStats previous;
+    private final Map<String, Integer> shapeCounts = new HashMap<>();
+    private int count;
+    private long elapsedNanos;
+
+    public record RepeatedShape(String sql, int count) {
+    }
+
+    private SqlStatementStats(SqlStatementStats previous) {
+        this.previous = previous;
+    }
+
+    /**
+     * Starts counting on the current thread; {@link #close()} restores any enclosing scope
+     */
+    public static SqlStatementStats start() {
+        SqlStatementStats stats = new SqlStatementStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Records a statement against the current scope and all enclosing ones; a no-op outside a scope
+     */
+    public static void record(String sql, long elapsedNanos) {
+        for (SqlStatementStats stats = CURRENT.get(); stats != null; stats = stats.previous) {
+            stats.count++;
+            stats.elapsedNanos += elapsedNanos;
+            stats.shapeCounts.merge(shapeOf(sql), 1, Integer::sum);
+        }
+    }
+
+    public void close() {
+        if (CURRENT.get() == this) {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * The statement shape executed most often, if any shape ran more than once
+     */
+    public Optional<RepeatedShape> mostRepeatedShape() {
+        return shapeCounts.entrySet().stream()
+                .filter(entry -> entry.getValue() > 1)
+                .max(Map.Entry.comparingByValue())
+                .map(entry -> new RepeatedShape(entry.getKey(), entry.getValue()));
+    }
+
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,18 @@
+-- Flyway Migration V11: persistent queue of templated emails, sent in batches by the mail dispatcher
+CREATE TABLE IF NOT EXISTS mail_queue (
+    id BIGSERIAL PRIMARY KEY,
+    recipient VARCHAR(255) NOT NULL,
+    template VARCHAR(50) NOT NULL,
+    model TEXT NOT NULL,
+    digest_key VARCHAR(100),
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    locked_by VARCHAR(36),
+    locked_until TIMESTAMP,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_mail_queue_due ON mail_queue(status, next_attempt_at);
+CREATE INDEX IF NOT EXISTS idx_mail_queue_digest ON mail_queue(digest_key);
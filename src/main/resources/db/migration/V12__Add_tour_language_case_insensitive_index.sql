@@ -0,0 +1,4 @@
+-- Flyway Migration V12: case-insensitive tour language filter
+-- The filter compares lower-cased arrays, matching the language facet counts; index that expression instead
+CREATE INDEX IF NOT EXISTS idx_tours_languages_lower_gin ON tours USING GIN ((lower(languages::text)::jsonb) jsonb_path_ops);
+DROP INDEX IF EXISTS idx_tours_languages_gin;
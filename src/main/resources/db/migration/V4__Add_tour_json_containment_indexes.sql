@@ -0,0 +1,8 @@
+-- Flyway Migration V4: GIN indexes for tour language and highlight filters
+-- V1 created these columns as VARCHAR while the entity maps them as JSON; containment (@>) needs jsonb
+ALTER TABLE tours ALTER COLUMN languages TYPE jsonb USING languages::jsonb;
+ALTER TABLE tours ALTER COLUMN highlights TYPE jsonb USING highlights::jsonb;
+
+-- jsonb_path_ops supports only @>, which is all the filters use, and is smaller than the default operator class
+CREATE INDEX IF NOT EXISTS idx_tours_languages_gin ON tours USING GIN (languages jsonb_path_ops);
+CREATE INDEX IF NOT EXISTS idx_tours_highlights_gin ON tours USING GIN (highlights jsonb_path_ops);
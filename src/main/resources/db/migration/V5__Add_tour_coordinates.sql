@@ -0,0 +1,7 @@
+-- Flyway Migration V5: meeting point coordinates for nearby tour search
+ALTER TABLE tours ADD COLUMN IF NOT EXISTS latitude DOUBLE PRECISION;
+ALTER TABLE tours ADD COLUMN IF NOT EXISTS longitude DOUBLE PRECISION;
+
+-- Nearby search is served from an in-memory grid; this index only backs the bounding box fallback used while it loads
+CREATE INDEX IF NOT EXISTS idx_tours_active_coordinates ON tours (latitude, longitude)
+    WHERE is_active = true AND latitude IS NOT NULL AND longitude IS NOT NULL;
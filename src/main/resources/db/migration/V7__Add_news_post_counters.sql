@@ -0,0 +1,10 @@
+-- Flyway Migration V7: denormalized like/comment counters on news posts
+ALTER TABLE news_posts ADD COLUMN IF NOT EXISTS like_count BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE news_posts ADD COLUMN IF NOT EXISTS comment_count BIGINT NOT NULL DEFAULT 0;
+
+UPDATE news_posts p SET
+    like_count = (SELECT COUNT(*) FROM news_post_likes l WHERE l.post_id = p.id),
+    comment_count = (SELECT COUNT(*) FROM news_post_comments c WHERE c.post_id = p.id);
+
+-- Backs the per-page "liked by me" lookup (user_id first; the unique constraint leads with post_id)
+CREATE INDEX IF NOT EXISTS idx_news_post_likes_user_post ON news_post_likes (user_id, post_id);
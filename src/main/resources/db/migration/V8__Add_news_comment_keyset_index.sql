@@ -0,0 +1,2 @@
+-- Flyway Migration V8: keyset pagination of a post's comments by (created_at, id)
+CREATE INDEX IF NOT EXISTS idx_news_post_comments_post_created ON news_post_comments (post_id, created_at, id);
@@ -0,0 +1,8 @@
+-- Flyway Migration V9: list-view summary stored with the post so feeds don't read the body
+ALTER TABLE news_posts ADD COLUMN IF NOT EXISTS summary VARCHAR(203);
+
+UPDATE news_posts SET summary = CASE
+        WHEN LENGTH(body) > 200 THEN SUBSTRING(body FROM 1 FOR 200) || '...'
+        ELSE body
+    END
+WHERE summary IS NULL;
@@ -0,0 +1,110 @@
+package com.seaandtea.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seaandtea.filter.ConcurrencyLimitFilter.EndpointClass;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ConcurrencyLimitFilter(meterRegistry, new ObjectMapper());
+        ReflectionTestUtils.setField(filter, "minLimit", 1);
+        ReflectionTestUtils.setField(filter, "backoffRatio", 0.5);
+        ReflectionTestUtils.setField(filter, "retryAfterSeconds", 2);
+        ReflectionTestUtils.setField(filter, "readinessWindowSeconds", 5);
+        ReflectionTestUtils.setField(filter, "publicCatalogMaxLimit", 2);
+        ReflectionTestUtils.setField(filter, "publicCatalogLatencyThresholdMs", 1000L);
+        ReflectionTestUtils.setField(filter, "authenticatedWritesMaxLimit", 2);
+        ReflectionTestUtils.setField(filter, "authenticatedWritesLatencyThresholdMs", 1000L);
+        ReflectionTestUtils.setField(filter, "adminMaxLimit", 2);
+        ReflectionTestUtils.setField(filter, "adminLatencyThresholdMs", 1000L);
+        ReflectionTestUtils.setField(filter, "uploadsMaxLimit", 2);
+        ReflectionTestUtils.setField(filter, "uploadsLatencyThresholdMs", 1000L);
+        filter.createLimits();
+    }
+
+    @Test
+    void classify_ShouldSeparateReadsWritesAdminAndUploads() {
+        assertEquals(EndpointClass.PUBLIC_CATALOG, ConcurrencyLimitFilter.classify(request("GET", "/api/v1/tours")));
+        assertEquals(EndpointClass.PUBLIC_CATALOG,
+                ConcurrencyLimitFilter.classify(request("GET", "/api/v1/upload/homepage-slider")));
+        assertEquals(EndpointClass.AUTHENTICATED_WRITES, ConcurrencyLimitFilter.classify(request("POST", "/api/v1/cart/items")));
+        assertEquals(EndpointClass.ADMIN, ConcurrencyLimitFilter.classify(request("GET", "/api/v1/admin/users")));
+        assertEquals(EndpointClass.ADMIN, ConcurrencyLimitFilter.classify(request("GET", "/api/v1/news/admin/all")));
+        assertEquals(EndpointClass.UPLOADS,
+                ConcurrencyLimitFilter.classify(request("POST", "/api/v1/upload/tour/1/image")));
+        MockHttpServletRequest profilePicture = request("POST", "/api/v1/guides/my-profile/picture");
+        profilePicture.setContentType("multipart/form-data; boundary=----abc");
+        assertEquals(EndpointClass.UPLOADS, ConcurrencyLimitFilter.classify(profilePicture));
+    }
+
+    @Test
+    void saturatedClass_ShouldShedWith503AndRetryAfterWithoutAffectingOtherClasses() throws Exception {
+        // The public catalog starts at half its ceiling of 2, so one request in flight fills it
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+        AtomicReference<MockHttpServletResponse> otherClass = new AtomicReference<>();
+        FilterChain holdingChain = (req, res) -> {
+            nested.set(perform(request("GET", "/api/v1/tours/2"), (r, s) -> fail("should have been shed")));
+            otherClass.set(perform(request("POST", "/api/v1/cart/items"), (r, s) -> { }));
+        };
+
+        MockHttpServletResponse outer = perform(request("GET", "/api/v1/tours/1"), holdingChain);
+
+        assertEquals(200, outer.getStatus());
+        assertEquals(503, nested.get().getStatus());
+        assertEquals("2", nested.get().getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(nested.get().getContentAsString().contains("\"status\":503"));
+        assertEquals(200, otherClass.get().getStatus());
+        assertEquals(1.0, meterRegistry.get("seaandtea.concurrency.rejected").tag("class", "public-catalog")
+                .functionCounter().count());
+        assertTrue(filter.isShedding());
+    }
+
+    @Test
+    void healthEndpoints_ShouldNeverBeLimited() {
+        assertTrue(filter.shouldNotFilter(request("GET", "/api/v1/health/ready")));
+        assertTrue(filter.shouldNotFilter(request("GET", "/actuator/prometheus")));
+        assertTrue(filter.shouldNotFilter(request("OPTIONS", "/api/v1/tours")));
+        assertFalse(filter.shouldNotFilter(request("GET", "/api/v1/tours")));
+    }
+
+    @Test
+    void snapshot_ShouldReportEachClassAndIdleFilterIsNotShedding() {
+        Map<String, Map<String, Object>> snapshot = filter.snapshot();
+
+        assertEquals(4, snapshot.size());
+        assertEquals(1, snapshot.get("uploads").get("limit"));
+        assertEquals(0, snapshot.get("uploads").get("inFlight"));
+        assertFalse(filter.isShedding());
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request, FilterChain chain) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        return new MockHttpServletRequest(method, path);
+    }
+}
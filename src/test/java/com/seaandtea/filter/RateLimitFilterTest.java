@@ -0,0 +1,134 @@
+package com.seaandtea.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seaandtea.entity.User;
+import com.seaandtea.filter.RateLimitFilter.Route;
+import com.seaandtea.ratelimit.InMemoryRateLimitStore;
+import com.seaandtea.ratelimit.RateLimitStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore();
+        ReflectionTestUtils.setField(store, "maxKeys", 1000);
+        filter = filterWith(store);
+    }
+
+    private RateLimitFilter filterWith(RateLimitStore store) {
+        RateLimitFilter rateLimitFilter = new RateLimitFilter(store, meterRegistry, new ObjectMapper());
+        ReflectionTestUtils.setField(rateLimitFilter, "authCapacity", 2L);
+        ReflectionTestUtils.setField(rateLimitFilter, "authRefillPerMinute", 1.0);
+        ReflectionTestUtils.setField(rateLimitFilter, "messagesCapacity", 1L);
+        ReflectionTestUtils.setField(rateLimitFilter, "messagesRefillPerMinute", 1.0);
+        ReflectionTestUtils.setField(rateLimitFilter, "uploadsCapacity", 1L);
+        ReflectionTestUtils.setField(rateLimitFilter, "uploadsRefillPerMinute", 1.0);
+        ReflectionTestUtils.setField(rateLimitFilter, "searchCapacity", 1L);
+        ReflectionTestUtils.setField(rateLimitFilter, "searchRefillPerMinute", 1.0);
+        rateLimitFilter.createPolicies();
+        return rateLimitFilter;
+    }
+
+    @Test
+    void routeOf_ShouldMatchOnlyLimitedRoutes() {
+        assertEquals(Route.AUTH, RateLimitFilter.routeOf(request("POST", "/api/v1/auth/login")));
+        assertEquals(Route.MESSAGES, RateLimitFilter.routeOf(request("POST", "/api/v1/messages")));
+        assertEquals(Route.UPLOADS, RateLimitFilter.routeOf(request("POST", "/api/v1/upload/profile-picture")));
+        assertEquals(Route.UPLOADS, RateLimitFilter.routeOf(request("POST", "/api/v1/tours/4/images")));
+        assertEquals(Route.SEARCH, RateLimitFilter.routeOf(request("GET", "/api/v1/tours/search")));
+        assertNull(RateLimitFilter.routeOf(request("GET", "/api/v1/tours/4")));
+        assertNull(RateLimitFilter.routeOf(request("GET", "/api/v1/messages/conversations")));
+        assertNull(RateLimitFilter.routeOf(request("GET", "/api/v1/upload/homepage-slider")));
+    }
+
+    @Test
+    void login_OverLimit_ShouldReturn429WithRateLimitHeaders() throws Exception {
+        MockHttpServletResponse first = perform(request("POST", "/api/v1/auth/login"));
+        MockHttpServletResponse second = perform(request("POST", "/api/v1/auth/login"));
+        MockHttpServletResponse third = perform(request("POST", "/api/v1/auth/login"));
+
+        assertEquals(200, first.getStatus());
+        assertEquals("2", first.getHeader(RateLimitFilter.LIMIT_HEADER));
+        assertEquals("1", first.getHeader(RateLimitFilter.REMAINING_HEADER));
+        assertEquals(200, second.getStatus());
+        assertEquals(429, third.getStatus());
+        assertEquals("0", third.getHeader(RateLimitFilter.REMAINING_HEADER));
+        assertEquals("60", third.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(1.0, meterRegistry.get("seaandtea.ratelimit.requests")
+                .tag("policy", "auth").tag("outcome", "limited").counter().count());
+    }
+
+    @Test
+    void authenticatedRequests_ShouldBeKeyedByUserRatherThanIp() throws Exception {
+        authenticateAs(1L);
+        assertEquals(200, perform(request("POST", "/api/v1/messages")).getStatus());
+        assertEquals(429, perform(request("POST", "/api/v1/messages")).getStatus());
+
+        authenticateAs(2L);
+        assertEquals(200, perform(request("POST", "/api/v1/messages")).getStatus());
+    }
+
+    @Test
+    void unlimitedRoute_ShouldPassThroughWithoutHeaders() throws Exception {
+        MockHttpServletResponse response = perform(request("GET", "/api/v1/tours/4"));
+
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader(RateLimitFilter.LIMIT_HEADER));
+    }
+
+    @Test
+    void storeFailure_ShouldAllowRequest() throws Exception {
+        filter = filterWith((key, policy) -> {
+            throw new IllegalStateException("connection refused");
+        });
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("GET", "/api/v1/tours/search"), response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest());
+    }
+
+    private void authenticateAs(long userId) {
+        User user = User.builder().id(userId).email("user" + userId + "@example.com").build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr("203.0.113.7");
+        return request;
+    }
+}
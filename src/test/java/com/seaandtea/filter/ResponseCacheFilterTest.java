@@ -0,0 +1,128 @@
+package com.seaandtea.filter;
+
+import com.seaandtea.event.CatalogChangedEvent;
+import com.seaandtea.event.CatalogChangedEvent.Catalog;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheFilterTest {
+
+    private static final String SLIDER = "/api/v1/upload/homepage-slider";
+    private static final String BEST_SELLERS = "/api/v1/products/best-sellers";
+
+    private final AtomicInteger renders = new AtomicInteger();
+    private ResponseCacheFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ResponseCacheFilter();
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "ttlSeconds", 60L);
+        ReflectionTestUtils.setField(filter, "maxEntries", 16);
+    }
+
+    @Test
+    void secondRequest_ShouldBeServedFromCacheWithSameBodyAndETag() throws Exception {
+        MockHttpServletResponse miss = perform(get(BEST_SELLERS, "size", "10", "page", "0"));
+        MockHttpServletResponse hit = perform(get(BEST_SELLERS, "page", "0", "size", "10"));
+
+        assertEquals(1, renders.get());
+        assertEquals("MISS", miss.getHeader(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals("HIT", hit.getHeader(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals(miss.getContentAsString(), hit.getContentAsString());
+        assertEquals(miss.getHeader(HttpHeaders.ETAG), hit.getHeader(HttpHeaders.ETAG));
+        assertEquals(hit.getContentAsByteArray().length, hit.getContentLength());
+    }
+
+    @Test
+    void hit_ShouldServeGzipWhenAcceptedAndNotModifiedForMatchingETag() throws Exception {
+        MockHttpServletResponse miss = perform(get(BEST_SELLERS));
+
+        MockHttpServletRequest gzipRequest = get(BEST_SELLERS);
+        gzipRequest.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+        MockHttpServletResponse gzipped = perform(gzipRequest);
+
+        MockHttpServletRequest conditional = get(BEST_SELLERS);
+        conditional.addHeader(HttpHeaders.IF_NONE_MATCH, miss.getHeader(HttpHeaders.ETAG));
+        MockHttpServletResponse notModified = perform(conditional);
+
+        assertEquals("gzip", gzipped.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(miss.getContentAsString(), gunzip(gzipped.getContentAsByteArray()));
+        assertEquals(304, notModified.getStatus());
+        assertEquals(0, notModified.getContentAsByteArray().length);
+        assertEquals(1, renders.get());
+    }
+
+    @Test
+    void catalogChange_ShouldEvictOnlyDependentEntries() throws Exception {
+        perform(get(BEST_SELLERS));
+        perform(get(SLIDER));
+
+        filter.onCatalogChanged(new CatalogChangedEvent(Catalog.PRODUCTS, 1L));
+
+        assertEquals("MISS", perform(get(BEST_SELLERS)).getHeader(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals("HIT", perform(get(SLIDER)).getHeader(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals(3, renders.get());
+    }
+
+    @Test
+    void authenticatedAndNoStoreResponses_ShouldNotBeCached() throws Exception {
+        MockHttpServletRequest authenticated = get(BEST_SELLERS);
+        authenticated.addHeader(HttpHeaders.AUTHORIZATION, "Bearer token");
+        perform(authenticated);
+        perform(authenticated);
+
+        MockHttpServletRequest noStore = get(SLIDER, "noStore", "true");
+        perform(noStore);
+        perform(noStore);
+
+        assertEquals(4, renders.get());
+    }
+
+    private MockHttpServletRequest get(String path, String... parameters) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        for (int i = 0; i < parameters.length; i += 2) {
+            request.addParameter(parameters[i], parameters[i + 1]);
+        }
+        return request;
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                renders.incrementAndGet();
+                if (req.getParameter("noStore") != null) {
+                    resp.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+                }
+                resp.setContentType("application/json");
+                resp.getOutputStream().write(("{\"path\":\"" + req.getRequestURI() + "\",\"padding\":\""
+                        + "x".repeat(2048) + "\"}").getBytes(StandardCharsets.UTF_8));
+            }
+        }));
+        return response;
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.seaandtea.mail;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.seaandtea.entity.MailQueueEntry;
+import com.seaandtea.repository.MailQueueRepository;
+import jakarta.mail.Message;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sends the queue to a local GreenMail SMTP server: digests coalesce, other emails go out one per
+ * entry, and an unreachable server leaves the entries queued for a retry.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "spring.mail.username=",
+        "spring.mail.password=",
+        "spring.mail.properties.mail.smtp.auth=false",
+        "spring.mail.properties.mail.smtp.starttls.enable=false",
+        "mail-queue.enabled=true",
+        "mail-queue.initial-delay-ms=3600000",
+        "mail-queue.digest-window-seconds=0",
+        "mail-queue.rate-per-minute=600"
+})
+@ActiveProfiles("test")
+class MailDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private MailService mailService;
+
+    @Autowired
+    private MailDispatcher mailDispatcher;
+
+    @Autowired
+    private MailQueueRepository mailQueueRepository;
+
+    @AfterEach
+    void cleanUp() {
+        mailQueueRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void queuedMessages_ShouldBeSentWithDigestsCoalesced() throws Exception {
+        for (String sender : List.of("Asha Perera", "Ben Silva", "Asha Perera", "Chen Li", "Ben Silva")) {
+            mailService.enqueueDigest(MailTemplate.NEW_MESSAGE, "guide@example.com", Map.of(
+                    "recipientName", "Nimal", "senderName", sender, "preview", "Is the tour still on?"),
+                    "new-messages:42");
+        }
+        mailService.enqueue(MailTemplate.BOOKING_CONFIRMATION, "traveller@example.com", Map.of(
+                "recipientName", "Sam", "tourTitle", "Ella tea trail", "tourDate", "2026-11-02",
+                "participants", 2, "guideName", "Nimal"));
+
+        assertEquals(6, mailDispatcher.dispatchBatch());
+
+        Map<String, MimeMessage> byRecipient = new HashMap<>();
+        for (MimeMessage message : greenMail.getReceivedMessages()) {
+            byRecipient.put(message.getRecipients(Message.RecipientType.TO)[0].toString(), message);
+        }
+        assertEquals(2, byRecipient.size());
+        MimeMessage digest = byRecipient.get("guide@example.com");
+        assertEquals("You have 5 new messages", digest.getSubject());
+        assertTrue(GreenMailUtil.getBody(digest).contains("from Asha Perera, Ben Silva, Chen Li."));
+        assertEquals("Your booking for Ella tea trail is confirmed", byRecipient.get("traveller@example.com").getSubject());
+        assertEquals(0, mailQueueRepository.count());
+    }
+
+    @Test
+    void unreachableServer_ShouldLeaveEntryQueuedForRetry() {
+        greenMail.stop();
+        mailService.enqueue(MailTemplate.REVIEW_PROMPT, "traveller@example.com", Map.of(
+                "recipientName", "Sam", "tourTitle", "Ella tea trail", "guideName", "Nimal"));
+
+        mailDispatcher.dispatchBatch();
+
+        MailQueueEntry entry = mailQueueRepository.findAll().get(0);
+        assertEquals(MailQueueEntry.Status.PENDING, entry.getStatus());
+        assertEquals(1, entry.getAttempts());
+        assertNull(entry.getLockedBy());
+        assertNotNull(entry.getLastError());
+        assertTrue(entry.getNextAttemptAt().isAfter(LocalDateTime.now()));
+
+        greenMail.start();
+        entry.setNextAttemptAt(LocalDateTime.now());
+        mailQueueRepository.save(entry);
+
+        assertEquals(1, mailDispatcher.dispatchBatch());
+        assertEquals(1, greenMail.getReceivedMessages().length);
+        assertEquals(0, mailQueueRepository.count());
+    }
+}
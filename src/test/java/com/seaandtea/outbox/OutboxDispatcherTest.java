@@ -0,0 +1,209 @@
+package com.seaandtea.outbox;
+
+import com.seaandtea.entity.OutboxEvent;
+import com.seaandtea.repository.OutboxEventRepository;
+import com.seaandtea.util.Backoff;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxDispatcherTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Mock
+    private OutboxEventRepository repository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OutboxDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    void handledEvent_ShouldBeDeleted() {
+        List<String> received = new CopyOnWriteArrayList<>();
+        dispatcher = dispatcher(handler("mail.send", 1, received::add));
+        due(event(1L, "mail.send", "{\"to\":\"a@example.com\"}", 0));
+
+        assertEquals(1, dispatcher.dispatchBatch());
+
+        assertEquals(List.of("{\"to\":\"a@example.com\"}"), received);
+        verify(repository).deleteHandled(eq(1L), anyString());
+        assertEquals(1, outcomes("mail.send", "success"));
+    }
+
+    @Test
+    void failedEvent_ShouldBeRetriedWithBackoff() {
+        dispatcher = dispatcher(handler("mail.send", 1, payload -> {
+            throw new IllegalStateException("SMTP down");
+        }));
+        due(event(1L, "mail.send", "{}", 0));
+        LocalDateTime before = LocalDateTime.now();
+
+        dispatcher.dispatchBatch();
+
+        ArgumentCaptor<LocalDateTime> nextAttempt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository).scheduleRetry(eq(1L), anyString(), nextAttempt.capture(), contains("SMTP down"));
+        assertFalse(nextAttempt.getValue().isBefore(before.plusSeconds(5)));
+        verify(repository, never()).deleteHandled(anyLong(), anyString());
+        assertEquals(1, outcomes("mail.send", "retry"));
+    }
+
+    @Test
+    void lastAttempt_ShouldDeadLetterTheEvent() {
+        dispatcher = dispatcher(handler("mail.send", 1, payload -> {
+            throw new IllegalStateException("mailbox unavailable");
+        }));
+        due(event(1L, "mail.send", "{}", MAX_ATTEMPTS - 1));
+
+        dispatcher.dispatchBatch();
+
+        verify(repository).markDead(eq(1L), anyString(), contains("mailbox unavailable"));
+        verify(repository, never()).scheduleRetry(anyLong(), anyString(), any(), anyString());
+        assertEquals(1, outcomes("mail.send", "dead"));
+    }
+
+    @Test
+    void unknownType_ShouldBeHandedBackWithoutCountingAnAttempt() {
+        dispatcher = dispatcher(handler("mail.send", 1, payload -> { }));
+        due(event(1L, "stripe.refund", "{}", MAX_ATTEMPTS - 1));
+
+        dispatcher.dispatchBatch();
+
+        verify(repository).release(eq(1L), anyString(), any(), contains("stripe.refund"));
+        verify(repository, never()).markDead(anyLong(), anyString(), anyString());
+        verify(repository, never()).scheduleRetry(anyLong(), anyString(), any(), anyString());
+        assertEquals(1, outcomes("stripe.refund", "unhandled"));
+    }
+
+    @Test
+    void poll_ShouldStopAfterMaxBatchesEvenWithABacklog() {
+        dispatcher = dispatcher(handler("mail.send", 1, payload -> { }));
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 1);
+        OutboxEvent event = event(1L, "mail.send", "{}", 0);
+        when(repository.findDueIds(any(), any())).thenReturn(List.of(1L));
+        when(repository.lease(anyCollection(), anyString(), any(), any())).thenReturn(1);
+        when(repository.findLeased(anyCollection(), anyString())).thenReturn(List.of(event));
+
+        dispatcher.poll();
+
+        verify(repository, times(3)).findDueIds(any(), any());
+    }
+
+    @Test
+    void eventsLeasedElsewhere_ShouldBeSkipped() {
+        dispatcher = dispatcher(handler("mail.send", 1, payload -> fail("must not run")));
+        when(repository.findDueIds(any(), any())).thenReturn(List.of(1L));
+        when(repository.lease(anyCollection(), anyString(), any(), any())).thenReturn(0);
+
+        assertEquals(0, dispatcher.dispatchBatch());
+
+        verify(repository, never()).findLeased(anyCollection(), anyString());
+    }
+
+    @Test
+    void handlerConcurrency_ShouldBeCapped() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        dispatcher = dispatcher(handler("cloudinary.image.delete", 2, payload -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(30);
+            running.decrementAndGet();
+        }));
+        List<OutboxEvent> events = new ArrayList<>();
+        for (long id = 1; id <= 8; id++) {
+            events.add(event(id, "cloudinary.image.delete", "{}", 0));
+        }
+        due(events.toArray(OutboxEvent[]::new));
+
+        assertEquals(8, dispatcher.dispatchBatch());
+
+        assertTrue(peak.get() <= 2, "peak concurrency " + peak.get());
+        verify(repository, times(8)).deleteHandled(anyLong(), anyString());
+    }
+
+    @Test
+    void backoff_ShouldDoubleUpToTheCap() {
+        assertEquals(5000, Backoff.exponential(1, 5000, 60000));
+        assertEquals(10000, Backoff.exponential(2, 5000, 60000));
+        assertEquals(40000, Backoff.exponential(4, 5000, 60000));
+        assertEquals(60000, Backoff.exponential(5, 5000, 60000));
+        assertEquals(60000, Backoff.exponential(200, 5000, 60000));
+    }
+
+    private OutboxDispatcher dispatcher(OutboxHandler... handlers) {
+        OutboxDispatcher created = new OutboxDispatcher(repository, List.of(handlers), meterRegistry);
+        ReflectionTestUtils.setField(created, "batchSize", 50);
+        ReflectionTestUtils.setField(created, "maxBatchesPerPoll", 3);
+        ReflectionTestUtils.setField(created, "threads", 4);
+        ReflectionTestUtils.setField(created, "leaseSeconds", 60L);
+        ReflectionTestUtils.setField(created, "maxAttempts", MAX_ATTEMPTS);
+        ReflectionTestUtils.setField(created, "initialBackoffMs", 5000L);
+        ReflectionTestUtils.setField(created, "maxBackoffMs", 60000L);
+        created.init();
+        return created;
+    }
+
+    private void due(OutboxEvent... events) {
+        List<Long> ids = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            ids.add(event.getId());
+        }
+        when(repository.findDueIds(any(), any())).thenReturn(ids);
+        when(repository.lease(eq(ids), anyString(), any(), any())).thenReturn(events.length);
+        when(repository.findLeased(eq(ids), anyString())).thenReturn(List.of(events));
+    }
+
+    private double outcomes(String type, String outcome) {
+        return meterRegistry.get("seaandtea.outbox.events").tag("type", type).tag("outcome", outcome).counter().count();
+    }
+
+    private static OutboxEvent event(Long id, String type, String payload, int attempts) {
+        return OutboxEvent.builder().id(id).type(type).payload(payload).attempts(attempts).build();
+    }
+
+    @FunctionalInterface
+    private interface Body {
+        void run(String payload) throws Exception;
+    }
+
+    private static OutboxHandler handler(String type, int concurrency, Body body) {
+        return new OutboxHandler() {
+            @Override
+            public String type() {
+                return type;
+            }
+
+            @Override
+            public void handle(String payload) throws Exception {
+                body.run(payload);
+            }
+
+            @Override
+            public int maxConcurrency() {
+                return concurrency;
+            }
+        };
+    }
+}
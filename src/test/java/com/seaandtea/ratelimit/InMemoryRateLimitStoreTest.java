@@ -0,0 +1,100 @@
+package com.seaandtea.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryRateLimitStoreTest {
+
+    // 3 requests in a burst, then one every 2 seconds
+    private static final RateLimitPolicy POLICY = new RateLimitPolicy("test", 3, 30);
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private InMemoryRateLimitStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryRateLimitStore(now::get);
+        ReflectionTestUtils.setField(store, "maxKeys", 1000);
+    }
+
+    @Test
+    void tryConsume_ShouldAllowBurstThenRejectWithRetryAfter() {
+        assertEquals(2, store.tryConsume("a", POLICY).remaining());
+        assertEquals(1, store.tryConsume("a", POLICY).remaining());
+        assertTrue(store.tryConsume("a", POLICY).allowed());
+
+        RateLimitDecision rejected = store.tryConsume("a", POLICY);
+        assertFalse(rejected.allowed());
+        assertEquals(0, rejected.remaining());
+        assertEquals(2000, rejected.retryAfterMillis());
+        assertEquals(6000, rejected.resetMillis());
+    }
+
+    @Test
+    void tryConsume_ShouldRefillOverTimeUpToCapacity() {
+        for (int i = 0; i < 3; i++) {
+            store.tryConsume("a", POLICY);
+        }
+
+        now.addAndGet(2000);
+        assertTrue(store.tryConsume("a", POLICY).allowed());
+        assertFalse(store.tryConsume("a", POLICY).allowed());
+
+        now.addAndGet(60_000);
+        assertEquals(2, store.tryConsume("a", POLICY).remaining());
+    }
+
+    @Test
+    void tryConsume_ShouldKeepSeparateBucketsPerKey() {
+        for (int i = 0; i < 3; i++) {
+            store.tryConsume("a", POLICY);
+        }
+
+        assertFalse(store.tryConsume("a", POLICY).allowed());
+        assertTrue(store.tryConsume("b", POLICY).allowed());
+    }
+
+    @Test
+    void tryConsume_OverMaxKeys_ShouldEvictOnlyFullBuckets() {
+        ReflectionTestUtils.setField(store, "maxKeys", 2);
+        for (int i = 0; i < 3; i++) {
+            store.tryConsume("busy", POLICY);
+        }
+        store.tryConsume("idle", POLICY);
+
+        now.addAndGet(2500);
+        store.tryConsume("new", POLICY);
+
+        // "idle" has refilled and is dropped; "busy" still owes tokens and must be kept
+        assertEquals(2, store.size());
+        assertTrue(store.tryConsume("busy", POLICY).allowed());
+        assertFalse(store.tryConsume("busy", POLICY).allowed());
+    }
+
+    @Test
+    void tryConsume_ConcurrentCallers_ShouldNeverExceedCapacity() throws Exception {
+        RateLimitPolicy policy = new RateLimitPolicy("test", 100, 0.001);
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            executor.submit(() -> {
+                if (store.tryConsume("shared", policy).allowed()) {
+                    allowed.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(100, allowed.get());
+    }
+}
@@ -0,0 +1,100 @@
+package com.seaandtea.repository;
+
+import com.seaandtea.entity.NewsPost;
+import com.seaandtea.entity.NewsPostComment;
+import com.seaandtea.entity.User;
+import com.seaandtea.util.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class NewsPostCommentKeysetTest {
+
+    private static final int COMMENTS = 25;
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private NewsPostCommentRepository commentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private NewsPost post;
+    private final List<Long> commentIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        User reader = User.builder()
+                .email("commenter@example.com")
+                .password("not-a-real-hash")
+                .firstName("Kasun")
+                .lastName("Perera")
+                .role(User.UserRole.USER)
+                .isActive(true)
+                .build();
+        entityManager.persist(reader);
+        post = NewsPost.builder().title("Whale season").body("Body").author(reader).build();
+        entityManager.persist(post);
+        for (int i = 0; i < COMMENTS; i++) {
+            NewsPostComment comment = NewsPostComment.builder().post(post).user(reader).text("Comment " + i).build();
+            entityManager.persist(comment);
+            commentIds.add(comment.getId());
+        }
+        entityManager.flush();
+        // Give most comments the same timestamp so the id tie-breaker decides their order
+        entityManager.createQuery("UPDATE NewsPostComment c SET c.createdAt = :at WHERE c.id <> :first")
+                .setParameter("at", LocalDateTime.of(2026, 3, 1, 9, 30))
+                .setParameter("first", commentIds.get(0))
+                .executeUpdate();
+        entityManager.createQuery("UPDATE NewsPostComment c SET c.createdAt = :at WHERE c.id = :first")
+                .setParameter("at", LocalDateTime.of(2026, 3, 1, 9, 0))
+                .setParameter("first", commentIds.get(0))
+                .executeUpdate();
+        entityManager.clear();
+    }
+
+    @Test
+    void pagingByCursor_ShouldVisitEveryCommentOnceInOrder() {
+        List<Long> visited = new ArrayList<>();
+        List<NewsPostComment> page = commentRepository.findFirstByPostId(post.getId(), PageRequest.of(0, PAGE_SIZE));
+        while (!page.isEmpty()) {
+            page.forEach(comment -> visited.add(comment.getId()));
+            // Re-encode the cursor the way clients receive it
+            NewsPostComment last = page.get(page.size() - 1);
+            KeysetCursor cursor = KeysetCursor.decode(new KeysetCursor(last.getCreatedAt(), last.getId()).encode());
+            page = commentRepository.findByPostIdAfter(post.getId(), cursor.createdAt(), cursor.id(),
+                    PageRequest.of(0, PAGE_SIZE));
+        }
+
+        assertEquals(commentIds, visited);
+    }
+
+    @Test
+    void findFirstByPostId_ShouldFetchAuthorsInTheSameQuery() {
+        List<NewsPostComment> page = commentRepository.findFirstByPostId(post.getId(), PageRequest.of(0, PAGE_SIZE));
+
+        assertEquals(PAGE_SIZE, page.size());
+        page.forEach(comment -> assertTrue(Hibernate.isInitialized(comment.getUser())));
+    }
+
+    @Test
+    void decode_ShouldRejectTamperedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("MjAyNi0wMy0wMXwxMg"));
+    }
+}
@@ -0,0 +1,123 @@
+package com.seaandtea.repository;
+
+import com.seaandtea.entity.NewsPost;
+import com.seaandtea.entity.NewsPostComment;
+import com.seaandtea.entity.NewsPostLike;
+import com.seaandtea.entity.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class NewsPostCounterTest {
+
+    @Autowired
+    private NewsPostRepository newsPostRepository;
+
+    @Autowired
+    private NewsPostLikeRepository likeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User reader;
+    private NewsPost first;
+    private NewsPost second;
+
+    @BeforeEach
+    void seed() {
+        User author = user("author@example.com");
+        reader = user("reader@example.com");
+        first = post(author, "Tea harvest starts");
+        second = post(author, "New beach tours");
+        entityManager.flush();
+    }
+
+    @Test
+    void increments_ShouldAdjustCountersAtomicallyAndNeverGoNegative() {
+        assertEquals(1, newsPostRepository.incrementLikeCount(first.getId(), 1));
+        assertEquals(1, newsPostRepository.incrementLikeCount(first.getId(), 1));
+        assertEquals(1, newsPostRepository.incrementCommentCount(first.getId(), 1));
+        assertEquals(1, newsPostRepository.incrementLikeCount(first.getId(), -1));
+        assertEquals(0, newsPostRepository.incrementCommentCount(second.getId(), -1));
+
+        entityManager.clear();
+        NewsPost reloaded = newsPostRepository.findById(first.getId()).orElseThrow();
+        assertEquals(1L, reloaded.getLikeCount());
+        assertEquals(1L, reloaded.getCommentCount());
+        assertEquals(0L, newsPostRepository.findById(second.getId()).orElseThrow().getCommentCount());
+    }
+
+    @Test
+    void savingAnEditedPost_ShouldKeepIncrementsMadeAfterItWasLoaded() {
+        entityManager.clear();
+        NewsPost loaded = newsPostRepository.findById(first.getId()).orElseThrow();
+        newsPostRepository.incrementLikeCount(first.getId(), 1);
+        newsPostRepository.incrementCommentCount(first.getId(), 1);
+
+        loaded.setTitle("Tea harvest starts early");
+        newsPostRepository.saveAndFlush(loaded);
+
+        entityManager.clear();
+        NewsPost reloaded = newsPostRepository.findById(first.getId()).orElseThrow();
+        assertEquals("Tea harvest starts early", reloaded.getTitle());
+        assertEquals(1L, reloaded.getLikeCount());
+        assertEquals(1L, reloaded.getCommentCount());
+    }
+
+    @Test
+    void findLikedPostIds_ShouldReturnOnlyPostsLikedByUser() {
+        entityManager.persist(NewsPostLike.builder().post(second).user(reader).build());
+        entityManager.flush();
+
+        List<Long> liked = likeRepository.findLikedPostIds(reader.getId(), List.of(first.getId(), second.getId()));
+
+        assertEquals(List.of(second.getId()), liked);
+    }
+
+    @Test
+    void reconcileCounters_ShouldFixOnlyDriftedPosts() {
+        entityManager.persist(NewsPostLike.builder().post(first).user(reader).build());
+        entityManager.persist(NewsPostComment.builder().post(first).user(reader).text("Lovely").build());
+        newsPostRepository.incrementLikeCount(second.getId(), 5);
+        entityManager.flush();
+
+        assertEquals(2, newsPostRepository.reconcileCounters());
+        assertEquals(0, newsPostRepository.reconcileCounters());
+
+        entityManager.clear();
+        NewsPost firstReloaded = newsPostRepository.findById(first.getId()).orElseThrow();
+        assertEquals(1L, firstReloaded.getLikeCount());
+        assertEquals(1L, firstReloaded.getCommentCount());
+        assertEquals(0L, newsPostRepository.findById(second.getId()).orElseThrow().getLikeCount());
+    }
+
+    private User user(String email) {
+        User user = User.builder()
+                .email(email)
+                .password("not-a-real-hash")
+                .firstName("Nadeesha")
+                .lastName("Fernando")
+                .role(User.UserRole.USER)
+                .isActive(true)
+                .build();
+        entityManager.persist(user);
+        return user;
+    }
+
+    private NewsPost post(User author, String title) {
+        NewsPost post = NewsPost.builder().title(title).body("Body of " + title).author(author).build();
+        entityManager.persist(post);
+        return post;
+    }
+}
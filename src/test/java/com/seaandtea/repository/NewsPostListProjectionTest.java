@@ -0,0 +1,112 @@
+package com.seaandtea.repository;
+
+import com.seaandtea.dto.NewsPostListResponse;
+import com.seaandtea.entity.NewsPost;
+import com.seaandtea.entity.User;
+import com.seaandtea.support.CapturingStatementInspector;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.seaandtea.support.CapturingStatementInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class NewsPostListProjectionTest {
+
+    private static final String LONG_BODY = "Sunrise over the tea estates. ".repeat(40);
+
+    @Autowired
+    private NewsPostRepository newsPostRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User author;
+
+    @BeforeEach
+    void seed() {
+        author = User.builder()
+                .email("editor@example.com")
+                .password("not-a-real-hash")
+                .firstName("Dilani")
+                .lastName("Silva")
+                .role(User.UserRole.ADMIN)
+                .isActive(true)
+                .build();
+        entityManager.persist(author);
+    }
+
+    @Test
+    void findPublishedListItems_ShouldProjectSummaryWithoutReadingBody() {
+        persist("Long read", LONG_BODY, true);
+        persist("Short note", "Back soon", true);
+        persist("Draft", "Not yet", false);
+        entityManager.flush();
+        entityManager.clear();
+        CapturingStatementInspector.clear();
+
+        Page<NewsPostListResponse> page = newsPostRepository.findPublishedListItems(
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt")));
+
+        assertEquals(2, page.getTotalElements());
+        NewsPostListResponse longRead = page.getContent().stream()
+                .filter(p -> p.getTitle().equals("Long read")).findFirst().orElseThrow();
+        assertEquals(NewsPost.SUMMARY_MAX_LENGTH + 3, longRead.getBodySummary().length());
+        assertTrue(longRead.getBodySummary().endsWith("..."));
+        assertEquals("Dilani Silva", longRead.getAuthorDisplayName());
+        assertFalse(longRead.getLikedByCurrentUser());
+
+        List<String> statements = CapturingStatementInspector.statements().stream()
+                .map(sql -> sql.toLowerCase(Locale.ROOT))
+                .filter(sql -> sql.contains("from news_posts"))
+                .toList();
+        assertFalse(statements.isEmpty());
+        statements.forEach(sql -> assertFalse(sql.contains(".body"), "list query read the body: " + sql));
+    }
+
+    @Test
+    void backfillSummaries_ShouldFillOnlyMissingSummariesLikeSummarize() {
+        NewsPost legacy = persist("Legacy", LONG_BODY, true);
+        NewsPost shortLegacy = persist("Legacy short", "Monsoon update", true);
+        NewsPost current = persist("Current", LONG_BODY, true);
+        entityManager.flush();
+        entityManager.createQuery("UPDATE NewsPost p SET p.summary = NULL WHERE p.id IN :ids")
+                .setParameter("ids", List.of(legacy.getId(), shortLegacy.getId()))
+                .executeUpdate();
+
+        assertEquals(2, newsPostRepository.backfillSummaries());
+        assertEquals(0, newsPostRepository.backfillSummaries());
+
+        entityManager.clear();
+        assertEquals(NewsPost.summarize(LONG_BODY), newsPostRepository.findById(legacy.getId()).orElseThrow().getSummary());
+        assertEquals("Monsoon update", newsPostRepository.findById(shortLegacy.getId()).orElseThrow().getSummary());
+        assertEquals(NewsPost.summarize(LONG_BODY), newsPostRepository.findById(current.getId()).orElseThrow().getSummary());
+    }
+
+    private NewsPost persist(String title, String body, boolean published) {
+        NewsPost post = NewsPost.builder()
+                .title(title)
+                .body(body)
+                .summary(NewsPost.summarize(body))
+                .author(author)
+                .isPublished(published)
+                .build();
+        entityManager.persist(post);
+        return post;
+    }
+}
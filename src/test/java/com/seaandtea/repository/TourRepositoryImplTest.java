@@ -0,0 +1,216 @@
+package com.seaandtea.repository;
+
+import com.seaandtea.dto.TourFilterRequest;
+import com.seaandtea.dto.TourListResponse;
+import com.seaandtea.entity.Guide;
+import com.seaandtea.entity.Tour;
+import com.seaandtea.entity.Tour.TourCategory;
+import com.seaandtea.entity.TourImage;
+import com.seaandtea.entity.User;
+import com.seaandtea.support.CapturingStatementInspector;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.seaandtea.support.CapturingStatementInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class TourRepositoryImplTest {
+
+    private static final int CATALOG_SIZE = 1200;
+    private static final int IMAGES_PER_TOUR = 3;
+    private static final Pattern ROW_LIMIT = Pattern.compile("\\b(limit|fetch\\s+first)\\b");
+
+    @Autowired
+    private TourRepository tourRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void seedCatalog() {
+        User user = User.builder()
+                .email("guide@example.com")
+                .password("not-a-real-hash")
+                .firstName("Kamal")
+                .lastName("Perera")
+                .role(User.UserRole.GUIDE)
+                .isActive(true)
+                .isVerified(true)
+                .build();
+        entityManager.persist(user);
+
+        Guide guide = Guide.builder()
+                .user(user)
+                .verificationStatus(Guide.VerificationStatus.VERIFIED)
+                .build();
+        entityManager.persist(guide);
+
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            Tour tour = Tour.builder()
+                    .guide(guide)
+                    .title("Tour " + i)
+                    .description(("Description of tour " + i + ". ").repeat(8))
+                    .category(TourCategory.values()[i % TourCategory.values().length])
+                    .durationHours(1 + i % 8)
+                    .maxGroupSize(10)
+                    .pricePerPerson(BigDecimal.valueOf(20 + i % 100))
+                    .languages(i % 2 == 0 ? List.of("English", "Sinhala") : List.of("English"))
+                    .highlights(i % 5 == 0 ? List.of("Sunrise hike", "Tea tasting") : List.of("Tea tasting"))
+                    .isActive(true)
+                    .build();
+            entityManager.persist(tour);
+            for (int j = 0; j < IMAGES_PER_TOUR; j++) {
+                entityManager.persist(TourImage.builder()
+                        .tour(tour)
+                        .imageUrl("https://img.example.com/" + i + "/" + j + ".webp")
+                        .isPrimary(j == 1)
+                        .build());
+            }
+            if (i % 100 == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                guide = entityManager.find(Guide.class, guide.getId());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        CapturingStatementInspector.clear();
+    }
+
+    @Test
+    void findActiveToursFromVerifiedGuidesWithImages_ShouldPaginateIdsInSql() {
+        Page<Tour> page = tourRepository.findActiveToursFromVerifiedGuidesWithImages(
+                PageRequest.of(5, 20, Sort.by(Sort.Direction.DESC, "createdAt")));
+
+        assertEquals(20, page.getContent().size());
+        assertEquals(CATALOG_SIZE, page.getTotalElements());
+
+        List<String> statements = lowerCase(CapturingStatementInspector.statements());
+        assertTrue(statements.stream().anyMatch(sql -> sql.contains("from tours") && ROW_LIMIT.matcher(sql).find()),
+                "the id page query must carry a SQL row limit: " + statements);
+        assertTrue(statements.stream()
+                        .filter(sql -> sql.contains("tour_images"))
+                        .noneMatch(sql -> ROW_LIMIT.matcher(sql).find()),
+                "the fetch-join query must not be paginated");
+    }
+
+    @Test
+    void findActiveToursFromVerifiedGuidesWithImages_ShouldLoadImagesGuideAndUserInPageOrder() {
+        Page<Tour> page = tourRepository.findActiveToursFromVerifiedGuidesWithImages(PageRequest.of(0, 10));
+
+        Long previousId = Long.MAX_VALUE;
+        for (Tour tour : page.getContent()) {
+            assertTrue(Hibernate.isInitialized(tour.getImages()));
+            assertTrue(Hibernate.isInitialized(tour.getGuide()));
+            assertTrue(Hibernate.isInitialized(tour.getGuide().getUser()));
+            assertEquals(IMAGES_PER_TOUR, tour.getImages().size());
+            assertTrue(tour.getId() < previousId, "default order is newest first");
+            previousId = tour.getId();
+        }
+    }
+
+    @Test
+    void findActiveToursFromVerifiedGuidesWithImages_ShouldKeepPersistenceContextBoundedByPageSize() {
+        int pageSize = 25;
+
+        Page<Tour> page = tourRepository.findActiveToursFromVerifiedGuidesWithImages(
+                PageRequest.of(10, pageSize));
+
+        int managedEntities = entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+        assertEquals(pageSize, page.getContent().size());
+        // page tours + their images + the single guide and its user; never the whole catalog
+        assertTrue(managedEntities <= pageSize * (1 + IMAGES_PER_TOUR) + 2,
+                "expected a bounded persistence context but found " + managedEntities + " managed entities");
+    }
+
+    @Test
+    void findActiveTourCards_ShouldProjectCardColumnsWithoutManagingEntities() {
+        TourFilterRequest filter = TourFilterRequest.builder()
+                .category(TourCategory.TEA_TOURS)
+                .searchTerm("tour 1")
+                .build();
+
+        Page<TourListResponse> page = tourRepository.findActiveTourCards(filter, true,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id")));
+
+        assertFalse(page.getContent().isEmpty());
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount(),
+                "card projection must not hydrate entities");
+        for (TourListResponse card : page.getContent()) {
+            assertEquals(TourCategory.TEA_TOURS, card.getCategory());
+            assertEquals(153, card.getDescription().length());
+            assertTrue(card.getDescription().endsWith("..."));
+            assertTrue(card.getPrimaryImageUrl().endsWith("/1.webp"), "primary image wins over the first image");
+            assertEquals("Kamal Perera", card.getGuideName());
+            assertTrue(card.getGuideIsVerified());
+            assertEquals(0L, card.getTotalReviews());
+            assertTrue(card.getHighlightsPreview().contains("Tea tasting"));
+        }
+        List<String> statements = lowerCase(CapturingStatementInspector.statements());
+        assertTrue(statements.stream().noneMatch(sql -> sql.contains("languages")),
+                "card query must not select the JSON detail columns");
+    }
+
+    @Test
+    void findActiveTourCards_ShouldRequireEveryRequestedLanguage() {
+        Page<TourListResponse> sinhala = tourRepository.findActiveTourCards(
+                TourFilterRequest.builder().languages(List.of("Sinhala")).build(), false, PageRequest.of(0, 5));
+        Page<TourListResponse> both = tourRepository.findActiveTourCards(
+                TourFilterRequest.builder().languages(List.of("English", "Sinhala")).build(), false, PageRequest.of(0, 5));
+        Page<TourListResponse> german = tourRepository.findActiveTourCards(
+                TourFilterRequest.builder().languages(List.of("German")).build(), false, PageRequest.of(0, 5));
+
+        assertEquals(CATALOG_SIZE / 2, sinhala.getTotalElements());
+        assertEquals(CATALOG_SIZE / 2, both.getTotalElements());
+        assertEquals(0, german.getTotalElements());
+    }
+
+    @Test
+    void findActiveTourCards_ShouldMatchLanguagesIgnoringCaseButNotAsPatterns() {
+        Page<TourListResponse> lowerCase = tourRepository.findActiveTourCards(
+                TourFilterRequest.builder().languages(List.of("sinhala")).build(), false, PageRequest.of(0, 5));
+        Page<TourListResponse> wildcard = tourRepository.findActiveTourCards(
+                TourFilterRequest.builder().languages(List.of("Sinh_la")).build(), false, PageRequest.of(0, 5));
+        Page<TourListResponse> anything = tourRepository.findActiveTourCards(
+                TourFilterRequest.builder().languages(List.of("%")).build(), false, PageRequest.of(0, 5));
+
+        assertEquals(CATALOG_SIZE / 2, lowerCase.getTotalElements());
+        assertEquals(0, wildcard.getTotalElements());
+        assertEquals(0, anything.getTotalElements());
+    }
+
+    @Test
+    void findActiveTourCards_ShouldMatchWholeHighlightEntries() {
+        Page<TourListResponse> sunrise = tourRepository.findActiveTourCards(
+                TourFilterRequest.builder().highlightKeyword("Sunrise hike").build(), false, PageRequest.of(0, 5));
+        Page<TourListResponse> partial = tourRepository.findActiveTourCards(
+                TourFilterRequest.builder().highlightKeyword("Sunrise").build(), false, PageRequest.of(0, 5));
+
+        assertEquals(CATALOG_SIZE / 5, sunrise.getTotalElements());
+        assertEquals(0, partial.getTotalElements());
+    }
+
+    private static List<String> lowerCase(List<String> statements) {
+        return statements.stream().map(sql -> sql.toLowerCase(Locale.ROOT)).toList();
+    }
+}
@@ -0,0 +1,110 @@
+package com.seaandtea.security;
+
+import com.seaandtea.exception.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.close();
+        }
+    }
+
+    @Test
+    void encodeAndMatches_ShouldDelegateToBcrypt() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 4, 5000, 2, meterRegistry);
+
+        String hash = encoder.encode("secret-password");
+
+        assertTrue(encoder.matches("secret-password", hash));
+        assertFalse(encoder.matches("wrong-password", hash));
+        assertEquals(1, meterRegistry.get("seaandtea.password.hash").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("seaandtea.password.hash").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void upgradeEncoding_ShouldFlagHashesBelowConfiguredStrength() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), 1, 1, 5000, 2, meterRegistry);
+
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret-password")));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("secret-password")));
+    }
+
+    @Test
+    void fullQueue_ShouldRejectImmediatelyWithServiceBusy() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(blockingEncoder(started, release), 1, 1, 5000, 3, meterRegistry);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        waitForQueued(1);
+
+        ServiceBusyException rejected = assertThrows(ServiceBusyException.class, () -> encoder.encode("c"));
+        assertEquals(3, rejected.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("seaandtea.password.hash.rejected").functionCounter().count());
+
+        release.countDown();
+        assertEquals("hashed-a", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hashed-b", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void slowHash_ShouldTimeOutWithServiceBusy() {
+        CountDownLatch release = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(blockingEncoder(new CountDownLatch(1), release), 1, 1, 50, 2, meterRegistry);
+
+        assertThrows(ServiceBusyException.class, () -> encoder.matches("a", "hashed-a"));
+        release.countDown();
+    }
+
+    private void waitForQueued(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("seaandtea.password.hash.queued").gauge().value() < expected) {
+            assertTrue(System.nanoTime() < deadline, "task was never queued");
+            Thread.sleep(5);
+        }
+    }
+
+    private static PasswordEncoder blockingEncoder(CountDownLatch started, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                await(release);
+                return "hashed-" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                await(release);
+                return encodedPassword.equals("hashed-" + rawPassword);
+            }
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
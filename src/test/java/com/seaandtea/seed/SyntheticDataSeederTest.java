@@ -0,0 +1,71 @@
+package com.seaandtea.seed;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the seeder against H2 (JDBC batch path) on its own database so other tests don't see the rows
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:seedtest",
+        "seed.users=200",
+        "seed.guide-percent=10",
+        "seed.tours=60",
+        "seed.bookings=300",
+        "seed.reviews=120",
+        "seed.messages=500",
+        "seed.products=40",
+        "seed.batch-size=50",
+        "seed.exit-on-completion=false"
+})
+@ActiveProfiles({"test", "seed"})
+class SyntheticDataSeederTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void seed_ShouldLoadRequestedVolumes() {
+        assertEquals(200, count("users"));
+        assertEquals(20, count("guides"));
+        assertEquals(60, count("tours"));
+        assertEquals(300, count("bookings"));
+        assertEquals(120, count("reviews"));
+        assertEquals(500, count("messages"));
+        assertEquals(40, count("products"));
+        assertTrue(count("tour_images") >= 60);
+        assertTrue(count("product_images") >= 40);
+    }
+
+    @Test
+    void seed_ShouldKeepRelationshipsConsistent() {
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM bookings b JOIN tours t ON t.id = b.tour_id WHERE b.guide_id <> t.guide_id",
+                Long.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM reviews r JOIN bookings b ON b.id = r.booking_id " +
+                        "WHERE r.tour_id <> b.tour_id OR r.tourist_id <> b.tourist_id OR b.status <> 'COMPLETED'",
+                Long.class));
+        assertEquals(count("tours"), jdbcTemplate.queryForObject("SELECT SUM(total_tours) FROM guides", Long.class));
+    }
+
+    @Test
+    void seed_ShouldStoreTourListsAsJsonAndMoveIdGeneratorsPastSeededRows() {
+        String languages = jdbcTemplate.queryForObject(
+                "SELECT CAST(languages AS VARCHAR) FROM tours ORDER BY id LIMIT 1", String.class);
+        assertTrue(languages.startsWith("["), languages);
+
+        long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM products", Long.class);
+        jdbcTemplate.update("INSERT INTO products (name, current_price, category, is_active) VALUES ('Extra', 1.00, 'TEA', true)");
+        assertEquals(maxId + 1, jdbcTemplate.queryForObject("SELECT MAX(id) FROM products", Long.class));
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+}
@@ -0,0 +1,132 @@
+package com.seaandtea.service;
+
+import com.seaandtea.dto.GuideProfileResponse;
+import com.seaandtea.entity.Guide;
+import com.seaandtea.entity.GuideLanguage;
+import com.seaandtea.entity.GuideSpecialty;
+import com.seaandtea.entity.User;
+import com.seaandtea.support.SqlStatementAssertions;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the number of SQL statements a guide list page costs: page query (guides + users), count query,
+ * one batch for specialties and one for languages, independent of page size.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional
+class GuideServiceQueryBudgetTest {
+
+    private static final int GUIDE_COUNT = 30;
+    private static final long LIST_PAGE_STATEMENT_BUDGET = 4;
+
+    @Autowired
+    private GuideService guideService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seedGuides() {
+        for (int i = 0; i < GUIDE_COUNT; i++) {
+            User user = User.builder()
+                    .email("budget-guide-" + i + "@example.com")
+                    .password("not-a-real-hash")
+                    .firstName("Guide")
+                    .lastName("No" + i)
+                    .role(User.UserRole.GUIDE)
+                    .isActive(true)
+                    .isVerified(true)
+                    .build();
+            entityManager.persist(user);
+
+            Guide guide = Guide.builder()
+                    .user(user)
+                    .bio("Guide " + i)
+                    .verificationStatus(i % 3 == 0 ? Guide.VerificationStatus.PENDING : Guide.VerificationStatus.VERIFIED)
+                    .build();
+            entityManager.persist(guide);
+
+            entityManager.persist(GuideSpecialty.builder().guide(guide).specialty("Tea").yearsExperience(2).build());
+            entityManager.persist(GuideSpecialty.builder().guide(guide).specialty("Hiking").yearsExperience(5).build());
+            entityManager.persist(GuideLanguage.builder().guide(guide).language("English")
+                    .proficiencyLevel(GuideLanguage.ProficiencyLevel.FLUENT).build());
+            entityManager.persist(GuideLanguage.builder().guide(guide).language("Tamil")
+                    .proficiencyLevel(GuideLanguage.ProficiencyLevel.NATIVE).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getAllGuides_ShouldStayWithinStatementBudget() {
+        Page<GuideProfileResponse> page = guideService.getAllGuides(PageRequest.of(0, 25));
+
+        assertEquals(25, page.getContent().size());
+        assertEquals(GUIDE_COUNT, page.getTotalElements());
+        page.getContent().forEach(guide -> {
+            assertEquals(2, guide.getSpecialties().size());
+            assertEquals(2, guide.getLanguages().size());
+            assertNotNull(guide.getUserEmail());
+        });
+        assertEquals(LIST_PAGE_STATEMENT_BUDGET, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getGuidesByVerificationStatus_ShouldReturnEveryGuideWithinStatementBudget() {
+        List<GuideProfileResponse> pending = guideService.getGuidesByVerificationStatus(Guide.VerificationStatus.PENDING);
+
+        assertEquals(GUIDE_COUNT / 3, pending.size());
+        pending.forEach(guide -> {
+            assertEquals(2, guide.getSpecialties().size());
+            assertEquals(2, guide.getLanguages().size());
+        });
+        // The list, then specialties and languages for the whole batch; no count query
+        assertEquals(LIST_PAGE_STATEMENT_BUDGET - 1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getVerifiedGuidesPaginated_ShouldCostTheSameForSmallAndLargePages() {
+        guideService.getVerifiedGuidesPaginated(PageRequest.of(0, 5));
+        long smallPage = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        statistics.clear();
+
+        guideService.getVerifiedGuidesPaginated(PageRequest.of(0, 15));
+        long largePage = statistics.getPrepareStatementCount();
+
+        assertEquals(LIST_PAGE_STATEMENT_BUDGET, smallPage);
+        assertEquals(smallPage, largePage);
+    }
+
+    @Test
+    void getAllGuides_ShouldStayWithinStatementBudgetAtTheDataSource() {
+        Page<GuideProfileResponse> page = SqlStatementAssertions.maxQueries((int) LIST_PAGE_STATEMENT_BUDGET,
+                () -> guideService.getAllGuides(PageRequest.of(0, 25)));
+
+        assertEquals(25, page.getContent().size());
+    }
+}
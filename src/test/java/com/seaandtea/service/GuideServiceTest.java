@@ -3,8 +3,12 @@ package com.seaandtea.service;
 import com.seaandtea.dto.GuideProfileRequest;
 import com.seaandtea.dto.GuideProfileResponse;
 import com.seaandtea.entity.Guide;
+import com.seaandtea.entity.GuideLanguage;
+import com.seaandtea.entity.GuideSpecialty;
 import com.seaandtea.entity.User;
+import com.seaandtea.repository.GuideLanguageRepository;
 import com.seaandtea.repository.GuideRepository;
+import com.seaandtea.repository.GuideSpecialtyRepository;
 import com.seaandtea.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,10 +16,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -31,12 +42,21 @@ class GuideServiceTest {
     @Mock
     private GuideRepository guideRepository;
     
+    @Mock
+    private GuideSpecialtyRepository guideSpecialtyRepository;
+    
+    @Mock
+    private GuideLanguageRepository guideLanguageRepository;
+    
     @Mock
     private UserRepository userRepository;
     
     @Mock
     private UserService userService;
     
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
     @InjectMocks
     private GuideService guideService;
     
@@ -227,31 +247,95 @@ class GuideServiceTest {
     }
     
     @Test
-    void getAllVerifiedGuides_Success() {
+    void getAllGuides_BatchLoadsSpecialtiesAndLanguagesForThePage() {
         // Given
-        Guide verifiedGuide1 = Guide.builder()
+        Guide guide1 = Guide.builder()
                 .id(1L)
                 .user(testUser)
                 .verificationStatus(Guide.VerificationStatus.VERIFIED)
                 .bio("Verified guide 1")
                 .build();
         
-        Guide verifiedGuide2 = Guide.builder()
+        Guide guide2 = Guide.builder()
                 .id(2L)
                 .user(testUser)
-                .verificationStatus(Guide.VerificationStatus.VERIFIED)
-                .bio("Verified guide 2")
+                .verificationStatus(Guide.VerificationStatus.PENDING)
+                .bio("Pending guide 2")
                 .build();
         
-        when(guideRepository.findByVerificationStatus(Guide.VerificationStatus.VERIFIED))
-                .thenReturn(Arrays.asList(verifiedGuide1, verifiedGuide2));
+        GuideSpecialty specialty = GuideSpecialty.builder()
+                .id(10L)
+                .guide(guide1)
+                .specialty("Tea")
+                .yearsExperience(4)
+                .build();
+        GuideLanguage language = GuideLanguage.builder()
+                .id(20L)
+                .guide(guide2)
+                .language("Sinhala")
+                .proficiencyLevel(GuideLanguage.ProficiencyLevel.NATIVE)
+                .build();
+        
+        Pageable pageable = PageRequest.of(0, 10);
+        when(guideRepository.findAllWithUser(pageable))
+                .thenReturn(new PageImpl<>(Arrays.asList(guide1, guide2), pageable, 2));
+        when(guideSpecialtyRepository.findByGuideIdIn(List.of(1L, 2L))).thenReturn(List.of(specialty));
+        when(guideLanguageRepository.findByGuideIdIn(List.of(1L, 2L))).thenReturn(List.of(language));
+        
+        // When
+        Page<GuideProfileResponse> result = guideService.getAllGuides(pageable);
+        
+        // Then
+        assertEquals(2, result.getContent().size());
+        assertEquals("Tea", result.getContent().get(0).getSpecialties().get(0).getSpecialty());
+        assertTrue(result.getContent().get(0).getLanguages().isEmpty());
+        assertTrue(result.getContent().get(1).getSpecialties().isEmpty());
+        assertEquals("Sinhala", result.getContent().get(1).getLanguages().get(0).getLanguage());
+        verify(guideSpecialtyRepository).findByGuideIdIn(List.of(1L, 2L));
+        verify(guideLanguageRepository).findByGuideIdIn(List.of(1L, 2L));
+        verify(guideRepository, never()).findAll();
+    }
+    
+    @Test
+    void getAllVerifiedGuides_ReturnsEveryGuideWithoutAPageCap() {
+        // Given
+        List<Guide> guides = new ArrayList<>();
+        for (long id = 1; id <= GuideService.MAX_PAGE_SIZE + 20; id++) {
+            guides.add(Guide.builder()
+                    .id(id)
+                    .user(testUser)
+                    .verificationStatus(Guide.VerificationStatus.VERIFIED)
+                    .build());
+        }
+        when(guideRepository.findByVerificationStatus(eq(Guide.VerificationStatus.VERIFIED), any(Sort.class)))
+                .thenReturn(guides);
+        when(guideSpecialtyRepository.findByGuideIdIn(anyList())).thenReturn(List.of());
+        when(guideLanguageRepository.findByGuideIdIn(anyList())).thenReturn(List.of());
         
         // When
         List<GuideProfileResponse> result = guideService.getAllVerifiedGuides();
         
         // Then
-        assertEquals(2, result.size());
-        verify(guideRepository).findByVerificationStatus(Guide.VerificationStatus.VERIFIED);
+        assertEquals(GuideService.MAX_PAGE_SIZE + 20, result.size());
+        verify(guideSpecialtyRepository, times(1)).findByGuideIdIn(anyList());
+        verify(guideLanguageRepository, times(1)).findByGuideIdIn(anyList());
+    }
+    
+    @Test
+    void getVerifiedGuidesPaginated_CapsPageSize() {
+        // Given
+        Pageable requested = PageRequest.of(3, 10_000);
+        Pageable capped = PageRequest.of(3, GuideService.MAX_PAGE_SIZE);
+        when(guideRepository.findByVerificationStatus(Guide.VerificationStatus.VERIFIED, capped))
+                .thenReturn(new PageImpl<>(List.of(), capped, 0));
+        
+        // When
+        Page<GuideProfileResponse> result = guideService.getVerifiedGuidesPaginated(requested);
+        
+        // Then
+        assertTrue(result.isEmpty());
+        verify(guideRepository).findByVerificationStatus(Guide.VerificationStatus.VERIFIED, capped);
+        verifyNoInteractions(guideSpecialtyRepository, guideLanguageRepository);
     }
     
     @Test
@@ -264,18 +348,14 @@ class GuideServiceTest {
                 .bio("Verified guide")
                 .build();
         
-        org.springframework.data.domain.Page<Guide> page = mock(org.springframework.data.domain.Page.class);
-        when(page.getContent()).thenReturn(Arrays.asList(verifiedGuide));
-        when(page.getTotalPages()).thenReturn(1);
-        when(page.getTotalElements()).thenReturn(1L);
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<Guide> page = new PageImpl<>(Arrays.asList(verifiedGuide), pageable, 1);
         
-        when(guideRepository.findByVerificationStatus(eq(Guide.VerificationStatus.VERIFIED), any(org.springframework.data.domain.Pageable.class)))
+        when(guideRepository.findByVerificationStatus(eq(Guide.VerificationStatus.VERIFIED), any(Pageable.class)))
                 .thenReturn(page);
         
-        org.springframework.data.domain.Pageable pageable = org.springframework.data.domain.PageRequest.of(0, 10);
-        
         // When
-        org.springframework.data.domain.Page<GuideProfileResponse> result = guideService.getVerifiedGuidesPaginated(pageable);
+        Page<GuideProfileResponse> result = guideService.getVerifiedGuidesPaginated(pageable);
         
         // Then
         assertNotNull(result);
@@ -283,4 +363,3 @@ class GuideServiceTest {
         verify(guideRepository).findByVerificationStatus(Guide.VerificationStatus.VERIFIED, pageable);
     }
 }
-
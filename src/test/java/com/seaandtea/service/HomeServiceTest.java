@@ -0,0 +1,102 @@
+package com.seaandtea.service;
+
+import com.seaandtea.dto.HomeResponse;
+import com.seaandtea.dto.HomepageSliderImageResponse;
+import com.seaandtea.dto.ProductListResponse;
+import com.seaandtea.dto.TourListResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HomeServiceTest {
+
+    @Mock
+    private HomepageSliderService homepageSliderService;
+
+    @Mock
+    private TourService tourService;
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private NewsPostService newsPostService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private HomeService homeService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(homeService, "sectionTimeoutMs", 300L);
+        ReflectionTestUtils.setField(homeService, "executorThreads", 5);
+        ReflectionTestUtils.setField(homeService, "connectionPoolSize", 10);
+        ReflectionTestUtils.setField(homeService, "queueCapacity", 10);
+        homeService.init();
+
+        when(homepageSliderService.getAll()).thenReturn(List.of(HomepageSliderImageResponse.builder().id(1L).build()));
+        when(tourService.getVerifiedTours(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(TourListResponse.builder().id(2L).build())));
+        when(productService.getBestSellers(0, HomeService.SECTION_SIZE))
+                .thenReturn(new PageImpl<>(List.of(ProductListResponse.builder().id(3L).build())));
+        when(newsPostService.getPublishedPosts(any(Pageable.class), isNull())).thenReturn(new PageImpl<>(List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        homeService.shutdown();
+    }
+
+    @Test
+    void getHome_ShouldComposeAllSections() {
+        when(tourService.getPopularTours(0, HomeService.SECTION_SIZE))
+                .thenReturn(new PageImpl<>(List.of(TourListResponse.builder().id(4L).build())));
+
+        HomeResponse home = homeService.getHome();
+
+        assertTrue(home.getUnavailableSections().isEmpty());
+        assertEquals(1L, home.getSlider().get(0).getId());
+        assertEquals(4L, home.getPopularTours().get(0).getId());
+        assertEquals(2L, home.getVerifiedTours().get(0).getId());
+        assertEquals(3L, home.getBestSellers().get(0).getId());
+        assertNotNull(home.getLatestNews());
+    }
+
+    @Test
+    void getHome_ShouldReturnPartialResultWhenSectionsFailOrTimeOut() {
+        when(tourService.getPopularTours(anyInt(), anyInt())).thenAnswer(invocation -> {
+            Thread.sleep(2_000);
+            return new PageImpl<>(List.of());
+        });
+        when(productService.getBestSellers(0, HomeService.SECTION_SIZE)).thenThrow(new IllegalStateException("database down"));
+
+        long started = System.nanoTime();
+        HomeResponse home = homeService.getHome();
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        assertEquals(List.of("popularTours", "bestSellers"), home.getUnavailableSections());
+        assertNull(home.getPopularTours());
+        assertNull(home.getBestSellers());
+        assertEquals(1, home.getSlider().size());
+        assertTrue(elapsedMs < 1_500, "waited " + elapsedMs + " ms");
+    }
+}
@@ -0,0 +1,101 @@
+package com.seaandtea.service;
+
+import com.seaandtea.cache.LocalCacheInvalidationChannel;
+import com.seaandtea.dto.HomepageSliderImageResponse;
+import com.seaandtea.entity.HomepageSliderImage;
+import com.seaandtea.event.CatalogChangedEvent;
+import com.seaandtea.outbox.OutboxPublisher;
+import com.seaandtea.repository.HomepageSliderImageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HomepageSliderServiceTest {
+
+    @Mock
+    private HomepageSliderImageRepository repository;
+
+    @Mock
+    private OutboxPublisher outboxPublisher;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private LocalCacheInvalidationChannel channel;
+    private HomepageSliderService service;
+
+    @BeforeEach
+    void setUp() {
+        channel = new LocalCacheInvalidationChannel();
+        service = new HomepageSliderService(repository, outboxPublisher, eventPublisher, channel);
+        service.subscribe();
+    }
+
+    @Test
+    void getAll_ShouldServeSnapshotWithoutQueryingAgain() {
+        when(repository.findAllByOrderBySortOrderAsc()).thenReturn(List.of(image(1L, "a.jpg", 0)));
+
+        List<HomepageSliderImageResponse> first = service.getAll();
+        List<HomepageSliderImageResponse> second = service.getAll();
+        String eTag = service.getVersion().eTag();
+
+        assertSame(first, second);
+        assertEquals("a.jpg", first.get(0).getImageUrl());
+        assertThrows(UnsupportedOperationException.class, () -> first.add(new HomepageSliderImageResponse()));
+        assertEquals(eTag, service.getVersion().eTag());
+        verify(repository, times(1)).findAllByOrderBySortOrderAsc();
+    }
+
+    @Test
+    void sliderChange_ShouldRebuildSnapshotAndChangeETag() {
+        when(repository.findAllByOrderBySortOrderAsc())
+                .thenReturn(List.of(image(1L, "a.jpg", 0)))
+                .thenReturn(List.of(image(1L, "a.jpg", 0), image(2L, "b.jpg", 1)));
+        String before = service.getVersion().eTag();
+
+        service.onCatalogChanged(new CatalogChangedEvent(CatalogChangedEvent.Catalog.HOMEPAGE_SLIDER, 2L));
+
+        assertEquals(2, service.getAll().size());
+        assertNotEquals(before, service.getVersion().eTag());
+        verify(repository, times(2)).findAllByOrderBySortOrderAsc();
+    }
+
+    @Test
+    void otherCatalogChanges_ShouldKeepSnapshot() {
+        when(repository.findAllByOrderBySortOrderAsc()).thenReturn(List.of(image(1L, "a.jpg", 0)));
+        service.getAll();
+
+        service.onCatalogChanged(new CatalogChangedEvent(CatalogChangedEvent.Catalog.TOURS, 7L));
+        service.getAll();
+
+        verify(repository, times(1)).findAllByOrderBySortOrderAsc();
+    }
+
+    @Test
+    void eTag_ShouldDependOnContentOnly() {
+        HomepageSliderImageRepository otherRepository = mock(HomepageSliderImageRepository.class);
+        when(repository.findAllByOrderBySortOrderAsc()).thenReturn(List.of(image(1L, "a.jpg", 0)));
+        when(otherRepository.findAllByOrderBySortOrderAsc()).thenReturn(List.of(image(1L, "a.jpg", 0)));
+        HomepageSliderService otherInstance = new HomepageSliderService(otherRepository, outboxPublisher, eventPublisher,
+                new LocalCacheInvalidationChannel());
+
+        // A second instance that rebuilt a different number of times still agrees on the ETag
+        service.refresh();
+        service.refresh();
+
+        assertEquals(service.getVersion().eTag(), otherInstance.getVersion().eTag());
+    }
+
+    private static HomepageSliderImage image(Long id, String url, int sortOrder) {
+        return HomepageSliderImage.builder().id(id).imageUrl(url).sortOrder(sortOrder).altText("Slide " + id).build();
+    }
+}
@@ -0,0 +1,133 @@
+package com.seaandtea.service;
+
+import com.seaandtea.entity.NewsPost;
+import com.seaandtea.entity.User;
+import com.seaandtea.repository.NewsPostLikeRepository;
+import com.seaandtea.repository.NewsPostRepository;
+import com.seaandtea.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fires hundreds of concurrent like and unlike calls at the same posts, with every user tapping
+ * several times, and checks the denormalized counter matches the like rows exactly.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+class NewsPostLikeConcurrencyTest {
+
+    private static final int USERS = 100;
+    private static final int TAPS_PER_USER = 4;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private NewsPostService newsPostService;
+
+    @Autowired
+    private NewsPostRepository newsPostRepository;
+
+    @Autowired
+    private NewsPostLikeRepository likeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<User> users = new ArrayList<>();
+    private final List<NewsPost> posts = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < USERS; i++) {
+            users.add(userRepository.save(User.builder()
+                    .email("liker-" + i + "@example.com")
+                    .password("not-a-real-hash")
+                    .firstName("Liker")
+                    .lastName("No" + i)
+                    .role(User.UserRole.USER)
+                    .isActive(true)
+                    .build()));
+        }
+        User author = users.get(0);
+        posts.add(newsPostRepository.save(NewsPost.builder().title("Tea harvest starts").body("Body").author(author).build()));
+        posts.add(newsPostRepository.save(NewsPost.builder().title("New beach tours").body("Body").author(author).build()));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        likeRepository.deleteAllInBatch();
+        newsPostRepository.deleteAllInBatch(posts);
+        userRepository.deleteAllInBatch(users);
+    }
+
+    @Test
+    void concurrentLikesAndUnlikes_ShouldKeepCountersExact() throws Exception {
+        hammer(newsPostService::likePost);
+        for (NewsPost post : posts) {
+            assertEquals(USERS, likeRepository.countByPostId(post.getId()));
+            assertEquals(USERS, newsPostRepository.findById(post.getId()).orElseThrow().getLikeCount());
+        }
+
+        hammer(newsPostService::unlikePost);
+        for (NewsPost post : posts) {
+            assertEquals(0, likeRepository.countByPostId(post.getId()));
+            assertEquals(0L, newsPostRepository.findById(post.getId()).orElseThrow().getLikeCount());
+        }
+    }
+
+    /**
+     * Runs every user's taps on every post in shuffled order from a thread pool. H2, unlike
+     * PostgreSQL, fails a statement that collides with another transaction's uncommitted duplicate
+     * instead of waiting for it, so such calls are retried once the burst is over; a retried call
+     * must still leave the counter in step with the rows.
+     */
+    private void hammer(BiConsumer<Long, String> action) throws InterruptedException {
+        List<Runnable> taps = new ArrayList<>();
+        for (NewsPost post : posts) {
+            for (User user : users) {
+                for (int i = 0; i < TAPS_PER_USER; i++) {
+                    taps.add(() -> action.accept(post.getId(), user.getEmail()));
+                }
+            }
+        }
+        Collections.shuffle(taps);
+
+        ConcurrentLinkedQueue<Runnable> failed = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Runnable tap : taps) {
+                executor.submit(() -> {
+                    start.await();
+                    try {
+                        tap.run();
+                    } catch (RuntimeException e) {
+                        failed.add(tap);
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS), "taps did not finish in time");
+        } finally {
+            executor.shutdownNow();
+        }
+        failed.forEach(Runnable::run);
+    }
+}
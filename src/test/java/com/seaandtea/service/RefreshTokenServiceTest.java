@@ -0,0 +1,191 @@
+package com.seaandtea.service;
+
+import com.seaandtea.entity.RefreshToken;
+import com.seaandtea.entity.User;
+import com.seaandtea.exception.InvalidRefreshTokenException;
+import com.seaandtea.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(refreshTokenService, "refreshExpirationDays", 30L);
+        user = User.builder().id(1L).email("traveller@example.com").isActive(true).build();
+    }
+
+    @Test
+    void issue_ShouldStoreOnlyTheHashOfANewFamily() {
+        String rawToken = refreshTokenService.issue(user);
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertEquals(RefreshTokenService.hash(rawToken), saved.getValue().getTokenHash());
+        assertNotEquals(rawToken, saved.getValue().getTokenHash());
+        assertNotNull(saved.getValue().getFamilyId());
+        assertTrue(saved.getValue().getExpiresAt().isAfter(LocalDateTime.now().plusDays(29)));
+        verify(refreshTokenRepository).deleteExpiredByUserId(eq(1L), any());
+    }
+
+    @Test
+    void rotate_ValidToken_ShouldSpendItAndIssueSuccessorInSameFamily() {
+        RefreshToken token = storedToken("raw-token");
+        when(refreshTokenRepository.findByTokenHashWithUser(RefreshTokenService.hash("raw-token")))
+                .thenReturn(Optional.of(token));
+        when(refreshTokenRepository.markUsed(eq(token.getId()), any())).thenReturn(1);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("raw-token");
+
+        assertSame(user, rotation.user());
+        assertNotEquals("raw-token", rotation.refreshToken());
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertEquals("family-1", saved.getValue().getFamilyId());
+        verify(refreshTokenRepository).deleteExpiredInFamily(eq("family-1"), any());
+        verify(refreshTokenRepository, never()).revokeFamily(anyString(), any());
+    }
+
+    @Test
+    void rotate_AlreadyUsedToken_ShouldRevokeWholeFamily() {
+        RefreshToken token = storedToken("raw-token");
+        token.setUsedAt(LocalDateTime.now().minusMinutes(5));
+        when(refreshTokenRepository.findByTokenHashWithUser(RefreshTokenService.hash("raw-token")))
+                .thenReturn(Optional.of(token));
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("raw-token"));
+
+        verify(refreshTokenRepository).revokeFamily(eq("family-1"), any());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_ReplayedTokenAfterTwoRotations_ShouldRevokeWholeFamily() {
+        Map<String, RefreshToken> byHash = new HashMap<>();
+        when(refreshTokenRepository.save(any())).thenAnswer(invocation -> {
+            RefreshToken saved = invocation.getArgument(0);
+            saved.setId((long) byHash.size() + 1);
+            byHash.put(saved.getTokenHash(), saved);
+            return saved;
+        });
+        when(refreshTokenRepository.findByTokenHashWithUser(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(byHash.get(invocation.<String>getArgument(0))));
+        when(refreshTokenRepository.markUsed(any(), any())).thenAnswer(invocation -> {
+            RefreshToken spent = byHash.values().stream()
+                    .filter(t -> t.getId().equals(invocation.getArgument(0)))
+                    .findFirst().orElseThrow();
+            spent.setUsedAt(invocation.getArgument(1));
+            return 1;
+        });
+
+        String first = refreshTokenService.issue(user);
+        String second = refreshTokenService.rotate(first).refreshToken();
+        refreshTokenService.rotate(second);
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(first));
+        verify(refreshTokenRepository).revokeFamily(eq(byHash.get(RefreshTokenService.hash(first)).getFamilyId()), any());
+    }
+
+    @Test
+    void rotate_ReplayedTokenThatHasExpired_ShouldStillRevokeWholeFamily() {
+        RefreshToken token = storedToken("raw-token");
+        token.setUsedAt(LocalDateTime.now().minusDays(20));
+        token.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+        when(refreshTokenRepository.findByTokenHashWithUser(RefreshTokenService.hash("raw-token")))
+                .thenReturn(Optional.of(token));
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("raw-token"));
+
+        verify(refreshTokenRepository).revokeFamily(eq("family-1"), any());
+    }
+
+    @Test
+    void rotate_ConcurrentRefreshLosingTheRace_ShouldBeTreatedAsReuse() {
+        RefreshToken token = storedToken("raw-token");
+        when(refreshTokenRepository.findByTokenHashWithUser(RefreshTokenService.hash("raw-token")))
+                .thenReturn(Optional.of(token));
+        when(refreshTokenRepository.markUsed(eq(token.getId()), any())).thenReturn(0);
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("raw-token"));
+
+        verify(refreshTokenRepository).revokeFamily(eq("family-1"), any());
+    }
+
+    @Test
+    void rotate_ExpiredOrUnknownToken_ShouldThrowWithoutWriting() {
+        RefreshToken token = storedToken("raw-token");
+        token.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+        when(refreshTokenRepository.findByTokenHashWithUser(RefreshTokenService.hash("raw-token")))
+                .thenReturn(Optional.of(token));
+        when(refreshTokenRepository.findByTokenHashWithUser(RefreshTokenService.hash("unknown")))
+                .thenReturn(Optional.empty());
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("raw-token"));
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("unknown"));
+        verify(refreshTokenRepository, never()).markUsed(any(), any());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_DisabledUser_ShouldRevokeFamily() {
+        user.setIsActive(false);
+        RefreshToken token = storedToken("raw-token");
+        when(refreshTokenRepository.findByTokenHashWithUser(RefreshTokenService.hash("raw-token")))
+                .thenReturn(Optional.of(token));
+        when(refreshTokenRepository.markUsed(eq(token.getId()), any())).thenReturn(1);
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("raw-token"));
+
+        verify(refreshTokenRepository).revokeFamily(eq("family-1"), any());
+    }
+
+    @Test
+    void revoke_ShouldRevokeFamilyAndIgnoreUnknownTokens() {
+        RefreshToken token = storedToken("raw-token");
+        when(refreshTokenRepository.findByTokenHashWithUser(RefreshTokenService.hash("raw-token")))
+                .thenReturn(Optional.of(token));
+        when(refreshTokenRepository.findByTokenHashWithUser(RefreshTokenService.hash("unknown")))
+                .thenReturn(Optional.empty());
+
+        refreshTokenService.revoke("raw-token");
+        refreshTokenService.revoke("unknown");
+
+        verify(refreshTokenRepository, times(1)).revokeFamily(eq("family-1"), any());
+    }
+
+    private RefreshToken storedToken(String rawToken) {
+        return RefreshToken.builder()
+                .id(10L)
+                .user(user)
+                .tokenHash(RefreshTokenService.hash(rawToken))
+                .familyId("family-1")
+                .expiresAt(LocalDateTime.now().plusDays(10))
+                .build();
+    }
+}
@@ -0,0 +1,116 @@
+package com.seaandtea.service;
+
+import com.seaandtea.dto.TourFacetsResponse;
+import com.seaandtea.dto.TourFacetsResponse.FacetBucket;
+import com.seaandtea.dto.TourFilterRequest;
+import com.seaandtea.entity.Tour.TourCategory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TourFacetIndexTest {
+
+    private TourFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = TourFacetIndex.build(1L, List.of(
+                new TourFacetIndex.Row(1L, TourCategory.TEA_TOURS, new BigDecimal("20.00"), 2, true, List.of("English", "Sinhala"), List.of("Tea tasting")),
+                new TourFacetIndex.Row(2L, TourCategory.TEA_TOURS, new BigDecimal("45.00"), 4, false, List.of("English"), List.of("Tea tasting", "Waterfall")),
+                new TourFacetIndex.Row(3L, TourCategory.BEACH_TOURS, new BigDecimal("120.00"), 8, true, List.of("German"), null),
+                new TourFacetIndex.Row(4L, TourCategory.BEACH_TOURS, new BigDecimal("250.00"), 10, false, null, null),
+                new TourFacetIndex.Row(5L, TourCategory.FOOD_TOURS, new BigDecimal("30.00"), 3, true, List.of("english "), List.of("Street food"))));
+    }
+
+    @Test
+    void facets_WithoutFilters_ShouldCountWholeIndex() {
+        TourFacetsResponse facets = index.facets(new TourFilterRequest(), null);
+
+        assertEquals(5, facets.getTotalMatches());
+        assertEquals(2, count(facets.getCategories(), "TEA_TOURS"));
+        assertEquals(2, count(facets.getCategories(), "BEACH_TOURS"));
+        assertEquals(0, count(facets.getCategories(), "WILDLIFE_TOURS"));
+        assertEquals(1, count(facets.getPriceBands(), "UNDER_25"));
+        assertEquals(2, count(facets.getPriceBands(), "25_TO_50"));
+        assertEquals(0, count(facets.getPriceBands(), "50_TO_100"));
+        assertEquals(1, count(facets.getPriceBands(), "200_PLUS"));
+        assertEquals(2, count(facets.getDurationBands(), "HALF_DAY"));
+        assertEquals(1, count(facets.getDurationBands(), "MULTI_DAY"));
+        assertEquals(3, count(facets.getInstantBooking(), "true"));
+        assertEquals(2, count(facets.getInstantBooking(), "false"));
+
+        // languages are case-insensitive and ordered by count
+        assertEquals("English", facets.getLanguages().get(0).getKey());
+        assertEquals(3, facets.getLanguages().get(0).getCount());
+    }
+
+    @Test
+    void facets_ShouldNotNarrowAFacetByItsOwnFilter() {
+        TourFilterRequest filter = TourFilterRequest.builder()
+                .category(TourCategory.TEA_TOURS)
+                .build();
+
+        TourFacetsResponse facets = index.facets(filter, null);
+
+        assertEquals(2, facets.getTotalMatches());
+        // sibling categories remain selectable
+        assertEquals(2, count(facets.getCategories(), "BEACH_TOURS"));
+        assertEquals(1, count(facets.getCategories(), "FOOD_TOURS"));
+        // other facets are narrowed to tea tours
+        assertEquals(1, count(facets.getPriceBands(), "UNDER_25"));
+        assertEquals(1, count(facets.getPriceBands(), "25_TO_50"));
+        assertEquals(0, count(facets.getPriceBands(), "200_PLUS"));
+    }
+
+    @Test
+    void facets_ShouldApplyRangeFiltersInclusively() {
+        TourFilterRequest filter = TourFilterRequest.builder()
+                .minPrice(new BigDecimal("30"))
+                .maxPrice(new BigDecimal("45.00"))
+                .build();
+
+        TourFacetsResponse facets = index.facets(filter, null);
+
+        assertEquals(2, facets.getTotalMatches());
+        assertEquals(1, count(facets.getCategories(), "TEA_TOURS"));
+        assertEquals(1, count(facets.getCategories(), "FOOD_TOURS"));
+        assertEquals(5, facets.getPriceBands().stream().mapToLong(FacetBucket::getCount).sum());
+    }
+
+    @Test
+    void facets_ShouldRequireEveryRequestedLanguageAndTheHighlight() {
+        TourFacetsResponse bothLanguages = index.facets(TourFilterRequest.builder()
+                .languages(List.of("English", "Sinhala"))
+                .build(), null);
+        TourFacetsResponse highlight = index.facets(TourFilterRequest.builder()
+                .highlightKeyword("Tea tasting")
+                .languages(List.of("English"))
+                .build(), null);
+
+        assertEquals(1, bothLanguages.getTotalMatches());
+        assertEquals(1, count(bothLanguages.getCategories(), "TEA_TOURS"));
+        assertEquals(2, highlight.getTotalMatches());
+        assertEquals(0, count(highlight.getCategories(), "FOOD_TOURS"));
+    }
+
+    @Test
+    void facets_ShouldRestrictToSearchMatchesAndIgnoreUnknownIds() {
+        TourFacetsResponse facets = index.facets(new TourFilterRequest(), index.positionsOf(List.of(3L, 4L, 999L)));
+
+        assertEquals(2, facets.getTotalMatches());
+        assertEquals(2, count(facets.getCategories(), "BEACH_TOURS"));
+        assertEquals(0, count(facets.getCategories(), "TEA_TOURS"));
+    }
+
+    private static long count(List<FacetBucket> buckets, String key) {
+        return buckets.stream()
+                .filter(bucket -> bucket.getKey().equals(key))
+                .findFirst()
+                .map(FacetBucket::getCount)
+                .orElseThrow(() -> new AssertionError("no bucket " + key));
+    }
+}
@@ -0,0 +1,107 @@
+package com.seaandtea.service;
+
+import com.seaandtea.event.CatalogChangedEvent;
+import com.seaandtea.repository.TourRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TourGeoIndexTest {
+
+    // Kandy, Peradeniya (~6 km from Kandy), Nuwara Eliya (~45 km), Galle (~150 km)
+    private static final Object[] KANDY = {1L, 7.2906, 80.6337};
+    private static final Object[] PERADENIYA = {2L, 7.2690, 80.5942};
+    private static final Object[] NUWARA_ELIYA = {3L, 6.9497, 80.7891};
+    private static final Object[] GALLE = {4L, 6.0535, 80.2210};
+
+    @Mock
+    private TourRepository tourRepository;
+
+    @InjectMocks
+    private TourGeoIndex index;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(tourRepository.findActiveGeoRows()).thenReturn(rows(KANDY, PERADENIYA, NUWARA_ELIYA, GALLE));
+    }
+
+    @Test
+    void findNearby_ShouldReturnToursWithinRadiusNearestFirst() {
+        index.reload();
+
+        List<TourGeoIndex.Hit> hits = index.findNearby(7.2906, 80.6337, 50, 10);
+
+        assertEquals(List.of(1L, 2L, 3L), ids(hits));
+        assertEquals(0.0, hits.get(0).distanceKm(), 0.001);
+        assertEquals(5.0, hits.get(1).distanceKm(), 1.0);
+        assertEquals(40.0, hits.get(2).distanceKm(), 5.0);
+        verify(tourRepository, never()).findActiveGeoRowsWithin(anyDouble(), anyDouble(), anyDouble(), anyDouble());
+    }
+
+    @Test
+    void findNearby_ShouldApplyLimitAfterRanking() {
+        index.reload();
+
+        assertEquals(List.of(1L, 2L), ids(index.findNearby(7.2906, 80.6337, 200, 2)));
+    }
+
+    @Test
+    void findNearby_ShouldMatchAcrossCellBoundaries() {
+        index.reload();
+
+        // Under a kilometre from Peradeniya but in the next longitude cell
+        assertEquals(List.of(2L), ids(index.findNearby(7.2701, 80.6001, 2, 10)));
+    }
+
+    @Test
+    void findNearby_BeforeLoad_ShouldFallBackToBoundingBoxQuery() {
+        when(tourRepository.findActiveGeoRowsWithin(anyDouble(), anyDouble(), anyDouble(), anyDouble()))
+                .thenReturn(rows(KANDY, PERADENIYA, NUWARA_ELIYA));
+
+        List<TourGeoIndex.Hit> hits = index.findNearby(7.2906, 80.6337, 10, 10);
+
+        assertFalse(index.isReady());
+        // Rows from the box are still checked against the radius
+        assertEquals(List.of(1L, 2L), ids(hits));
+    }
+
+    @Test
+    void onCatalogChanged_ShouldMoveAndRemoveSingleTours() {
+        index.reload();
+        when(tourRepository.findActiveGeoRowById(4L)).thenReturn(rows(new Object[]{4L, 7.2950, 80.6400}));
+        when(tourRepository.findActiveGeoRowById(2L)).thenReturn(List.of());
+
+        index.onCatalogChanged(new CatalogChangedEvent(CatalogChangedEvent.Catalog.TOURS, 4L));
+        index.onCatalogChanged(new CatalogChangedEvent(CatalogChangedEvent.Catalog.TOURS, 2L));
+
+        assertEquals(List.of(1L, 4L), ids(index.findNearby(7.2906, 80.6337, 10, 10)));
+        assertTrue(index.findNearby(6.0535, 80.2210, 10, 10).isEmpty());
+        verify(tourRepository, times(1)).findActiveGeoRows();
+    }
+
+    @Test
+    void distanceKm_ShouldMatchKnownDistance() {
+        // Colombo to Kandy is roughly 94 km as the crow flies
+        assertEquals(94.0, TourGeoIndex.distanceKm(6.9271, 79.8612, 7.2906, 80.6337), 3.0);
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+
+    private static List<Long> ids(List<TourGeoIndex.Hit> hits) {
+        return hits.stream().map(TourGeoIndex.Hit::tourId).collect(Collectors.toList());
+    }
+}
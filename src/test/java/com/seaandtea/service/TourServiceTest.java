@@ -1,5 +1,6 @@
 package com.seaandtea.service;
 
+import com.seaandtea.dto.TourFilterRequest;
 import com.seaandtea.dto.TourListResponse;
 import com.seaandtea.dto.TourResponse;
 import com.seaandtea.entity.Guide;
@@ -8,6 +9,7 @@ import com.seaandtea.entity.User;
 import com.seaandtea.entity.Tour.TourCategory;
 import com.seaandtea.entity.Guide.VerificationStatus;
 import com.seaandtea.repository.TourRepository;
+import com.seaandtea.util.ResourceVersion;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,6 +20,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -33,6 +40,9 @@ class TourServiceTest {
     @Mock
     private TourRepository tourRepository;
 
+    @Mock
+    private TourGeoIndex tourGeoIndex;
+
     @InjectMocks
     private TourService tourService;
 
@@ -77,10 +87,15 @@ class TourServiceTest {
     void getVerifiedTours_ShouldReturnVerifiedTours() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Tour> tourPage = new PageImpl<>(Arrays.asList(testTour), pageable, 1);
+        TourListResponse card = TourListResponse.builder()
+                .id(testTour.getId())
+                .title(testTour.getTitle())
+                .guideName("John Doe")
+                .build();
+        Page<TourListResponse> cardPage = new PageImpl<>(Arrays.asList(card), pageable, 1);
         
-        when(tourRepository.findActiveToursFromVerifiedGuidesWithImages(pageable))
-                .thenReturn(tourPage);
+        when(tourRepository.findActiveTourCards(null, true, pageable))
+                .thenReturn(cardPage);
 
         // Act
         Page<TourListResponse> result = tourService.getVerifiedTours(pageable);
@@ -96,7 +111,8 @@ class TourServiceTest {
         assertEquals(testTour.getGuide().getUser().getFirstName() + " " + 
                    testTour.getGuide().getUser().getLastName(), tourResponse.getGuideName());
         
-        verify(tourRepository).findActiveToursFromVerifiedGuidesWithImages(pageable);
+        verify(tourRepository).findActiveTourCards(null, true, pageable);
+        verify(tourRepository, never()).findActiveToursFromVerifiedGuidesWithImages(any());
     }
 
     @Test
@@ -128,9 +144,9 @@ class TourServiceTest {
     void getVerifiedTours_WithEmptyResult_ShouldReturnEmptyPage() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Tour> emptyPage = new PageImpl<>(Arrays.asList(), pageable, 0);
+        Page<TourListResponse> emptyPage = new PageImpl<>(Arrays.asList(), pageable, 0);
         
-        when(tourRepository.findActiveToursFromVerifiedGuidesWithImages(pageable))
+        when(tourRepository.findActiveTourCards(null, true, pageable))
                 .thenReturn(emptyPage);
 
         // Act
@@ -141,6 +157,112 @@ class TourServiceTest {
         assertEquals(0, result.getTotalElements());
         assertEquals(0, result.getContent().size());
         
-        verify(tourRepository).findActiveToursFromVerifiedGuidesWithImages(pageable);
+        verify(tourRepository).findActiveTourCards(null, true, pageable);
+    }
+
+    @Test
+    void getToursWithFilters_ShouldUseCardProjectionWithRequestedPageAndSort() {
+        // Arrange
+        TourFilterRequest filter = TourFilterRequest.builder()
+                .category(TourCategory.TEA_TOURS)
+                .maxPrice(BigDecimal.valueOf(100))
+                .page(2)
+                .size(5)
+                .sortBy("pricePerPerson")
+                .sortDirection("asc")
+                .build();
+        Pageable expected = PageRequest.of(2, 5, Sort.by(Sort.Direction.ASC, "pricePerPerson"));
+        
+        when(tourRepository.findActiveTourCards(filter, false, expected))
+                .thenReturn(new PageImpl<>(List.of(), expected, 0));
+
+        // Act
+        Page<TourListResponse> result = tourService.getToursWithFilters(filter);
+
+        // Assert
+        assertEquals(0, result.getTotalElements());
+        verify(tourRepository).findActiveTourCards(filter, false, expected);
+    }
+
+    @Test
+    void getNearbyTours_ShouldKeepIndexOrderAndSetDistance() {
+        // Arrange
+        TourListResponse near = TourListResponse.builder().id(2L).title("Near").build();
+        TourListResponse far = TourListResponse.builder().id(1L).title("Far").build();
+        when(tourGeoIndex.findNearby(7.29, 80.63, 25.0, 20))
+                .thenReturn(List.of(new TourGeoIndex.Hit(2L, 1.234), new TourGeoIndex.Hit(1L, 12.0), new TourGeoIndex.Hit(3L, 20.0)));
+        // Tour 3 was deactivated after the index was read
+        when(tourRepository.findActiveTourCardsByIds(List.of(2L, 1L, 3L))).thenReturn(List.of(far, near));
+
+        // Act
+        List<TourListResponse> result = tourService.getNearbyTours(7.29, 80.63, null, null);
+
+        // Assert
+        assertEquals(List.of(2L, 1L), result.stream().map(TourListResponse::getId).toList());
+        assertEquals(1.23, result.get(0).getDistanceKm());
+        assertEquals(12.0, result.get(1).getDistanceKm());
+    }
+
+    @Test
+    void getPopularTours_ShouldProjectCardsInBookingRankOrder() {
+        // Arrange
+        TourListResponse first = TourListResponse.builder().id(5L).title("Most booked").build();
+        TourListResponse second = TourListResponse.builder().id(3L).title("Runner-up").build();
+        when(tourRepository.findMostPopularActiveTourIds(PageRequest.of(0, 8)))
+                .thenReturn(new PageImpl<>(List.of(5L, 3L), PageRequest.of(0, 8), 12));
+        when(tourRepository.findActiveTourCardsByIds(List.of(5L, 3L))).thenReturn(List.of(second, first));
+
+        // Act
+        Page<TourListResponse> result = tourService.getPopularTours(0, 8);
+
+        // Assert
+        assertEquals(List.of(5L, 3L), result.getContent().stream().map(TourListResponse::getId).toList());
+        assertEquals(12, result.getTotalElements());
+    }
+
+    @Test
+    void getToursByCategory_ShouldUseCardProjectionNewestFirst() {
+        // Arrange
+        Pageable expected = PageRequest.of(1, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+        TourFilterRequest filter = TourFilterRequest.builder().category(TourCategory.TEA_TOURS).build();
+        Page<TourListResponse> cards = new PageImpl<>(List.of(TourListResponse.builder().id(1L).build()));
+        when(tourRepository.findActiveTourCards(filter, false, expected)).thenReturn(cards);
+
+        // Act & Assert
+        assertSame(cards, tourService.getToursByCategory(TourCategory.TEA_TOURS, 1, 10));
+    }
+
+    @Test
+    void getNearbyTours_WithInvalidArguments_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> tourService.getNearbyTours(91.0, 80.0, null, null));
+        assertThrows(IllegalArgumentException.class, () -> tourService.getNearbyTours(7.0, null, null, null));
+        assertThrows(IllegalArgumentException.class, () -> tourService.getNearbyTours(7.0, 80.0, 500.0, null));
+        verifyNoInteractions(tourGeoIndex);
+    }
+
+    @Test
+    void getTourVersion_ShouldChangeWithReviewsAndAnswerMatchingRequestsWith304() {
+        // Arrange
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 5, 1, 10, 0);
+        when(tourRepository.findActiveVersionRowById(1L))
+                .thenReturn(List.<Object[]>of(new Object[]{updatedAt, updatedAt, updatedAt, 2L, 11L, 3L, 14L}))
+                .thenReturn(List.<Object[]>of(new Object[]{updatedAt, updatedAt, updatedAt, 2L, 11L, 4L, 19L}));
+        when(tourRepository.findActiveVersionRowById(2L)).thenReturn(List.of());
+
+        // Act
+        ResourceVersion before = tourService.getTourVersion(1L).orElseThrow();
+        ResourceVersion afterReview = tourService.getTourVersion(1L).orElseThrow();
+
+        // Assert
+        assertNotEquals(before.eTag(), afterReview.eTag());
+        assertEquals(before.lastModified(), afterReview.lastModified());
+        assertTrue(tourService.getTourVersion(2L).isEmpty());
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/tours/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, before.eTag());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(before.checkNotModified(new ServletWebRequest(request, response)));
+        assertEquals(304, response.getStatus());
+        assertFalse(afterReview.checkNotModified(new ServletWebRequest(request, new MockHttpServletResponse())));
     }
 }
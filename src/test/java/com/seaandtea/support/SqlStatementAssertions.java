@@ -0,0 +1,42 @@
+package com.seaandtea.support;
+
+import com.seaandtea.util.SqlStatementStats;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Asserts how many SQL statements a block runs through the proxied DataSource, e.g.
+ * {@code maxQueries(4, () -> guideService.getAllGuides(page))}. On failure the message names the most
+ * repeated statement shape, which is usually the N+1 loop.
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    public static <T> T maxQueries(int max, Supplier<T> call) {
+        SqlStatementStats stats = SqlStatementStats.start();
+        T result;
+        try {
+            result = call.get();
+        } finally {
+            stats.close();
+        }
+        if (stats.getCount() > max) {
+            fail("Expected at most " + max + " SQL statements but " + stats.getCount() + " were executed"
+                    + stats.mostRepeatedShape()
+                            .map(repeated -> "; repeated " + repeated.count() + " times: " + repeated.sql())
+                            .orElse(""));
+        }
+        return result;
+    }
+
+    public static void maxQueries(int max, Runnable call) {
+        maxQueries(max, () -> {
+            call.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,76 @@
+package com.seaandtea.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AimdLimitTest {
+
+    private static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    @Test
+    void tryAcquire_ShouldRejectOnceLimitIsReached() {
+        AimdLimit limit = new AimdLimit(2, 1, 10, THRESHOLD, 0.5);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+
+        assertEquals(2, limit.getInFlight());
+        assertEquals(1, limit.getRejectedCount());
+        assertTrue(limit.rejectedWithin(TimeUnit.SECONDS.toNanos(5)));
+    }
+
+    @Test
+    void release_FastResponsesUnderLoad_ShouldIncreaseLimitUpToMax() {
+        AimdLimit limit = new AimdLimit(2, 1, 3, THRESHOLD, 0.5);
+
+        for (int i = 0; i < 5; i++) {
+            limit.tryAcquire();
+            limit.tryAcquire();
+            limit.release(FAST, false);
+            limit.release(FAST, false);
+        }
+
+        assertEquals(3, limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    void release_FastResponsesWhileMostlyIdle_ShouldNotIncreaseLimit() {
+        AimdLimit limit = new AimdLimit(8, 1, 20, THRESHOLD, 0.5);
+
+        limit.tryAcquire();
+        limit.release(FAST, false);
+
+        assertEquals(8, limit.getLimit());
+    }
+
+    @Test
+    void release_SlowOrFailedResponses_ShouldBackOffMultiplicativelyToMin() {
+        AimdLimit limit = new AimdLimit(8, 2, 20, THRESHOLD, 0.5);
+
+        limit.tryAcquire();
+        limit.release(SLOW, false);
+        assertEquals(4, limit.getLimit());
+
+        limit.tryAcquire();
+        limit.release(FAST, true);
+        assertEquals(2, limit.getLimit());
+
+        limit.tryAcquire();
+        limit.release(SLOW, false);
+        assertEquals(2, limit.getLimit());
+    }
+
+    @Test
+    void constructor_InvalidSettings_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new AimdLimit(4, 0, 10, THRESHOLD, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new AimdLimit(4, 5, 3, THRESHOLD, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new AimdLimit(4, 1, 10, THRESHOLD, 1.0));
+    }
+}
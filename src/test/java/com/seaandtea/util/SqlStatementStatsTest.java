@@ -0,0 +1,71 @@
+package com.seaandtea.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementStatsTest {
+
+    private SqlStatementStats stats;
+
+    @AfterEach
+    void closeScope() {
+        if (stats != null) {
+            stats.close();
+        }
+    }
+
+    @Test
+    void record_OutsideScope_ShouldBeIgnored() {
+        SqlStatementStats.record("select 1", 1_000);
+
+        stats = SqlStatementStats.start();
+        assertEquals(0, stats.getCount());
+    }
+
+    @Test
+    void record_ShouldAccumulateCountAndTime() {
+        stats = SqlStatementStats.start();
+
+        SqlStatementStats.record("select * from tours where id = ?", 2_000_000);
+        SqlStatementStats.record("select * from guides where id = ?", 3_000_000);
+
+        assertEquals(2, stats.getCount());
+        assertEquals(5, stats.getElapsedMillis());
+        assertTrue(stats.mostRepeatedShape().isEmpty());
+    }
+
+    @Test
+    void mostRepeatedShape_ShouldGroupStatementsDifferingOnlyInLiterals() {
+        stats = SqlStatementStats.start();
+
+        for (long tourId = 1; tourId <= 5; tourId++) {
+            SqlStatementStats.record("select avg(r.rating) from reviews r where r.tour_id = " + tourId, 0);
+        }
+        SqlStatementStats.record("select t1_0.id from tours t1_0 where t1_0.is_active = 'Y'", 0);
+
+        SqlStatementStats.RepeatedShape repeated = stats.mostRepeatedShape().orElseThrow();
+        assertEquals(5, repeated.count());
+        assertEquals("select avg(r.rating) from reviews r where r.tour_id = ?", repeated.sql());
+    }
+
+    @Test
+    void shapeOf_ShouldCollapseInListsAndWhitespace() {
+        assertEquals("select * from tour_images where tour_id in (?) and name = ?",
+                SqlStatementStats.shapeOf("select *\n  from tour_images where tour_id in (?, ?, ?) and name = 'it''s'"));
+    }
+
+    @Test
+    void nestedScope_ShouldAlsoCountTowardsEnclosingScope() {
+        stats = SqlStatementStats.start();
+        SqlStatementStats inner = SqlStatementStats.start();
+
+        SqlStatementStats.record("select 1", 0);
+        inner.close();
+        SqlStatementStats.record("select 2", 0);
+
+        assertEquals(1, inner.getCount());
+        assertEquals(2, stats.getCount());
+    }
+}